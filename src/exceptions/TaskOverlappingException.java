@@ -0,0 +1,18 @@
+package exceptions;
+
+import model.Task;
+
+import java.util.List;
+
+public class TaskOverlappingException extends IllegalArgumentException {
+    private final List<Task> overlappingTasks;
+
+    public TaskOverlappingException(String message, List<Task> overlappingTasks) {
+        super(message);
+        this.overlappingTasks = overlappingTasks;
+    }
+
+    public List<Task> getOverlappingTasks() {
+        return overlappingTasks;
+    }
+}
@@ -0,0 +1,45 @@
+package handlers.tasks;
+
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import model.DayLoad;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+public class CalendarHandler extends Handler {
+    public static final String PATH = "/tasks/calendar";
+    private static final String FROM_PARAMETER_NAME = "from";
+    private static final String TO_PARAMETER_NAME = "to";
+    private static final int MAX_DAYS_COUNT = 366;
+
+    public CalendarHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void get(HttpExchange exchange) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String fromParameterValue = queryParameters.get(FROM_PARAMETER_NAME);
+        String toParameterValue = queryParameters.get(TO_PARAMETER_NAME);
+
+        if (fromParameterValue == null || toParameterValue == null) {
+            throw new BadRequestException();
+        }
+
+        LocalDate from = parseDate(fromParameterValue);
+        LocalDate to = parseDate(toParameterValue);
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS_COUNT) {
+            throw new BadRequestException();
+        }
+
+        List<DayLoad> dailyLoad = taskManager.getDailyLoad(from, to);
+        String body = gson.toJson(dailyLoad);
+        sendResponse(exchange, HttpURLConnection.HTTP_OK, body);
+    }
+}
@@ -3,7 +3,6 @@ package handlers.tasks;
 import com.sun.net.httpserver.HttpExchange;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
-import model.Epic;
 import model.Subtask;
 import service.TaskManager;
 
@@ -28,9 +27,7 @@ public class EpicSubtasksHandler extends Handler {
             throw new BadRequestException();
         } else {
             int id = parseId(idParameterValue);
-            Epic epic = taskManager.getEpicById(id);
-
-            if (epic == null) {
+            if (!taskManager.containsEpic(id)) {
                 throw new NotFoundException();
             }
 
@@ -45,7 +45,7 @@ public class EpicsHandler extends Handler {
         String body = getBody(exchange);
         Epic epic = gson.fromJson(body, Epic.class);
         int id = epic.getId();
-        boolean exists = taskManager.getEpicById(id) != null;
+        boolean exists = taskManager.containsEpic(id);
         boolean success;
 
         if (exists) {
@@ -0,0 +1,51 @@
+package handlers.tasks;
+
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import model.TimeSlot;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class FreeSlotsHandler extends Handler {
+    public static final String PATH = "/tasks/slots";
+    private static final String DURATION_PARAMETER_NAME = "duration";
+    private static final String FROM_PARAMETER_NAME = "from";
+    private static final String TO_PARAMETER_NAME = "to";
+    private static final String LIMIT_PARAMETER_NAME = "limit";
+    private static final int DEFAULT_LIMIT = 10;
+
+    public FreeSlotsHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void get(HttpExchange exchange) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String durationParameterValue = queryParameters.get(DURATION_PARAMETER_NAME);
+        String fromParameterValue = queryParameters.get(FROM_PARAMETER_NAME);
+        String toParameterValue = queryParameters.get(TO_PARAMETER_NAME);
+        String limitParameterValue = queryParameters.get(LIMIT_PARAMETER_NAME);
+
+        if (durationParameterValue == null || fromParameterValue == null || toParameterValue == null) {
+            throw new BadRequestException();
+        }
+
+        int duration = parseInteger(durationParameterValue);
+        LocalDateTime from = parseDateTime(fromParameterValue);
+        LocalDateTime to = parseDateTime(toParameterValue);
+        int limit = limitParameterValue == null ? DEFAULT_LIMIT : parseInteger(limitParameterValue);
+
+        if (duration < 0 || limit <= 0 || from.isAfter(to)) {
+            throw new BadRequestException();
+        }
+
+        List<TimeSlot> freeSlots = taskManager.findFreeSlots(duration, from, to, limit);
+        String body = gson.toJson(freeSlots);
+        sendResponse(exchange, HttpURLConnection.HTTP_OK, body);
+    }
+}
@@ -7,13 +7,17 @@ import com.sun.net.httpserver.HttpHandler;
 import exceptions.BadMethodException;
 import exceptions.BadRequestException;
 import exceptions.NotFoundException;
+import exceptions.TaskOverlappingException;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import service.SessionHistoryManager;
 import service.TaskManager;
 import utils.serializer.EpicSerializer;
+import utils.serializer.LocalDateAdapter;
 import utils.serializer.LocalDateTimeAdapter;
 import utils.serializer.SubtaskSerializer;
+import utils.serializer.TaskDetailsAdapterFactory;
 import utils.serializer.TaskSerializer;
 
 import java.io.IOException;
@@ -22,7 +26,10 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -30,6 +37,9 @@ public abstract class Handler implements HttpHandler {
     private static final int DEFAULT_RESPONSE_LENGTH = 0;
     private static final String QUERY_PARAMS_SEPARATOR = "&";
     private static final String QUERY_VALUES_SEPARATOR = "=";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final String SESSION_HEADER_NAME = "X-Session-Id";
     protected static final String ID_PARAMETER_NAME = "id";
 
     protected TaskManager taskManager;
@@ -40,15 +50,18 @@ public abstract class Handler implements HttpHandler {
 
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
+        gsonBuilder.registerTypeAdapter(LocalDate.class, new LocalDateAdapter());
         gsonBuilder.registerTypeAdapter(Task.class, new TaskSerializer(taskManager));
         gsonBuilder.registerTypeAdapter(Subtask.class, new SubtaskSerializer(taskManager));
         gsonBuilder.registerTypeAdapter(Epic.class, new EpicSerializer(taskManager));
+        gsonBuilder.registerTypeAdapterFactory(new TaskDetailsAdapterFactory());
         gson = gsonBuilder.create();
     }
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
+        SessionHistoryManager.bindSession(exchange.getRequestHeaders().getFirst(SESSION_HEADER_NAME));
 
         try {
             switch (method) {
@@ -70,10 +83,14 @@ public abstract class Handler implements HttpHandler {
             sendResponse(exchange, HttpURLConnection.HTTP_BAD_REQUEST);
         } catch (BadMethodException ex) {
             sendResponse(exchange, HttpURLConnection.HTTP_BAD_METHOD);
+        } catch (TaskOverlappingException ex) {
+            String body = gson.toJson(ex.getOverlappingTasks());
+            sendResponse(exchange, HttpURLConnection.HTTP_CONFLICT, body);
         } catch (Error error) {
             sendResponse(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR);
             throw new Error(error);
         } finally {
+            SessionHistoryManager.unbindSession();
             exchange.close();
         }
     }
@@ -127,4 +144,28 @@ public abstract class Handler implements HttpHandler {
             throw new BadRequestException("Некорректное значение id.", ex);
         }
     }
+
+    protected int parseInteger(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Некорректное числовое значение.", ex);
+        }
+    }
+
+    protected LocalDateTime parseDateTime(String dateTime) {
+        try {
+            return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Некорректное значение даты и времени.", ex);
+        }
+    }
+
+    protected LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Некорректное значение даты.", ex);
+        }
+    }
 }
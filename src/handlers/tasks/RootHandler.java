@@ -1,15 +1,20 @@
 package handlers.tasks;
 
 import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
 import model.Task;
 import service.TaskManager;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class RootHandler extends Handler {
     public static final String PATH = "/tasks";
+    private static final String FROM_PARAMETER_NAME = "from";
+    private static final String TO_PARAMETER_NAME = "to";
 
     public RootHandler(TaskManager taskManager) {
         super(taskManager);
@@ -17,7 +22,24 @@ public class RootHandler extends Handler {
 
     @Override
     protected void get(HttpExchange exchange) throws IOException {
-        List<Task> tasks = taskManager.getPrioritizedTasks();
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String fromParameterValue = queryParameters.get(FROM_PARAMETER_NAME);
+        String toParameterValue = queryParameters.get(TO_PARAMETER_NAME);
+        List<Task> tasks;
+
+        if (fromParameterValue == null && toParameterValue == null) {
+            tasks = taskManager.getPrioritizedTasks();
+        } else {
+            LocalDateTime from = fromParameterValue == null ? null : parseDateTime(fromParameterValue);
+            LocalDateTime to = toParameterValue == null ? null : parseDateTime(toParameterValue);
+
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new BadRequestException();
+            }
+
+            tasks = taskManager.getPrioritizedTasks(from, to);
+        }
+
         String body = gson.toJson(tasks);
         sendResponse(exchange, HttpURLConnection.HTTP_OK, body);
     }
@@ -45,7 +45,7 @@ public class SubtasksHandler extends Handler {
         String body = getBody(exchange);
         Subtask subtask = gson.fromJson(body, Subtask.class);
         int id = subtask.getId();
-        boolean exists = taskManager.getSubtaskById(id) != null;
+        boolean exists = taskManager.containsSubtask(id);
         boolean success;
 
         if (exists) {
@@ -45,7 +45,7 @@ public class TasksHandler extends Handler {
         String body = getBody(exchange);
         Task task = gson.fromJson(body, Task.class);
         int id = task.getId();
-        boolean exists = taskManager.getTaskById(id) != null;
+        boolean exists = taskManager.containsTask(id);
         boolean success;
 
         if (exists) {
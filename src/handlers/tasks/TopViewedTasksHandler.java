@@ -0,0 +1,36 @@
+package handlers.tasks;
+
+import com.sun.net.httpserver.HttpExchange;
+import exceptions.BadRequestException;
+import model.Task;
+import service.TaskManager;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+
+public class TopViewedTasksHandler extends Handler {
+    public static final String PATH = "/tasks/history/top";
+    private static final String LIMIT_PARAMETER_NAME = "k";
+    private static final int DEFAULT_LIMIT = 10;
+
+    public TopViewedTasksHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected void get(HttpExchange exchange) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        String limitParameterValue = queryParameters.get(LIMIT_PARAMETER_NAME);
+        int limit = limitParameterValue == null ? DEFAULT_LIMIT : parseInteger(limitParameterValue);
+
+        if (limit <= 0) {
+            throw new BadRequestException();
+        }
+
+        List<Task> tasks = taskManager.getTopViewedTasks(limit);
+        String body = gson.toJson(tasks);
+        sendResponse(exchange, HttpURLConnection.HTTP_OK, body);
+    }
+}
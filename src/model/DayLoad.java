@@ -0,0 +1,52 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class DayLoad {
+    private final LocalDate date;
+    private final int tasksCount;
+    private final long bookedMinutes;
+
+    public DayLoad(LocalDate date, int tasksCount, long bookedMinutes) {
+        this.date = date;
+        this.tasksCount = tasksCount;
+        this.bookedMinutes = bookedMinutes;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getTasksCount() {
+        return tasksCount;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    @Override
+    public String toString() {
+        return "DayLoad{" +
+                "date=" + date +
+                ", tasksCount=" + tasksCount +
+                ", bookedMinutes=" + bookedMinutes +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DayLoad)) return false;
+        DayLoad dayLoad = (DayLoad) o;
+        return getTasksCount() == dayLoad.getTasksCount() &&
+                getBookedMinutes() == dayLoad.getBookedMinutes() &&
+                Objects.equals(getDate(), dayLoad.getDate());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getDate(), getTasksCount(), getBookedMinutes());
+    }
+}
@@ -4,45 +4,91 @@ import utils.Status;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NavigableSet;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 public class Epic extends Task {
     private static final int DEFAULT_EPIC_DURATION = 0;
-    private List<Subtask> subtasks;
+    private Collection<Subtask> subtasks;
+    private transient Map<Integer, Subtask> subtasksById;
+    private transient Map<Integer, SubtaskContribution> contributions;
+    private transient int newSubtasksCount;
+    private transient int doneSubtasksCount;
+    private transient int subtasksDuration;
+    private transient NavigableMap<LocalDateTime, Integer> subtasksStartTimes;
+    private transient NavigableMap<LocalDateTime, Integer> subtasksEndTimes;
 
     public Epic(int id, String name, String description, LocalDateTime startTime) {
         super(id, name, description, DEFAULT_EPIC_DURATION, startTime);
-        this.subtasks = new ArrayList<>();
+        setSubtasks(Collections.emptyList());
     }
 
     public Epic(int id, String name, String description, Status status, LocalDateTime startTime) {
         super(id, name, description, status, DEFAULT_EPIC_DURATION, startTime);
-        this.subtasks = new ArrayList<>();
+        setSubtasks(Collections.emptyList());
     }
 
     public List<Subtask> getSubtasks() {
-        return subtasks;
+        return Collections.unmodifiableList(new ArrayList<>(subtasks));
     }
 
     public void setSubtasks(List<Subtask> subtasks) {
-        this.subtasks = subtasks;
-        updateStatus();
+        this.subtasksById = new LinkedHashMap<>();
+        this.subtasks = subtasksById.values();
+        this.contributions = new HashMap<>();
+        this.newSubtasksCount = 0;
+        this.doneSubtasksCount = 0;
+        this.subtasksDuration = 0;
+        this.subtasksStartTimes = new TreeMap<>();
+        this.subtasksEndTimes = new TreeMap<>();
+        for (Subtask subtask : subtasks) {
+            addSubtask(subtask);
+        }
     }
 
-    protected void updateStatus() {
-        if (this.subtasks.size() == 0) {
-            super.setStatus(Status.NEW);
+    public boolean containsSubtask(int id) {
+        return subtasksById.containsKey(id);
+    }
+
+    public boolean addSubtask(Subtask subtask) {
+        if (subtask == null || subtasksById.putIfAbsent(subtask.getId(), subtask) != null) {
+            return false;
         }
+        addToAggregates(subtask);
+        return true;
+    }
 
-        boolean hasOnlyNewTask = this.subtasks.stream().allMatch(task -> task.getStatus() == Status.NEW);
-        boolean hasOnlyDoneTask = this.subtasks.stream().allMatch(task -> task.getStatus() == Status.DONE);
-        if (hasOnlyNewTask) {
+    public boolean updateSubtask(Subtask subtask) {
+        if (subtask == null) return false;
+
+        if (subtasksById.replace(subtask.getId(), subtask) == null) {
+            return false;
+        }
+        removeFromAggregates(subtask.getId());
+        addToAggregates(subtask);
+        return true;
+    }
+
+    public boolean removeSubtask(int id) {
+        if (subtasksById.remove(id) == null) {
+            return false;
+        }
+        removeFromAggregates(id);
+        return true;
+    }
+
+    protected void updateStatus() {
+        int subtasksCount = subtasksById.size();
+        if (newSubtasksCount == subtasksCount) {
             super.setStatus(Status.NEW);
-        } else if (hasOnlyDoneTask) {
+        } else if (doneSubtasksCount == subtasksCount) {
             super.setStatus(Status.DONE);
         } else {
             super.setStatus(Status.IN_PROGRESS);
@@ -60,34 +106,70 @@ public class Epic extends Task {
         updateStatus();
     }
 
-
     @Override
     public LocalDateTime getStartTime() {
-        if(subtasks.isEmpty())  {
+        if (subtasksStartTimes.isEmpty()) {
             return super.getStartTime();
         }
-        NavigableSet<LocalDateTime> sortedSubtasksStartTime = subtasks.stream()
-                .map(Subtask::getStartTime)
-                .collect(Collectors.toCollection(TreeSet::new));
-        return sortedSubtasksStartTime.first();
+        return subtasksStartTimes.firstKey();
     }
 
     @Override
     public int getDuration() {
-        return subtasks.stream()
-                .mapToInt(Subtask::getDuration)
-                .sum();
+        return subtasksDuration;
     }
 
     @Override
     public LocalDateTime getEndTime() {
-        if(subtasks.isEmpty())  {
+        if (subtasksEndTimes.isEmpty()) {
             return super.getEndTime();
         }
-        NavigableSet<LocalDateTime> sortedSubtasksEndTime = subtasks.stream()
-                .map(Subtask::getEndTime)
-                .collect(Collectors.toCollection(TreeSet::new));
-        return sortedSubtasksEndTime.last();
+        return subtasksEndTimes.lastKey();
+    }
+
+    @Override
+    public Epic copy() {
+        Epic copy = new Epic(getId(), null, null, super.getStatus(), super.getStartTime());
+        copy.copyDetailsFrom(this);
+        List<Subtask> subtasksCopy = new ArrayList<>(subtasks.size());
+        for (Subtask subtask : subtasks) {
+            subtasksCopy.add(subtask.copy());
+        }
+        copy.setSubtasks(subtasksCopy);
+        return copy;
+    }
+
+    private void addToAggregates(Subtask subtask) {
+        SubtaskContribution contribution = new SubtaskContribution(subtask);
+        contributions.put(subtask.getId(), contribution);
+        if (contribution.status == Status.NEW) {
+            newSubtasksCount += 1;
+        } else if (contribution.status == Status.DONE) {
+            doneSubtasksCount += 1;
+        }
+        subtasksDuration += contribution.duration;
+        if (contribution.startTime != null) {
+            subtasksStartTimes.merge(contribution.startTime, 1, Integer::sum);
+            subtasksEndTimes.merge(contribution.endTime, 1, Integer::sum);
+        }
+    }
+
+    private void removeFromAggregates(int id) {
+        SubtaskContribution contribution = contributions.remove(id);
+        if (contribution.status == Status.NEW) {
+            newSubtasksCount -= 1;
+        } else if (contribution.status == Status.DONE) {
+            doneSubtasksCount -= 1;
+        }
+        subtasksDuration -= contribution.duration;
+        if (contribution.startTime != null) {
+            removeTime(subtasksStartTimes, contribution.startTime);
+            removeTime(subtasksEndTimes, contribution.endTime);
+        }
+    }
+
+    private static void removeTime(NavigableMap<LocalDateTime, Integer> times, LocalDateTime time) {
+        times.computeIfPresent(time, (key, count) -> count > 1 ? count - 1 : null);
     }
 
     @Override
@@ -112,4 +194,18 @@ public class Epic extends Task {
         Epic epic = (Epic) o;
         return Objects.equals(getSubtasks(), epic.getSubtasks());
     }
+
+    private static class SubtaskContribution {
+        private final Status status;
+        private final int duration;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+
+        private SubtaskContribution(Subtask subtask) {
+            this.status = subtask.getStatus();
+            this.duration = subtask.getDuration();
+            this.startTime = subtask.getStartTime();
+            this.endTime = subtask.getStartTime() == null ? null : subtask.getEndTime();
+        }
+    }
 }
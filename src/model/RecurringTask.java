@@ -0,0 +1,113 @@
+package model;
+
+import utils.DateTimeConverter;
+import utils.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurringTask extends Task {
+    public static final int DAILY_PERIOD = 24 * 60;
+    public static final int WEEKLY_PERIOD = 7 * DAILY_PERIOD;
+
+    private int period;
+
+    public RecurringTask(int id, String name, String description, int duration, LocalDateTime startTime, int period) {
+        super(id, name, description, duration, startTime);
+        this.period = period;
+    }
+
+    public RecurringTask(int id, String name, String description, Status status, int duration,
+                         LocalDateTime startTime, int period) {
+        super(id, name, description, status, duration, startTime);
+        this.period = period;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(int period) {
+        this.period = period;
+    }
+
+    public long getFirstOccurrenceIndex(long fromMinutes) {
+        if (fromMinutes <= getStartMinutes()) {
+            return 0L;
+        }
+        long firstIndex = -Math.floorDiv(getStartMinutes() + getDuration() - fromMinutes, period);
+        return Math.max(0L, firstIndex);
+    }
+
+    public long getOccurrenceStartMinutes(long index) {
+        return getStartMinutes() + index * period;
+    }
+
+    public boolean isOverlapping(long startMinutes, long endMinutes) {
+        long firstIndex = getFirstOccurrenceIndex(startMinutes);
+        return getOccurrenceStartMinutes(firstIndex) <= endMinutes;
+    }
+
+    public boolean isOverlapping(RecurringTask task) {
+        long periodsGcd = gcd(period, task.getPeriod());
+        long startsDifference = task.getStartMinutes() - getStartMinutes();
+        long nearestDifference = Math.floorDiv(getDuration() - startsDifference, periodsGcd) * periodsGcd;
+        return nearestDifference >= -task.getDuration() - startsDifference;
+    }
+
+    public List<TimeSlot> getOccurrences(LocalDateTime from, LocalDateTime to) {
+        long fromMinutes = DateTimeConverter.toEpochMinutes(from);
+        long toMinutes = DateTimeConverter.toEpochMinutes(to);
+        List<TimeSlot> occurrences = new ArrayList<>();
+        for (long index = getFirstOccurrenceIndex(fromMinutes); ; index++) {
+            long occurrenceStartMinutes = getOccurrenceStartMinutes(index);
+            if (occurrenceStartMinutes > toMinutes) {
+                break;
+            }
+            occurrences.add(new TimeSlot(DateTimeConverter.fromEpochMinutes(occurrenceStartMinutes),
+                    DateTimeConverter.fromEpochMinutes(occurrenceStartMinutes + getDuration())));
+        }
+        return occurrences;
+    }
+
+    @Override
+    public RecurringTask copy() {
+        RecurringTask copy = new RecurringTask(getId(), null, null, getStatus(), getDuration(), getStartTime(),
+                period);
+        copy.copyDetailsFrom(this);
+        return copy;
+    }
+
+    private static long gcd(long first, long second) {
+        while (second != 0) {
+            long remainder = first % second;
+            first = second;
+            second = remainder;
+        }
+        return first;
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringTask{" +
+                "id=" + getId() +
+                ", name='" + getName() + '\'' +
+                ", description='" + getDescription() + '\'' +
+                ", status=" + getStatus() +
+                ", duration=" + getDuration() +
+                ", startTime=" + getStartTime() +
+                ", endTime=" + getEndTime() +
+                ", period=" + period +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecurringTask)) return false;
+        if (!super.equals(o)) return false;
+        RecurringTask task = (RecurringTask) o;
+        return getPeriod() == task.getPeriod();
+    }
+}
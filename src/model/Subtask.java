@@ -25,6 +25,13 @@ public class Subtask extends Task {
         this.epicId = epicId;
     }
 
+    @Override
+    public Subtask copy() {
+        Subtask copy = new Subtask(getId(), null, null, getStatus(), getDuration(), getStartTime(), epicId);
+        copy.copyDetailsFrom(this);
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "Subtask{" +
@@ -1,12 +1,15 @@
 package model;
 
+import utils.DateTimeConverter;
 import utils.Status;
+import utils.TaskDetailsCache;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class Task {
     private static final Status DEFAULT_TASK_STATUS = Status.NEW;
+    private static final long UNDEFINED_START_MINUTES = 0L;
 
     private int id;
     private String name;
@@ -14,6 +17,9 @@ public class Task {
     private Status status;
     private int duration;
     private LocalDateTime startTime;
+    private transient long startMinutes;
+    private transient TaskDetailsCache detailsCache;
+    private transient long detailsOffset;
 
     public Task(int id, String name, String description, int duration, LocalDateTime startTime) {
         this.id = id;
@@ -22,6 +28,7 @@ public class Task {
         this.status = DEFAULT_TASK_STATUS;
         this.duration = duration;
         this.startTime = startTime;
+        this.startMinutes = toEpochMinutes(startTime);
     }
 
     public Task(int id, String name, String description, Status status, int duration, LocalDateTime startTime) {
@@ -31,6 +38,7 @@ public class Task {
         this.status = status;
         this.duration = duration;
         this.startTime = startTime;
+        this.startMinutes = toEpochMinutes(startTime);
     }
 
     public int getId() {
@@ -38,11 +46,15 @@ public class Task {
     }
 
     public String getName() {
-        return name;
+        return detailsCache == null ? name : detailsCache.get(detailsOffset).getName();
     }
 
     public String getDescription() {
-        return description;
+        return detailsCache == null ? description : detailsCache.get(detailsOffset).getDescription();
+    }
+
+    public boolean isDetailsLoaded() {
+        return detailsCache == null;
     }
 
     public Status getStatus() {
@@ -61,18 +73,39 @@ public class Task {
         return startTime.plusMinutes(duration);
     }
 
+    public long getStartMinutes() {
+        return startMinutes;
+    }
+
+    public boolean hasStartTime() {
+        return startTime != null;
+    }
+
+    public long getEndMinutes() {
+        return startMinutes + duration;
+    }
+
     public void setId(int id) {
         this.id = id;
     }
 
     public void setName(String name) {
+        loadDetails();
         this.name = name;
     }
 
     public void setDescription(String description) {
+        loadDetails();
         this.description = description;
     }
 
+    public void setDetailsSource(TaskDetailsCache detailsCache, long detailsOffset) {
+        this.name = null;
+        this.description = null;
+        this.detailsCache = detailsCache;
+        this.detailsOffset = detailsOffset;
+    }
+
     public void setStatus(Status status) {
         this.status = status;
     }
@@ -83,14 +116,45 @@ public class Task {
 
     public void setStartTime(LocalDateTime startTime) {
         this.startTime = startTime;
+        this.startMinutes = toEpochMinutes(startTime);
+    }
+
+    public Task copy() {
+        Task copy = new Task(id, null, null, status, duration, startTime);
+        copy.copyDetailsFrom(this);
+        return copy;
+    }
+
+    protected void copyDetailsFrom(Task task) {
+        name = task.name;
+        description = task.description;
+        detailsCache = task.detailsCache;
+        detailsOffset = task.detailsOffset;
+    }
+
+    private void loadDetails() {
+        if (detailsCache == null) {
+            return;
+        }
+        TaskDetailsCache.Details details = detailsCache.get(detailsOffset);
+        name = details.getName();
+        description = details.getDescription();
+        detailsCache = null;
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return UNDEFINED_START_MINUTES;
+        }
+        return DateTimeConverter.toEpochMinutes(dateTime);
     }
 
     @Override
     public String toString() {
         return "Task{" +
                 "id=" + id +
-                ", name='" + name + '\'' +
-                ", description='" + description + '\'' +
+                ", name='" + getName() + '\'' +
+                ", description='" + getDescription() + '\'' +
                 ", status=" + status +
                 ", duration=" + duration +
                 ", startTime=" + startTime +
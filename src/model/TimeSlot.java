@@ -0,0 +1,44 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public class TimeSlot {
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+
+    public TimeSlot(LocalDateTime startTime, LocalDateTime endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlot{" +
+                "startTime=" + startTime +
+                ", endTime=" + endTime +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimeSlot)) return false;
+        TimeSlot timeSlot = (TimeSlot) o;
+        return Objects.equals(getStartTime(), timeSlot.getStartTime()) &&
+                Objects.equals(getEndTime(), timeSlot.getEndTime());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getStartTime(), getEndTime());
+    }
+}
@@ -1,12 +1,15 @@
 package server;
 
 import com.sun.net.httpserver.HttpServer;
+import handlers.tasks.CalendarHandler;
 import handlers.tasks.EpicSubtasksHandler;
 import handlers.tasks.EpicsHandler;
+import handlers.tasks.FreeSlotsHandler;
 import handlers.tasks.HistoryHandler;
 import handlers.tasks.RootHandler;
 import handlers.tasks.SubtasksHandler;
 import handlers.tasks.TasksHandler;
+import handlers.tasks.TopViewedTasksHandler;
 import service.Managers;
 import service.TaskManager;
 
@@ -28,5 +31,8 @@ public class HttpTaskServer extends Server {
         server.createContext(EpicSubtasksHandler.PATH, new EpicSubtasksHandler(taskManager));
         server.createContext(EpicsHandler.PATH, new EpicsHandler(taskManager));
         server.createContext(HistoryHandler.PATH, new HistoryHandler(taskManager));
+        server.createContext(TopViewedTasksHandler.PATH, new TopViewedTasksHandler(taskManager));
+        server.createContext(FreeSlotsHandler.PATH, new FreeSlotsHandler(taskManager));
+        server.createContext(CalendarHandler.PATH, new CalendarHandler(taskManager));
     }
 }
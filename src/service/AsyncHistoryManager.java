@@ -0,0 +1,136 @@
+package service;
+
+import model.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class AsyncHistoryManager implements SharedHistoryManager, AutoCloseable {
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+
+    private final HistoryManager historyManager;
+    private final Queue<HistoryView> pendingViews;
+    private final List<Task> unnotifiedViews = new ArrayList<>();
+    private final Object notificationLock = new Object();
+    private final ScheduledExecutorService consumer;
+    private volatile Consumer<List<Task>> flushListener;
+
+    public AsyncHistoryManager(HistoryManager historyManager) {
+        this(historyManager, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public AsyncHistoryManager(HistoryManager historyManager, Duration flushInterval) {
+        this.historyManager = historyManager;
+        this.pendingViews = new ConcurrentLinkedQueue<>();
+        this.consumer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-consumer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushIntervalMillis = flushInterval.toMillis();
+        consumer.scheduleWithFixedDelay(this::flushAndNotify, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task == null) return;
+        pendingViews.offer(new HistoryView(SessionHistoryManager.getCurrentSession(), task));
+    }
+
+    @Override
+    public void remove(int id) {
+        synchronized (notificationLock) {
+            synchronized (historyManager) {
+                flush();
+                unnotifiedViews.removeIf(task -> task.getId() == id);
+                historyManager.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        synchronized (historyManager) {
+            flush();
+            return historyManager.getHistory();
+        }
+    }
+
+    @Override
+    public List<Task> getSharedHistory() {
+        synchronized (historyManager) {
+            flush();
+            return SharedHistoryManager.getSharedHistory(historyManager);
+        }
+    }
+
+    @Override
+    public boolean isRecordingSharedHistory() {
+        return SharedHistoryManager.isRecordingSharedHistory(historyManager);
+    }
+
+    public void setFlushListener(Consumer<List<Task>> flushListener) {
+        synchronized (historyManager) {
+            flush();
+            unnotifiedViews.clear();
+            this.flushListener = flushListener;
+        }
+    }
+
+    @Override
+    public void close() {
+        consumer.shutdown();
+        flushAndNotify();
+    }
+
+    private void flushAndNotify() {
+        synchronized (notificationLock) {
+            Consumer<List<Task>> listener;
+            List<Task> flushedViews;
+            synchronized (historyManager) {
+                flush();
+                listener = flushListener;
+                if (listener == null || unnotifiedViews.isEmpty()) {
+                    return;
+                }
+                flushedViews = new ArrayList<>(unnotifiedViews);
+                unnotifiedViews.clear();
+            }
+            listener.accept(flushedViews);
+        }
+    }
+
+    private void flush() {
+        String callerSession = SessionHistoryManager.getCurrentSession();
+        try {
+            HistoryView view;
+            while ((view = pendingViews.poll()) != null) {
+                SessionHistoryManager.bindSession(view.session);
+                historyManager.add(view.task);
+                if (flushListener != null) {
+                    unnotifiedViews.add(view.task);
+                }
+            }
+        } finally {
+            SessionHistoryManager.bindSession(callerSession);
+        }
+    }
+
+    private static class HistoryView {
+        private final String session;
+        private final Task task;
+
+        private HistoryView(String session, Task task) {
+            this.session = session;
+            this.task = task;
+        }
+    }
+}
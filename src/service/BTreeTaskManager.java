@@ -0,0 +1,954 @@
+package service;
+
+import exceptions.ManagerSaveException;
+import exceptions.TaskOverlappingException;
+import model.DayLoad;
+import model.Epic;
+import model.RecurringTask;
+import model.Subtask;
+import model.Task;
+import model.TimeSlot;
+import utils.BPlusTree;
+import utils.CalendarIndex;
+import utils.DateTimeConverter;
+import utils.HistoryJournal;
+import utils.PageCache;
+import utils.SchedulingStrategy;
+import utils.SpaceSavingCounter;
+import utils.TaskParser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+public class BTreeTaskManager implements TaskManager, Closeable {
+    private static final int TASKS_TREE = 0;
+    private static final int EPICS_TREE = 1;
+    private static final int SUBTASKS_TREE = 2;
+    private static final int START_TIME_TREE = 3;
+    private static final int EPIC_SUBTASKS_TREE = 4;
+    private static final int RECURRING_TASKS_TREE = 5;
+    private static final long NO_MINOR_KEY = 0L;
+    private static final byte[] EMPTY_VALUE = new byte[0];
+    private static final byte TASK_KIND = 0;
+    private static final byte SUBTASK_KIND = 1;
+    private static final int TIME_VALUE_SIZE = 1 + Long.BYTES;
+    private static final int HISTORY_JOURNAL_COMPACTION_THRESHOLD = 1000;
+    private static final Comparator<Task> startDateComparator = TaskTimeline.startDateComparator;
+
+    private static final String ADD_TASK_INTERSECTION_ERROR_TEXT = "Добавляемая задача пересекается по времени с уже созданными.";
+    private static final String UPDATE_TASK_INTERSECTION_ERROR_TEXT = "Обновляемая задача пересекается по времени с уже созданными.";
+    private static final String FREE_SLOTS_ARGUMENTS_ERROR_TEXT = "Некорректные параметры поиска свободного времени.";
+    private static final String RECURRENCE_PERIOD_ERROR_TEXT = "Период повторения задачи должен быть больше её продолжительности.";
+    private static final String DAILY_LOAD_ARGUMENTS_ERROR_TEXT = "Некорректные параметры периода календаря.";
+    private static final String SCHEDULE_ARGUMENTS_ERROR_TEXT = "Некорректные параметры планирования задач.";
+    private static final String READ_ERROR_TEXT = "Ошибка чтения хранилища задач.";
+    private static final String WRITE_ERROR_TEXT = "Ошибка записи хранилища задач.";
+
+    private final PageCache pageCache;
+    private final BPlusTree tasksTree;
+    private final BPlusTree epicsTree;
+    private final BPlusTree subtasksTree;
+    private final BPlusTree startTimeTree;
+    private final BPlusTree epicSubtasksTree;
+    private final BPlusTree recurringTasksTree;
+    private final Map<Integer, RecurringTask> recurringTasksStorage;
+    private final Map<Integer, EpicReference> liveEpics;
+    private final ReferenceQueue<Epic> releasedEpics;
+    private final HistoryManager historyManager;
+    private final HistoryJournal historyJournal;
+    private final SpaceSavingCounter viewsCounter;
+    private int taskIdSequence;
+
+    protected BTreeTaskManager(HistoryManager historyManager, File file, int cachedPagesCount) throws IOException {
+        this.historyManager = historyManager;
+        this.historyJournal = new HistoryJournal(FileBackendTaskManager.getHistoryJournalPath(file));
+        this.pageCache = new PageCache(file.toPath(), cachedPagesCount);
+        this.tasksTree = new BPlusTree(pageCache, TASKS_TREE);
+        this.epicsTree = new BPlusTree(pageCache, EPICS_TREE);
+        this.subtasksTree = new BPlusTree(pageCache, SUBTASKS_TREE);
+        this.startTimeTree = new BPlusTree(pageCache, START_TIME_TREE);
+        this.epicSubtasksTree = new BPlusTree(pageCache, EPIC_SUBTASKS_TREE);
+        this.recurringTasksTree = new BPlusTree(pageCache, RECURRING_TASKS_TREE);
+        this.recurringTasksStorage = new HashMap<>();
+        this.liveEpics = new HashMap<>();
+        this.releasedEpics = new ReferenceQueue<>();
+        this.viewsCounter = new SpaceSavingCounter(InMemoryTaskManager.TOP_VIEWED_TASKS_CAPACITY);
+        this.taskIdSequence = InMemoryTaskManager.TASK_ID_INITIAL_VALUE;
+    }
+
+    public static BTreeTaskManager loadFromFile(File file) {
+        return loadFromFile(file, new InMemoryHistoryManager());
+    }
+
+    public static BTreeTaskManager loadFromFile(File file, HistoryManager historyManager) {
+        return loadFromFile(file, historyManager, PageCache.DEFAULT_CAPACITY);
+    }
+
+    public static BTreeTaskManager loadFromFile(File file, HistoryManager historyManager, int cachedPagesCount) {
+        try {
+            BTreeTaskManager tasksManager = new BTreeTaskManager(historyManager, file, cachedPagesCount);
+            tasksManager.loadRecurringTasks();
+            tasksManager.loadHistoryJournal();
+            tasksManager.updateTaskIdSequence();
+            return tasksManager;
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new ManagerSaveException(READ_ERROR_TEXT, ex);
+        }
+    }
+
+    public synchronized int getCachedPagesCount() {
+        return pageCache.getCachedPagesCount();
+    }
+
+    public synchronized int getPagesCount() {
+        return pageCache.getPagesCount();
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            pageCache.close();
+        } catch (IOException ex) {
+            throw new ManagerSaveException(WRITE_ERROR_TEXT, ex);
+        }
+    }
+
+    @Override
+    public synchronized int getNextTaskId() {
+        return taskIdSequence += InMemoryTaskManager.TASK_ID_INCREMENT_STEP;
+    }
+
+    @Override
+    public synchronized List<Task> getTasks() {
+        List<Task> tasks = new ArrayList<>();
+        forEach(tasksTree, (id, minor, value) -> tasks.add(toTask(value)));
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Epic> getEpics() {
+        List<Epic> epics = new ArrayList<>();
+        List<Epic> loadedEpics = new ArrayList<>();
+        forEach(epicsTree, (id, minor, value) -> {
+            Epic epic = getLiveEpic((int) id);
+            if (epic == null) {
+                epic = (Epic) toTask(value);
+                loadedEpics.add(epic);
+            }
+            epics.add(epic);
+            return true;
+        });
+        loadedEpics.forEach(this::linkEpicSubtasks);
+        return epics;
+    }
+
+    @Override
+    public synchronized List<Subtask> getSubtasks() {
+        List<Subtask> subtasks = new ArrayList<>();
+        forEach(subtasksTree, (id, minor, value) -> subtasks.add((Subtask) toTask(value)));
+        return subtasks;
+    }
+
+    @Override
+    public synchronized void deleteAllTasks() {
+        forEach(tasksTree, (id, minor, value) -> {
+            Task task = toTask(value);
+            forgetViews(task.getId());
+            removeFromTimeIndex(task);
+            return true;
+        });
+        clear(tasksTree);
+        commit();
+    }
+
+    @Override
+    public synchronized void deleteAllEpics() {
+        forEach(epicsTree, (id, minor, value) -> {
+            forgetViews((int) id);
+            return true;
+        });
+        clear(epicsTree);
+        liveEpics.clear();
+        commit();
+    }
+
+    @Override
+    public synchronized void deleteAllSubtasks() {
+        forEach(subtasksTree, (id, minor, value) -> {
+            Task subtask = toTask(value);
+            forgetViews(subtask.getId());
+            removeFromTimeIndex(subtask);
+            return true;
+        });
+        clear(subtasksTree);
+        clear(epicSubtasksTree);
+        forEachLiveEpic(epic -> epic.setSubtasks(Collections.emptyList()));
+        commit();
+    }
+
+    @Override
+    public synchronized Task getTaskById(int id) {
+        Task task = peekTaskById(id);
+        recordView(task);
+        return task;
+    }
+
+    @Override
+    public synchronized Epic getEpicById(int id) {
+        Epic epic = peekEpicById(id);
+        recordView(epic);
+        return epic;
+    }
+
+    @Override
+    public synchronized Subtask getSubtaskById(int id) {
+        Subtask subtask = peekSubtaskById(id);
+        recordView(subtask);
+        return subtask;
+    }
+
+    @Override
+    public synchronized Task peekTaskById(int id) {
+        return readTask(tasksTree, id);
+    }
+
+    @Override
+    public synchronized Epic peekEpicById(int id) {
+        Epic epic = getLiveEpic(id);
+        if (epic == null) {
+            epic = (Epic) readTask(epicsTree, id);
+            if (epic != null) {
+                linkEpicSubtasks(epic);
+            }
+        }
+        return epic;
+    }
+
+    @Override
+    public synchronized Subtask peekSubtaskById(int id) {
+        return (Subtask) readTask(subtasksTree, id);
+    }
+
+    @Override
+    public synchronized boolean containsTask(int id) {
+        return contains(tasksTree, id, NO_MINOR_KEY);
+    }
+
+    @Override
+    public synchronized boolean containsEpic(int id) {
+        return contains(epicsTree, id, NO_MINOR_KEY);
+    }
+
+    @Override
+    public synchronized boolean containsSubtask(int id) {
+        return contains(subtasksTree, id, NO_MINOR_KEY);
+    }
+
+    @Override
+    public synchronized boolean addTask(Task task) {
+        if (task == null) return false;
+        checkTaskOverlapping(task, ADD_TASK_INTERSECTION_ERROR_TEXT);
+
+        boolean isAdded = insertTask(task);
+        commit();
+        return isAdded;
+    }
+
+    @Override
+    public synchronized boolean addEpic(Epic epic) {
+        if (epic == null) return false;
+
+        boolean isAdded = !containsEpic(epic.getId());
+        if (isAdded) {
+            put(epicsTree, epic.getId(), NO_MINOR_KEY, toRecord(epic));
+            linkEpicSubtasks(epic);
+            commit();
+        }
+        return isAdded;
+    }
+
+    @Override
+    public synchronized boolean addSubtask(Subtask subtask) {
+        if (subtask == null) return false;
+        checkTaskOverlapping(subtask, ADD_TASK_INTERSECTION_ERROR_TEXT);
+
+        boolean isAdded = insertSubtask(subtask);
+        commit();
+        return isAdded;
+    }
+
+    @Override
+    public synchronized boolean addTasks(Collection<? extends Task> tasks) {
+        if (tasks == null || tasks.stream().anyMatch(Objects::isNull)) return false;
+        List<Task> sortedTasks = getSortedNotOverlappingBatch(tasks);
+        if (hasStoredOrRepeatedId(sortedTasks, this::containsTask)) {
+            return false;
+        }
+
+        for (Task task : sortedTasks) {
+            insertTask(task);
+        }
+        commit();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addSubtasks(Collection<? extends Subtask> subtasks) {
+        if (subtasks == null || subtasks.stream().anyMatch(Objects::isNull)) return false;
+        List<Subtask> sortedSubtasks = getSortedNotOverlappingBatch(subtasks);
+        if (hasStoredOrRepeatedId(sortedSubtasks, this::containsSubtask)) {
+            return false;
+        }
+
+        for (Subtask subtask : sortedSubtasks) {
+            insertSubtask(subtask);
+        }
+        commit();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean updateTask(Task task) {
+        if (task == null) return false;
+        checkTaskOverlapping(task, UPDATE_TASK_INTERSECTION_ERROR_TEXT);
+
+        Task existingTaskWithThisId = peekTaskById(task.getId());
+        if (existingTaskWithThisId != null) {
+            put(tasksTree, task.getId(), NO_MINOR_KEY, toRecord(task));
+            removeFromTimeIndex(existingTaskWithThisId);
+            addToTimeIndex(task, TASK_KIND);
+            commit();
+        }
+        return existingTaskWithThisId != null;
+    }
+
+    @Override
+    public synchronized boolean updateEpic(Epic epic) {
+        if (epic == null) return false;
+
+        boolean isUpdated = containsEpic(epic.getId());
+        if (isUpdated) {
+            put(epicsTree, epic.getId(), NO_MINOR_KEY, toRecord(epic));
+            linkEpicSubtasks(epic);
+            commit();
+        }
+        return isUpdated;
+    }
+
+    @Override
+    public synchronized boolean updateSubtask(Subtask subtask) {
+        if (subtask == null) return false;
+        checkTaskOverlapping(subtask, UPDATE_TASK_INTERSECTION_ERROR_TEXT);
+
+        Subtask existingSubtaskWithThisId = peekSubtaskById(subtask.getId());
+        if (existingSubtaskWithThisId != null) {
+            put(subtasksTree, subtask.getId(), NO_MINOR_KEY, toRecord(subtask));
+            removeFromTimeIndex(existingSubtaskWithThisId);
+            addToTimeIndex(subtask, SUBTASK_KIND);
+            if (existingSubtaskWithThisId.getEpicId() != subtask.getEpicId()) {
+                unlinkSubtaskFromEpic(existingSubtaskWithThisId);
+            }
+            linkSubtaskToEpic(subtask);
+            commit();
+        }
+        return existingSubtaskWithThisId != null;
+    }
+
+    @Override
+    public synchronized boolean deleteTaskById(int id) {
+        Task existingTaskWithThisId = peekTaskById(id);
+        if (existingTaskWithThisId != null) {
+            remove(tasksTree, id, NO_MINOR_KEY);
+            removeFromTimeIndex(existingTaskWithThisId);
+            forgetViews(id);
+            commit();
+        }
+        return existingTaskWithThisId != null;
+    }
+
+    @Override
+    public synchronized boolean deleteEpicById(int id) {
+        boolean isDeleted = remove(epicsTree, id, NO_MINOR_KEY);
+        if (isDeleted) {
+            for (int subtaskId : getEpicSubtasksId(id)) {
+                Subtask subtask = peekSubtaskById(subtaskId);
+                remove(subtasksTree, subtaskId, NO_MINOR_KEY);
+                remove(epicSubtasksTree, id, subtaskId);
+                if (subtask != null) {
+                    removeFromTimeIndex(subtask);
+                }
+                forgetViews(subtaskId);
+            }
+            liveEpics.remove(id);
+            forgetViews(id);
+            commit();
+        }
+        return isDeleted;
+    }
+
+    @Override
+    public synchronized boolean deleteSubtaskById(int id) {
+        Subtask existingSubtaskWithThisId = peekSubtaskById(id);
+        if (existingSubtaskWithThisId != null) {
+            remove(subtasksTree, id, NO_MINOR_KEY);
+            unlinkSubtaskFromEpic(existingSubtaskWithThisId);
+            removeFromTimeIndex(existingSubtaskWithThisId);
+            forgetViews(id);
+            commit();
+        }
+        return existingSubtaskWithThisId != null;
+    }
+
+    @Override
+    public synchronized List<Subtask> getEpicSubtasksById(int id) {
+        Epic epic = peekEpicById(id);
+        if (epic != null) {
+            return epic.getSubtasks();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getTopViewedTasks(int limit) {
+        List<Task> tasks = new ArrayList<>();
+        for (int id : viewsCounter.getTop(limit)) {
+            Task task = peekTaskById(id);
+            if (task == null) {
+                task = peekEpicById(id);
+            }
+            if (task == null) {
+                task = peekSubtaskById(id);
+            }
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
+        List<Task> prioritizedTasks = new ArrayList<>();
+        forEach(startTimeTree, (startMinutes, id, value) -> prioritizedTasks.add(readTimedTask(id, value)));
+        if (!recurringTasksStorage.isEmpty()) {
+            prioritizedTasks.addAll(recurringTasksStorage.values());
+            prioritizedTasks.sort(startDateComparator);
+        }
+        return prioritizedTasks;
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        long fromMinutes = from == null ? Long.MIN_VALUE : DateTimeConverter.toEpochMinutes(from);
+        long toMinutes = to == null ? Long.MAX_VALUE : DateTimeConverter.toEpochMinutes(to);
+        if (fromMinutes > toMinutes) {
+            return Collections.emptyList();
+        }
+
+        List<Task> prioritizedTasks = getOverlappingTimedTasks(fromMinutes, toMinutes);
+        if (recurringTasksStorage.isEmpty()) {
+            return prioritizedTasks;
+        }
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (recurringTask.isOverlapping(fromMinutes, toMinutes)) {
+                prioritizedTasks.add(recurringTask);
+            }
+        }
+        prioritizedTasks.sort(Comparator
+                .comparingLong((Task task) -> TaskTimeline.getFirstOccurrenceStartMinutes(task, fromMinutes))
+                .thenComparingInt(Task::getId));
+        return prioritizedTasks;
+    }
+
+    @Override
+    public synchronized List<TimeSlot> findFreeSlots(int durationMinutes, LocalDateTime from, LocalDateTime to,
+                                                     int limit) {
+        if (durationMinutes < 0 || limit <= 0 || from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(FREE_SLOTS_ARGUMENTS_ERROR_TEXT);
+        }
+
+        return TaskTimeline.findFreeSlots(this::forEachTimedInterval, recurringTasksStorage.values(), durationMinutes,
+                DateTimeConverter.toEpochMinutes(from), DateTimeConverter.toEpochMinutes(to), limit);
+    }
+
+    @Override
+    public synchronized List<DayLoad> getDailyLoad(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(DAILY_LOAD_ARGUMENTS_ERROR_TEXT);
+        }
+
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        int daysCount = (int) (toDay - fromDay + 1);
+        int[] tasksCounts = new int[daysCount];
+        long[] bookedMinutes = new long[daysCount];
+        forEachTimedInterval(fromDay * CalendarIndex.MINUTES_PER_DAY,
+                (toDay + 1) * CalendarIndex.MINUTES_PER_DAY - 1, (startMinutes, endMinutes) -> {
+                    long firstDay = Math.max(fromDay, CalendarIndex.getFirstDay(startMinutes));
+                    long lastDay = Math.min(toDay, CalendarIndex.getLastDay(startMinutes, endMinutes));
+                    for (long day = firstDay; day <= lastDay; day++) {
+                        tasksCounts[(int) (day - fromDay)] += 1;
+                        bookedMinutes[(int) (day - fromDay)] += CalendarIndex.getMinutesInDay(startMinutes,
+                                endMinutes, day);
+                    }
+                    return true;
+                });
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            TaskTimeline.addOccurrencesLoad(recurringTask, fromDay, toDay, tasksCounts, bookedMinutes);
+        }
+
+        List<DayLoad> dailyLoad = new ArrayList<>(daysCount);
+        for (int i = 0; i < daysCount; i++) {
+            dailyLoad.add(new DayLoad(LocalDate.ofEpochDay(fromDay + i), tasksCounts[i], bookedMinutes[i]));
+        }
+        return dailyLoad;
+    }
+
+    @Override
+    public synchronized List<Task> getTasksByDate(LocalDate date) {
+        if (date == null) {
+            return Collections.emptyList();
+        }
+        long epochDay = date.toEpochDay();
+        List<Task> tasks = getOverlappingTimedTasks(epochDay * CalendarIndex.MINUTES_PER_DAY,
+                (epochDay + 1) * CalendarIndex.MINUTES_PER_DAY - 1).stream()
+                .filter(task -> CalendarIndex.getFirstDay(task.getStartMinutes()) <= epochDay
+                        && CalendarIndex.getLastDay(task.getStartMinutes(), task.getEndMinutes()) >= epochDay)
+                .collect(Collectors.toList());
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (TaskTimeline.hasOccurrenceOnDay(recurringTask, epochDay)) {
+                tasks.add(recurringTask);
+            }
+        }
+        tasks.sort(startDateComparator);
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> scheduleTasks(Collection<? extends Task> tasks, LocalDateTime from,
+                                                 LocalDateTime to, SchedulingStrategy strategy) {
+        if (tasks == null || strategy == null || from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(SCHEDULE_ARGUMENTS_ERROR_TEXT);
+        }
+
+        return TaskTimeline.scheduleTasks(tasks, DateTimeConverter.toEpochMinutes(from),
+                DateTimeConverter.toEpochMinutes(to), strategy, this, this::forEachTimedInterval,
+                recurringTasksStorage.values());
+    }
+
+    @Override
+    public synchronized List<Task> getOverlappingTasks(Task task) {
+        if (task == null) {
+            return Collections.emptyList();
+        }
+        int taskId = task.getId();
+        List<Task> overlappingTasks = new ArrayList<>();
+        if (task instanceof RecurringTask) {
+            RecurringTask recurringTask = (RecurringTask) task;
+            forEachTimedEntry(task.getStartMinutes(), Long.MAX_VALUE, (startMinutes, id, value) -> {
+                if (id != taskId && recurringTask.isOverlapping(startMinutes, getEndMinutes(value))) {
+                    overlappingTasks.add(readTimedTask(id, value));
+                }
+                return true;
+            });
+        } else {
+            getOverlappingTimedTasks(task.getStartMinutes(), task.getEndMinutes()).stream()
+                    .filter(savedTask -> savedTask.getId() != taskId)
+                    .forEach(overlappingTasks::add);
+        }
+
+        for (RecurringTask savedTask : recurringTasksStorage.values()) {
+            if (savedTask.getId() != taskId && TaskTimeline.areOverlapping(savedTask, task)) {
+                overlappingTasks.add(savedTask);
+            }
+        }
+        return overlappingTasks;
+    }
+
+    private void loadRecurringTasks() {
+        forEach(recurringTasksTree, (id, minor, value) -> {
+            Task task = readTask(tasksTree, (int) id);
+            if (task instanceof RecurringTask) {
+                recurringTasksStorage.put(task.getId(), (RecurringTask) task);
+            }
+            return true;
+        });
+    }
+
+    private void loadHistoryJournal() throws IOException {
+        for (Integer taskId : historyJournal.read()) {
+            Task task = peekSubtaskById(taskId);
+            if (task == null) {
+                task = peekEpicById(taskId);
+            }
+            if (task == null) {
+                task = peekTaskById(taskId);
+            }
+            if (task != null) {
+                historyManager.add(task);
+            }
+        }
+    }
+
+    private void updateTaskIdSequence() {
+        int maxCurrentTaskId = InMemoryTaskManager.TASK_ID_INITIAL_VALUE;
+        for (BPlusTree tree : List.of(tasksTree, epicsTree, subtasksTree)) {
+            BPlusTree.Entry lastEntry = lower(tree, Long.MAX_VALUE, Long.MAX_VALUE);
+            if (lastEntry != null) {
+                maxCurrentTaskId = Math.max(maxCurrentTaskId, (int) lastEntry.getMajor());
+            }
+        }
+        taskIdSequence = maxCurrentTaskId;
+    }
+
+    private boolean insertTask(Task task) {
+        if (containsTask(task.getId())) {
+            return false;
+        }
+        put(tasksTree, task.getId(), NO_MINOR_KEY, toRecord(task));
+        addToTimeIndex(task, TASK_KIND);
+        return true;
+    }
+
+    private boolean insertSubtask(Subtask subtask) {
+        if (containsSubtask(subtask.getId())) {
+            return false;
+        }
+        put(subtasksTree, subtask.getId(), NO_MINOR_KEY, toRecord(subtask));
+        addToTimeIndex(subtask, SUBTASK_KIND);
+        linkSubtaskToEpic(subtask);
+        return true;
+    }
+
+    private void addToTimeIndex(Task task, byte kind) {
+        if (task instanceof RecurringTask) {
+            put(recurringTasksTree, task.getId(), NO_MINOR_KEY, EMPTY_VALUE);
+            recurringTasksStorage.put(task.getId(), (RecurringTask) task);
+            return;
+        }
+        byte[] value = ByteBuffer.allocate(TIME_VALUE_SIZE)
+                .put(kind)
+                .putLong(task.getEndMinutes())
+                .array();
+        put(startTimeTree, task.getStartMinutes(), task.getId(), value);
+    }
+
+    private void removeFromTimeIndex(Task task) {
+        if (task instanceof RecurringTask) {
+            remove(recurringTasksTree, task.getId(), NO_MINOR_KEY);
+            recurringTasksStorage.remove(task.getId());
+            return;
+        }
+        remove(startTimeTree, task.getStartMinutes(), task.getId());
+    }
+
+    private void linkEpicSubtasks(Epic epic) {
+        for (int subtaskId : getEpicSubtasksId(epic.getId())) {
+            Subtask subtask = peekSubtaskById(subtaskId);
+            if (!epic.updateSubtask(subtask)) {
+                epic.addSubtask(subtask);
+            }
+        }
+        expungeReleasedEpics();
+        liveEpics.put(epic.getId(), new EpicReference(epic, releasedEpics));
+    }
+
+    private void linkSubtaskToEpic(Subtask subtask) {
+        put(epicSubtasksTree, subtask.getEpicId(), subtask.getId(), EMPTY_VALUE);
+        Epic epic = getLiveEpic(subtask.getEpicId());
+        if (epic != null && !epic.updateSubtask(subtask)) {
+            epic.addSubtask(subtask);
+        }
+    }
+
+    private void unlinkSubtaskFromEpic(Subtask subtask) {
+        remove(epicSubtasksTree, subtask.getEpicId(), subtask.getId());
+        Epic epic = getLiveEpic(subtask.getEpicId());
+        if (epic != null) {
+            epic.removeSubtask(subtask.getId());
+        }
+    }
+
+    private Epic getLiveEpic(int id) {
+        expungeReleasedEpics();
+        EpicReference reference = liveEpics.get(id);
+        return reference == null ? null : reference.get();
+    }
+
+    private void forEachLiveEpic(Consumer<Epic> action) {
+        expungeReleasedEpics();
+        for (EpicReference reference : liveEpics.values()) {
+            Epic epic = reference.get();
+            if (epic != null) {
+                action.accept(epic);
+            }
+        }
+    }
+
+    private void expungeReleasedEpics() {
+        for (Reference<? extends Epic> reference = releasedEpics.poll(); reference != null;
+             reference = releasedEpics.poll()) {
+            liveEpics.remove(((EpicReference) reference).id, reference);
+        }
+    }
+
+    private List<Integer> getEpicSubtasksId(int epicId) {
+        List<Integer> subtasksId = new ArrayList<>();
+        forEach(epicSubtasksTree, epicId, Long.MIN_VALUE, epicId, Long.MAX_VALUE, (id, subtaskId, value) ->
+                subtasksId.add((int) subtaskId));
+        return subtasksId;
+    }
+
+    private void recordView(Task task) {
+        historyManager.add(task);
+        if (task == null) {
+            return;
+        }
+        viewsCounter.add(task.getId());
+        if (!SharedHistoryManager.isRecordingSharedHistory(historyManager)) {
+            return;
+        }
+
+        try {
+            int eventsCount = historyJournal.append(task.getId());
+            if (eventsCount > HISTORY_JOURNAL_COMPACTION_THRESHOLD) {
+                historyJournal.compact(() -> SharedHistoryManager.getSharedHistory(historyManager).stream()
+                        .map(Task::getId)
+                        .collect(Collectors.toList()));
+            }
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала истории просмотра.", ex);
+        }
+    }
+
+    private void forgetViews(int id) {
+        historyManager.remove(id);
+        viewsCounter.remove(id);
+    }
+
+    private void checkTaskOverlapping(Task addedTask, String errorText) {
+        checkRecurrencePeriod(addedTask);
+        if (hasOverlappingTasks(addedTask)) {
+            throw new TaskOverlappingException(errorText, getOverlappingTasks(addedTask));
+        }
+    }
+
+    private void checkRecurrencePeriod(Task task) {
+        if (task instanceof RecurringTask && ((RecurringTask) task).getPeriod() <= task.getDuration()) {
+            throw new IllegalArgumentException(RECURRENCE_PERIOD_ERROR_TEXT);
+        }
+    }
+
+    private boolean hasOverlappingTasks(Task task) {
+        if (task instanceof RecurringTask) {
+            return !getOverlappingTasks(task).isEmpty();
+        }
+        boolean[] isOverlapping = {false};
+        forEachTimedEntry(task.getStartMinutes(), task.getEndMinutes(), (startMinutes, id, value) -> {
+            isOverlapping[0] = id != task.getId();
+            return !isOverlapping[0];
+        });
+        if (isOverlapping[0]) {
+            return true;
+        }
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (recurringTask.getId() != task.getId() && TaskTimeline.areOverlapping(recurringTask, task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasStoredOrRepeatedId(List<? extends Task> batch, IntPredicate isStored) {
+        Set<Integer> batchIds = new HashSet<>();
+        for (Task task : batch) {
+            if (isStored.test(task.getId()) || !batchIds.add(task.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T extends Task> List<T> getSortedNotOverlappingBatch(Collection<? extends T> batch) {
+        List<T> sortedBatch = new ArrayList<>(batch);
+        sortedBatch.sort(startDateComparator);
+
+        Set<Task> overlappingTasks = new LinkedHashSet<>();
+        List<RecurringTask> recurringBatch = new ArrayList<>();
+        Task latestEndingTask = null;
+        for (T task : sortedBatch) {
+            checkRecurrencePeriod(task);
+            if (task instanceof RecurringTask) {
+                recurringBatch.add((RecurringTask) task);
+                continue;
+            }
+            if (latestEndingTask != null && latestEndingTask.getId() != task.getId()
+                    && task.getStartMinutes() <= latestEndingTask.getEndMinutes()) {
+                overlappingTasks.add(latestEndingTask);
+                overlappingTasks.add(task);
+            }
+            if (latestEndingTask == null || task.getEndMinutes() > latestEndingTask.getEndMinutes()) {
+                latestEndingTask = task;
+            }
+            if (hasOverlappingTasks(task)) {
+                overlappingTasks.addAll(getOverlappingTasks(task));
+            }
+        }
+        for (RecurringTask recurringTask : recurringBatch) {
+            overlappingTasks.addAll(getOverlappingTasks(recurringTask));
+            for (T task : sortedBatch) {
+                if (task.getId() != recurringTask.getId() && TaskTimeline.areOverlapping(recurringTask, task)) {
+                    overlappingTasks.add(task);
+                }
+            }
+        }
+
+        if (!overlappingTasks.isEmpty()) {
+            throw new TaskOverlappingException(ADD_TASK_INTERSECTION_ERROR_TEXT, new ArrayList<>(overlappingTasks));
+        }
+        return sortedBatch;
+    }
+
+    private List<Task> getOverlappingTimedTasks(long fromMinutes, long toMinutes) {
+        List<Task> tasks = new ArrayList<>();
+        forEachTimedEntry(fromMinutes, toMinutes, (startMinutes, id, value) -> tasks.add(readTimedTask(id, value)));
+        return tasks;
+    }
+
+    private void forEachTimedInterval(long fromMinutes, long toMinutes, TaskTimeline.IntervalVisitor visitor) {
+        forEachTimedEntry(fromMinutes, toMinutes,
+                (startMinutes, id, value) -> visitor.visit(startMinutes, getEndMinutes(value)));
+    }
+
+    private void forEachTimedEntry(long fromMinutes, long toMinutes, BPlusTree.EntryVisitor visitor) {
+        BPlusTree.Entry previousEntry = lower(startTimeTree, fromMinutes, Long.MIN_VALUE);
+        if (previousEntry != null && getEndMinutes(previousEntry.getValue()) >= fromMinutes
+                && !visitor.visit(previousEntry.getMajor(), previousEntry.getMinor(), previousEntry.getValue())) {
+            return;
+        }
+        forEach(startTimeTree, fromMinutes, Long.MIN_VALUE, toMinutes, Long.MAX_VALUE, visitor);
+    }
+
+    private Task readTimedTask(long id, byte[] value) {
+        BPlusTree tree = value[0] == SUBTASK_KIND ? subtasksTree : tasksTree;
+        return readTask(tree, (int) id);
+    }
+
+    private static long getEndMinutes(byte[] timeValue) {
+        return ByteBuffer.wrap(timeValue).getLong(1);
+    }
+
+    private Task readTask(BPlusTree tree, int id) {
+        try {
+            byte[] record = tree.get(id, NO_MINOR_KEY);
+            return record == null ? null : toTask(record);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(READ_ERROR_TEXT, ex);
+        }
+    }
+
+    private static byte[] toRecord(Task task) {
+        return TaskParser.toString(task).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Task toTask(byte[] record) {
+        return TaskParser.fromString(new String(record, StandardCharsets.UTF_8));
+    }
+
+    private boolean contains(BPlusTree tree, long major, long minor) {
+        try {
+            return tree.contains(major, minor);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(READ_ERROR_TEXT, ex);
+        }
+    }
+
+    private BPlusTree.Entry lower(BPlusTree tree, long major, long minor) {
+        try {
+            return tree.lower(major, minor);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(READ_ERROR_TEXT, ex);
+        }
+    }
+
+    private void forEach(BPlusTree tree, BPlusTree.EntryVisitor visitor) {
+        forEach(tree, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    private void forEach(BPlusTree tree, long fromMajor, long fromMinor, long toMajor, long toMinor,
+                         BPlusTree.EntryVisitor visitor) {
+        try {
+            tree.forEach(fromMajor, fromMinor, toMajor, toMinor, visitor);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(READ_ERROR_TEXT, ex);
+        }
+    }
+
+    private void put(BPlusTree tree, long major, long minor, byte[] value) {
+        try {
+            tree.put(major, minor, value);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(WRITE_ERROR_TEXT, ex);
+        }
+    }
+
+    private boolean remove(BPlusTree tree, long major, long minor) {
+        try {
+            return tree.remove(major, minor);
+        } catch (IOException ex) {
+            throw new ManagerSaveException(WRITE_ERROR_TEXT, ex);
+        }
+    }
+
+    private void clear(BPlusTree tree) {
+        try {
+            tree.clear();
+        } catch (IOException ex) {
+            throw new ManagerSaveException(WRITE_ERROR_TEXT, ex);
+        }
+    }
+
+    private void commit() {
+        try {
+            pageCache.commit();
+        } catch (IOException ex) {
+            throw new ManagerSaveException(WRITE_ERROR_TEXT, ex);
+        }
+    }
+
+    private static class EpicReference extends WeakReference<Epic> {
+        private final int id;
+
+        EpicReference(Epic epic, ReferenceQueue<Epic> queue) {
+            super(epic, queue);
+            this.id = epic.getId();
+        }
+    }
+}
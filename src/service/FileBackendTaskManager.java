@@ -4,86 +4,366 @@ import exceptions.ManagerSaveException;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import utils.DurabilityLevel;
+import utils.HistoryJournal;
+import utils.HydrationMode;
 import utils.HistoryManagerParser;
+import utils.LogOperation;
+import utils.PagedRecordStore;
+import utils.ParallelTaskFileReader;
+import utils.PersistenceMode;
+import utils.SnapshotFormat;
+import utils.SnapshotStore;
+import utils.TaskDetailsCache;
+import utils.TaskFileReader;
 import utils.TaskParser;
+import utils.WriteAheadLog;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.DateTimeException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class FileBackendTaskManager extends InMemoryTaskManager implements TaskManager {
-    protected static final String LINE_SEPARATOR = "\\r?\\n";
+    private static final String HISTORY_JOURNAL_SUFFIX = ".history";
+    private static final int HISTORY_JOURNAL_COMPACTION_THRESHOLD = 1000;
+    private static final String WRITE_AHEAD_LOG_SUFFIX = ".wal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String PAGED_STORE_SUFFIX = ".pages";
+    private static final int SNAPSHOT_RECORDS_THRESHOLD = 10_000;
+    private static final String LOG_RECORD_SEPARATOR = ",";
+    private static final CompletableFuture<Void> COMMITTED = CompletableFuture.completedFuture(null);
     private File file;
+    private HistoryJournal historyJournal;
+    private final List<Integer> removedViews = new ArrayList<>();
+    private boolean legacyHistoryLoaded;
+    private PersistenceMode persistenceMode = PersistenceMode.SNAPSHOT;
+    private DurabilityLevel durabilityLevel = DurabilityLevel.SYNC;
+    private WriteAheadLog writeAheadLog;
+    private SnapshotStore snapshotStore;
+    private ExecutorService snapshotExecutor;
+    private Future<?> snapshotInProgress;
+    private PagedRecordStore pagedRecordStore;
+    private int recordsSinceSnapshot;
 
     protected FileBackendTaskManager(HistoryManager historyManager) {
         super(historyManager);
     }
 
     protected FileBackendTaskManager(HistoryManager historyManager, File file) {
-        super(historyManager);
+        this(historyManager);
         this.file = file;
+        this.historyJournal = new HistoryJournal(getHistoryJournalPath(file));
     }
 
-    protected static String[] getLinesFromFile(File file) throws IOException {
-        String filePath = file.getAbsolutePath();
-        String data = Files.readString(Path.of(filePath));
-        return data.split(LINE_SEPARATOR);
+    protected FileBackendTaskManager(HistoryManager historyManager, File file, PersistenceMode persistenceMode,
+                                     DurabilityLevel durabilityLevel, SnapshotFormat snapshotFormat) {
+        this(historyManager, file);
+        this.persistenceMode = persistenceMode;
+        this.durabilityLevel = durabilityLevel;
+        if (persistenceMode == PersistenceMode.WRITE_AHEAD_LOG) {
+            try {
+                this.writeAheadLog = new WriteAheadLog(getWriteAheadLogPath(file), durabilityLevel,
+                        WriteAheadLog.DEFAULT_COMMIT_INTERVAL, WriteAheadLog.DEFAULT_COMMIT_BATCH_SIZE);
+            } catch (IOException ex) {
+                throw new ManagerSaveException("Ошибка чтения журнала операций.", ex);
+            }
+            this.snapshotStore = new SnapshotStore(getSnapshotPath(file), snapshotFormat);
+        } else if (persistenceMode == PersistenceMode.PAGED) {
+            try {
+                this.pagedRecordStore = new PagedRecordStore(getPagedStorePath(file));
+            } catch (IOException ex) {
+                throw new ManagerSaveException("Ошибка открытия постраничного хранилища задач.", ex);
+            }
+        }
+    }
+
+    public static Path getHistoryJournalPath(File file) {
+        return Path.of(file.getAbsolutePath() + HISTORY_JOURNAL_SUFFIX);
+    }
+
+    public static Path getWriteAheadLogPath(File file) {
+        return Path.of(file.getAbsolutePath() + WRITE_AHEAD_LOG_SUFFIX);
+    }
+
+    public static Path getSnapshotPath(File file) {
+        return Path.of(file.getAbsolutePath() + SNAPSHOT_SUFFIX);
+    }
+
+    public static Path getPagedStorePath(File file) {
+        return Path.of(file.getAbsolutePath() + PAGED_STORE_SUFFIX);
     }
 
     protected void loadTasks(String[] lines) throws IndexOutOfBoundsException, IllegalArgumentException {
+        List<Task> allTasks = new ArrayList<>();
+
         for (String line : lines) {
             if (line.isEmpty()) { break; }
-            Task task = TaskParser.fromString(line);
-            addSavedTask(task);
+            allTasks.add(TaskParser.fromString(line));
         }
-    }
 
-    protected void updateEpicsSubtasks() {
-        Map<Integer, Epic> epics = getEpicsStorage();
-        List<Subtask> subtasks = getSubtasks();
-        Map<Integer, List<Subtask>> epicsSubtasks = new HashMap<>();
+        loadTasks(allTasks);
+    }
 
-        for (Subtask subtask : subtasks) {
-            int epicId = subtask.getEpicId();
-            List<Subtask> currentSubtasks = epicsSubtasks.getOrDefault(epicId, new ArrayList<>());
-            currentSubtasks.add(subtask);
-            epicsSubtasks.put(epicId, currentSubtasks);
+    protected void loadTasks(List<Task> allTasks) {
+        List<Task> tasks = new ArrayList<>();
+        List<Subtask> subtasks = new ArrayList<>();
+
+        for (Task task : allTasks) {
+            if (task instanceof Epic) {
+                super.addEpic((Epic) task);
+            } else if (task instanceof Subtask) {
+                subtasks.add((Subtask) task);
+            } else {
+                tasks.add(task);
+            }
         }
 
-        for (Map.Entry<Integer, List<Subtask>> entry : epicsSubtasks.entrySet()) {
-            int epicId = entry.getKey();
-            List<Subtask> epicSubtasks = entry.getValue();
-            Epic epic = epics.get(epicId);
-            epic.setSubtasks(epicSubtasks);
-        }
+        super.addTasks(tasks);
+        super.addSubtasks(subtasks);
     }
 
     protected void loadHistory(String[] lines) {
         try {
+            if (lines.length < 2 || !lines[lines.length - 2].isEmpty()) {
+                return;
+            }
             String lastLine = lines[lines.length - 1];
-            List<Integer> tasksId = HistoryManagerParser.historyFromString(lastLine);
-            HistoryManager historyManager = getHistoryManager();
-            Map<Integer, Task> tasks = getAllTasksStorage();
+            loadHistory(HistoryManagerParser.historyFromString(lastLine));
+        } catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+            System.out.println("История просмотра задач не найдена.");
+        }
+    }
 
-            for(Integer taskId : tasksId) {
-                Task task = tasks.get(taskId);
-                historyManager.add(task);
-            }
+    protected void loadHistory(TaskFileReader reader) throws IOException {
+        try {
+            loadHistory(reader.readHistory());
         } catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
             System.out.println("История просмотра задач не найдена.");
         }
     }
 
+    private void loadHistory(List<Integer> tasksId) {
+        HistoryManager historyManager = getHistoryManager();
+        Map<Integer, Task> tasks = getAllTasksStorage();
+
+        for(Integer taskId : tasksId) {
+            Task task = tasks.get(taskId);
+            historyManager.add(task);
+        }
+        legacyHistoryLoaded = !tasksId.isEmpty();
+    }
+
+    private void loadFile() throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        loadFile(HydrationMode.EAGER);
+    }
+
+    private void loadFile(HydrationMode hydrationMode) throws IOException, IndexOutOfBoundsException,
+            IllegalArgumentException {
+        TaskDetailsCache detailsCache = hydrationMode == HydrationMode.LAZY
+                ? new TaskDetailsCache(file.toPath())
+                : null;
+        ParallelTaskFileReader reader = new ParallelTaskFileReader(file.toPath(), detailsCache);
+        loadTasks(reader.readTasks());
+        try (TaskFileReader historyReader = reader.openHistory()) {
+            loadHistory(historyReader);
+        }
+    }
+
+    private void loadPagedStore() throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        List<byte[]> records = pagedRecordStore.load();
+        if (records.isEmpty()) {
+            if (file.exists()) {
+                loadFile();
+                for (Task task : getAllTasks()) {
+                    pagedRecordStore.put(task.getId(), toPagedRecord(task));
+                }
+                pagedRecordStore.commit();
+            }
+            return;
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        for (byte[] record : records) {
+            tasks.add(TaskParser.fromString(new String(record, StandardCharsets.UTF_8)));
+        }
+        loadTasks(tasks);
+    }
+
+    protected void loadHistoryJournal() throws IOException {
+        removedViews.clear();
+        List<Integer> tasksId = historyJournal.read();
+        HistoryManager historyManager = getHistoryManager();
+        Map<Integer, Task> tasks = getAllTasksStorage();
+
+        for (Integer taskId : tasksId) {
+            Task task = tasks.get(taskId);
+            if (task != null) {
+                historyManager.add(task);
+            }
+        }
+
+        if (legacyHistoryLoaded && SharedHistoryManager.isRecordingSharedHistory(historyManager)) {
+            compactHistoryJournal();
+        }
+        legacyHistoryLoaded = false;
+        if (historyManager instanceof AsyncHistoryManager) {
+            ((AsyncHistoryManager) historyManager).setFlushListener(this::saveFlushedViews);
+        }
+    }
+
+    protected void saveView(Task task) {
+        HistoryManager historyManager = getHistoryManager();
+        if (task == null || !SharedHistoryManager.isRecordingSharedHistory(historyManager)
+                || historyManager instanceof AsyncHistoryManager) {
+            return;
+        }
+
+        try {
+            int eventsCount = historyJournal.append(task.getId());
+            if (eventsCount > HISTORY_JOURNAL_COMPACTION_THRESHOLD) {
+                compactHistoryJournal();
+            }
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала истории просмотра.", ex);
+        }
+    }
+
+    private void saveFlushedViews(List<Task> views) {
+        if (!SharedHistoryManager.isRecordingSharedHistory(getHistoryManager())) {
+            return;
+        }
+
+        try {
+            int eventsCount = historyJournal.append(views.stream()
+                    .map(Task::getId)
+                    .collect(Collectors.toList()));
+            if (eventsCount > HISTORY_JOURNAL_COMPACTION_THRESHOLD) {
+                compactHistoryJournal();
+            }
+        } catch (IOException ex) {
+            System.out.printf("Ошибка записи журнала истории просмотра: %s.%n", ex.getMessage());
+        }
+    }
+
+    @Override
+    protected void forgetViews(int id) {
+        super.forgetViews(id);
+        if (historyJournal != null) {
+            removedViews.add(id);
+        }
+    }
+
+    private void saveRemovedViews() {
+        if (removedViews.isEmpty() || !SharedHistoryManager.isRecordingSharedHistory(getHistoryManager())) {
+            removedViews.clear();
+            return;
+        }
+
+        try {
+            int eventsCount = historyJournal.appendRemovals(removedViews);
+            if (eventsCount > HISTORY_JOURNAL_COMPACTION_THRESHOLD) {
+                compactHistoryJournal();
+            }
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала истории просмотра.", ex);
+        } finally {
+            removedViews.clear();
+        }
+    }
+
+    private void compactHistoryJournal() throws IOException {
+        historyJournal.compact(() -> SharedHistoryManager.getSharedHistory(getHistoryManager()).stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+    }
+
+    protected void loadWriteAheadLog(long fromGeneration) throws IOException {
+        writeAheadLog.startFrom(fromGeneration);
+        writeAheadLog.replay(fromGeneration, record -> {
+            Runnable operation;
+            try {
+                operation = parseLogRecord(record);
+            } catch (IndexOutOfBoundsException | IllegalArgumentException | DateTimeException ex) {
+                throw new ManagerSaveException(String.format("Повреждена запись журнала операций: '%s'.", record),
+                        ex);
+            }
+            operation.run();
+        });
+    }
+
+    private Runnable parseLogRecord(String record) throws IndexOutOfBoundsException, IllegalArgumentException {
+        String[] parts = record.split(LOG_RECORD_SEPARATOR, 2);
+        LogOperation operation = LogOperation.valueOf(parts[0]);
+
+        switch (operation) {
+            case ADD: {
+                Task task = TaskParser.fromEscapedString(parts[1]);
+                return () -> addLoggedTask(task);
+            }
+            case UPDATE: {
+                Task task = TaskParser.fromEscapedString(parts[1]);
+                return () -> updateLoggedTask(task);
+            }
+            case DELETE_TASK: {
+                int id = Integer.parseInt(parts[1]);
+                return () -> super.deleteTaskById(id);
+            }
+            case DELETE_EPIC: {
+                int id = Integer.parseInt(parts[1]);
+                return () -> super.deleteEpicById(id);
+            }
+            case DELETE_SUBTASK: {
+                int id = Integer.parseInt(parts[1]);
+                return () -> super.deleteSubtaskById(id);
+            }
+            case DELETE_ALL_TASKS:
+                return super::deleteAllTasks;
+            case DELETE_ALL_EPICS:
+                return super::deleteAllEpics;
+            case DELETE_ALL_SUBTASKS:
+                return super::deleteAllSubtasks;
+            default:
+                throw new IllegalArgumentException(String.format("Неизвестная операция журнала: '%s'.", operation));
+        }
+    }
+
+    private void addLoggedTask(Task task) {
+        if (task instanceof Epic) {
+            super.addEpic((Epic) task);
+        } else if (task instanceof Subtask) {
+            super.addSubtask((Subtask) task);
+        } else {
+            super.addTask(task);
+        }
+    }
+
+    private void updateLoggedTask(Task task) {
+        if (task instanceof Epic) {
+            super.updateEpic((Epic) task);
+        } else if (task instanceof Subtask) {
+            super.updateSubtask((Subtask) task);
+        } else {
+            super.updateTask(task);
+        }
+    }
+
     protected void updateTaskIdSequence() {
         Stream<Integer> tasksId = getTasks().stream().map(Task::getId);
         Stream<Integer> epicsId = getEpics().stream().map(Task::getId);
@@ -100,41 +380,241 @@ public class FileBackendTaskManager extends InMemoryTaskManager implements TaskM
         String filePath = file.getAbsolutePath();
         try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(filePath, StandardCharsets.UTF_8))) {
             List<Task> allTasks = getAllTasks();
-            String historyLine = HistoryManagerParser.historyToString(getHistoryManager());
-            
+
             for (Task task : allTasks) {
                 String taskLine = TaskParser.toString(task);
                 bufferedWriter.write(taskLine);
                 bufferedWriter.newLine();
             }
             bufferedWriter.newLine();
-            bufferedWriter.write(historyLine);
         } catch (IOException | IllegalArgumentException ex) {
             throw new ManagerSaveException("Ошибка записи файла данных задач и истории просмотра.", ex);
         }
     }
 
-    protected void addSavedTask(Task task) {
-        if (task instanceof Epic) {
-            Epic epic = (Epic) task;
-            addEpic(epic);
-        } else if (task instanceof Subtask) {
-            Subtask subtask = (Subtask) task;
-            addSubtask(subtask);
-        } else {
-            addTask(task);
+    private CompletableFuture<Void> save(LogOperation operation, Task task) {
+        if (persistenceMode == PersistenceMode.PAGED) {
+            return savePages(pages -> pages.put(task.getId(), toPagedRecord(task)));
         }
+        return save(List.of(toLogRecord(operation, TaskParser.toEscapedString(task))));
+    }
+
+    private CompletableFuture<Void> save(LogOperation operation, int id) {
+        return save(operation, id, Collections.emptyList());
+    }
+
+    private CompletableFuture<Void> save(LogOperation operation, int id, List<Subtask> deletedSubtasks) {
+        saveRemovedViews();
+        if (persistenceMode == PersistenceMode.PAGED) {
+            return savePages(pages -> {
+                pages.remove(id);
+                for (Subtask subtask : deletedSubtasks) {
+                    pages.remove(subtask.getId());
+                }
+            });
+        }
+        return save(List.of(toLogRecord(operation, String.valueOf(id))));
+    }
+
+    private CompletableFuture<Void> save(LogOperation operation) {
+        saveRemovedViews();
+        if (persistenceMode == PersistenceMode.PAGED) {
+            return savePages(pages -> pages.retain(this::isStored));
+        }
+        return save(List.of(operation.name()));
+    }
+
+    private CompletableFuture<Void> saveAdded(List<Task> tasks) {
+        if (persistenceMode == PersistenceMode.PAGED) {
+            return savePages(pages -> {
+                for (Task task : tasks) {
+                    pages.put(task.getId(), toPagedRecord(task));
+                }
+            });
+        }
+        return save(tasks.stream()
+                .map(task -> toLogRecord(LogOperation.ADD, TaskParser.toEscapedString(task)))
+                .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<Void> savePages(PagesUpdate update) {
+        try {
+            update.apply(pagedRecordStore);
+            pagedRecordStore.commit();
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new ManagerSaveException("Ошибка записи постраничного хранилища задач.", ex);
+        }
+        return COMMITTED;
+    }
+
+    private boolean isStored(int id) {
+        return containsTask(id) || containsEpic(id) || containsSubtask(id);
+    }
+
+    private CompletableFuture<Void> save(List<String> records) {
+        if (persistenceMode == PersistenceMode.SNAPSHOT) {
+            save();
+            return COMMITTED;
+        }
+
+        CompletableFuture<Void> commit;
+        try {
+            commit = writeAheadLog.append(records);
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала операций.", ex);
+        }
+
+        recordsSinceSnapshot += records.size();
+        if (recordsSinceSnapshot >= SNAPSHOT_RECORDS_THRESHOLD
+                && (snapshotInProgress == null || snapshotInProgress.isDone())) {
+            snapshot();
+        }
+        return commit;
+    }
+
+    private void awaitCommit(CompletableFuture<Void> commit) {
+        if (durabilityLevel == DurabilityLevel.ASYNC) {
+            return;
+        }
+
+        try {
+            commit.join();
+        } catch (CompletionException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала операций.", ex.getCause());
+        }
+    }
+
+    public CompletableFuture<Void> flush() {
+        if (persistenceMode != PersistenceMode.WRITE_AHEAD_LOG) {
+            return COMMITTED;
+        }
+        return writeAheadLog.flush();
+    }
+
+    public synchronized Future<?> snapshot() {
+        if (persistenceMode != PersistenceMode.WRITE_AHEAD_LOG) {
+            throw new IllegalStateException("Снимки состояния доступны только в режиме журнала операций.");
+        }
+
+        List<Task> frozenTasks = new ArrayList<>();
+        for (Task task : getAllTasks()) {
+            frozenTasks.add(task.copy());
+        }
+        long generation;
+        try {
+            generation = writeAheadLog.rotate();
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи журнала операций.", ex);
+        }
+        recordsSinceSnapshot = 0;
+        if (snapshotExecutor == null) {
+            snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        snapshotInProgress = snapshotExecutor.submit(() -> writeSnapshot(generation, frozenTasks));
+        return snapshotInProgress;
+    }
+
+    private void writeSnapshot(long generation, List<Task> tasks) {
+        try {
+            snapshotStore.write(generation, tasks);
+            writeAheadLog.truncate(snapshotStore.getOldestGeneration());
+        } catch (IOException ex) {
+            throw new ManagerSaveException("Ошибка записи снимка состояния.", ex);
+        }
+    }
+
+    private static byte[] toPagedRecord(Task task) {
+        return TaskParser.toString(task).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toLogRecord(LogOperation operation, String payload) {
+        return operation.name() + LOG_RECORD_SEPARATOR + payload;
     }
 
     public static FileBackendTaskManager loadFromFile(File file) {
-        HistoryManager historyManager = new InMemoryHistoryManager();
+        return loadFromFile(file, new InMemoryHistoryManager());
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, PersistenceMode persistenceMode) {
+        return loadFromFile(file, new InMemoryHistoryManager(), persistenceMode);
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, HistoryManager historyManager,
+                                                      PersistenceMode persistenceMode) {
+        return loadFromFile(file, historyManager, persistenceMode, DurabilityLevel.SYNC);
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, HistoryManager historyManager,
+                                                      PersistenceMode persistenceMode,
+                                                      DurabilityLevel durabilityLevel) {
+        return loadFromFile(file, historyManager, persistenceMode, durabilityLevel, SnapshotFormat.CSV);
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, HistoryManager historyManager,
+                                                      PersistenceMode persistenceMode,
+                                                      DurabilityLevel durabilityLevel,
+                                                      SnapshotFormat snapshotFormat) {
+        return loadFromFile(file, historyManager, persistenceMode, durabilityLevel, snapshotFormat,
+                HydrationMode.EAGER);
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, HistoryManager historyManager,
+                                                      PersistenceMode persistenceMode,
+                                                      DurabilityLevel durabilityLevel,
+                                                      SnapshotFormat snapshotFormat,
+                                                      HydrationMode hydrationMode) {
+        if (persistenceMode != PersistenceMode.WRITE_AHEAD_LOG && (durabilityLevel != DurabilityLevel.SYNC
+                || snapshotFormat != SnapshotFormat.CSV || hydrationMode != HydrationMode.EAGER)) {
+            throw new IllegalArgumentException(String.format("Режим хранения '%s' поддерживает только синхронный "
+                    + "сброс на диск, формат CSV и полную загрузку задач.", persistenceMode));
+        }
+
+        if (persistenceMode == PersistenceMode.SNAPSHOT) {
+            return loadFromFile(file, historyManager);
+        }
+
+        FileBackendTaskManager tasksManager = new FileBackendTaskManager(historyManager, file, persistenceMode,
+                durabilityLevel, snapshotFormat);
+        if (persistenceMode == PersistenceMode.PAGED) {
+            try {
+                tasksManager.loadPagedStore();
+                tasksManager.loadHistoryJournal();
+                tasksManager.updateTaskIdSequence();
+            } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+                throw new ManagerSaveException("Ошибка чтения постраничного хранилища задач.", ex);
+            }
+            return tasksManager;
+        }
+
+        try {
+            SnapshotStore.Snapshot snapshot = tasksManager.snapshotStore.readLatest(hydrationMode);
+            long fromGeneration = 0;
+            if (snapshot != null) {
+                tasksManager.loadTasks(snapshot.getTasks());
+                fromGeneration = snapshot.getGeneration();
+            } else if (file.exists()) {
+                tasksManager.loadFile(hydrationMode);
+            }
+            tasksManager.loadWriteAheadLog(fromGeneration);
+            tasksManager.loadHistoryJournal();
+            tasksManager.updateTaskIdSequence();
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new ManagerSaveException("Ошибка чтения файла данных задач и журнала операций.", ex);
+        }
+
+        return tasksManager;
+    }
+
+    public static FileBackendTaskManager loadFromFile(File file, HistoryManager historyManager) {
         FileBackendTaskManager tasksManager = new FileBackendTaskManager(historyManager, file);
 
         try {
-            String[] lines = getLinesFromFile(file);
-            tasksManager.loadTasks(lines);
-            tasksManager.updateEpicsSubtasks();
-            tasksManager.loadHistory(lines);
+            tasksManager.loadFile();
+            tasksManager.loadHistoryJournal();
             tasksManager.updateTaskIdSequence();
             tasksManager.save();
         } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException ex) {
@@ -146,103 +626,212 @@ public class FileBackendTaskManager extends InMemoryTaskManager implements TaskM
 
     @Override
     public void deleteAllTasks() {
-        super.deleteAllTasks();
-        save();
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            super.deleteAllTasks();
+            commit = save(LogOperation.DELETE_ALL_TASKS);
+        }
+        awaitCommit(commit);
     }
 
     @Override
     public void deleteAllEpics() {
-        super.deleteAllEpics();
-        save();
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            super.deleteAllEpics();
+            commit = save(LogOperation.DELETE_ALL_EPICS);
+        }
+        awaitCommit(commit);
     }
 
     @Override
     public void deleteAllSubtasks() {
-        super.deleteAllSubtasks();
-        save();
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            super.deleteAllSubtasks();
+            commit = save(LogOperation.DELETE_ALL_SUBTASKS);
+        }
+        awaitCommit(commit);
     }
 
     @Override
-    public Task getTaskById(int id) {
+    public synchronized Task getTaskById(int id) {
         Task task = super.getTaskById(id);
-        save();
+        saveView(task);
         return task;
     }
 
     @Override
-    public Epic getEpicById(int id) {
+    public synchronized Epic getEpicById(int id) {
         Epic epic = super.getEpicById(id);
-        save();
+        saveView(epic);
         return epic;
     }
 
     @Override
-    public Subtask getSubtaskById(int id) {
+    public synchronized Subtask getSubtaskById(int id) {
         Subtask subtask = super.getSubtaskById(id);
-        save();
+        saveView(subtask);
         return subtask;
     }
 
     @Override
     public boolean addTask(Task task) {
-        boolean addStatus = super.addTask(task);
-        save();
+        boolean addStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            addStatus = super.addTask(task);
+            if (addStatus) {
+                commit = save(LogOperation.ADD, task);
+            }
+        }
+        awaitCommit(commit);
         return addStatus;
     }
 
     @Override
     public boolean addEpic(Epic epic) {
-        boolean addStatus = super.addEpic(epic);
-        save();
+        boolean addStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            addStatus = super.addEpic(epic);
+            if (addStatus) {
+                commit = save(LogOperation.ADD, epic);
+            }
+        }
+        awaitCommit(commit);
         return addStatus;
     }
 
     @Override
     public boolean addSubtask(Subtask subtask) {
-        boolean addStatus = super.addSubtask(subtask);
-        save();
+        boolean addStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            addStatus = super.addSubtask(subtask);
+            if (addStatus) {
+                commit = save(LogOperation.ADD, subtask);
+            }
+        }
+        awaitCommit(commit);
+        return addStatus;
+    }
+
+    @Override
+    public boolean addTasks(Collection<? extends Task> tasks) {
+        boolean addStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            addStatus = super.addTasks(tasks);
+            if (addStatus) {
+                commit = saveAdded(new ArrayList<>(tasks));
+            }
+        }
+        awaitCommit(commit);
+        return addStatus;
+    }
+
+    @Override
+    public boolean addSubtasks(Collection<? extends Subtask> subtasks) {
+        boolean addStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            addStatus = super.addSubtasks(subtasks);
+            if (addStatus) {
+                commit = saveAdded(new ArrayList<>(subtasks));
+            }
+        }
+        awaitCommit(commit);
         return addStatus;
     }
 
     @Override
     public boolean updateTask(Task task) {
-        boolean updateStatus = super.updateTask(task);
-        save();
+        boolean updateStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            updateStatus = super.updateTask(task);
+            if (updateStatus) {
+                commit = save(LogOperation.UPDATE, task);
+            }
+        }
+        awaitCommit(commit);
         return updateStatus;
     }
 
     @Override
     public boolean updateEpic(Epic epic) {
-        boolean updateStatus = super.updateEpic(epic);
-        save();
+        boolean updateStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            updateStatus = super.updateEpic(epic);
+            if (updateStatus) {
+                commit = save(LogOperation.UPDATE, epic);
+            }
+        }
+        awaitCommit(commit);
         return updateStatus;
     }
 
     @Override
     public boolean updateSubtask(Subtask subtask) {
-        boolean updateStatus = super.updateSubtask(subtask);
-        save();
+        boolean updateStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            updateStatus = super.updateSubtask(subtask);
+            if (updateStatus) {
+                commit = save(LogOperation.UPDATE, subtask);
+            }
+        }
+        awaitCommit(commit);
         return updateStatus;
     }
 
     @Override
     public boolean deleteTaskById(int id) {
-        boolean deleteStatus = super.deleteTaskById(id);
-        save();
+        boolean deleteStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            deleteStatus = super.deleteTaskById(id);
+            if (deleteStatus) {
+                commit = save(LogOperation.DELETE_TASK, id);
+            }
+        }
+        awaitCommit(commit);
         return deleteStatus;
     }
 
     @Override
     public boolean deleteEpicById(int id) {
-        boolean deleteStatus = super.deleteEpicById(id);
-        save();
+        boolean deleteStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            List<Subtask> deletedSubtasks = getEpicSubtasksById(id);
+            deleteStatus = super.deleteEpicById(id);
+            if (deleteStatus) {
+                commit = save(LogOperation.DELETE_EPIC, id, deletedSubtasks);
+            }
+        }
+        awaitCommit(commit);
         return deleteStatus;
     }
 
     @Override
     public boolean deleteSubtaskById(int id) {
-        boolean deleteStatus = super.deleteSubtaskById(id);
-        save();
+        boolean deleteStatus;
+        CompletableFuture<Void> commit = COMMITTED;
+        synchronized (this) {
+            deleteStatus = super.deleteSubtaskById(id);
+            if (deleteStatus) {
+                commit = save(LogOperation.DELETE_SUBTASK, id);
+            }
+        }
+        awaitCommit(commit);
         return deleteStatus;
     }
+
+    @FunctionalInterface
+    private interface PagesUpdate {
+        void apply(PagedRecordStore pages) throws IOException;
+    }
 }
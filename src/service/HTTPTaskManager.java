@@ -14,11 +14,33 @@ public class HTTPTaskManager extends FileBackendTaskManager {
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
     public String apiKey;
     private Client client;
+    private final Object uploadLock = new Object();
+    private String tasksState = "";
+    private String uploadedHistoryLine;
 
     public HTTPTaskManager(HistoryManager historyManager, String apiKey, Client client) {
         super(historyManager);
         this.apiKey = apiKey;
         this.client = client;
+        if (historyManager instanceof AsyncHistoryManager) {
+            ((AsyncHistoryManager) historyManager).setFlushListener(views -> saveRecordedHistory());
+        }
+    }
+
+    @Override
+    protected void saveView(Task task) {
+        if (!(getHistoryManager() instanceof AsyncHistoryManager)) {
+            saveRecordedHistory();
+        }
+    }
+
+    private void saveRecordedHistory() {
+        synchronized (uploadLock) {
+            String historyLine = HistoryManagerParser.historyToString(getHistoryManager());
+            if (!historyLine.equals(uploadedHistoryLine)) {
+                upload(historyLine);
+            }
+        }
     }
 
     private String[] getLinesFromServer(Client client) throws IOException, InterruptedException {
@@ -30,31 +52,39 @@ public class HTTPTaskManager extends FileBackendTaskManager {
     protected void save() {
         StringBuilder state = new StringBuilder();
         List<Task> allTasks = getAllTasks();
-        String historyLine = HistoryManagerParser.historyToString(getHistoryManager());
         for (Task task : allTasks) {
             String taskLine = TaskParser.toString(task);
             state.append(taskLine);
             state.append(LINE_SEPARATOR);
         }
         state.append(LINE_SEPARATOR);
-        state.append(historyLine);
 
+        synchronized (uploadLock) {
+            tasksState = state.toString();
+            upload(HistoryManagerParser.historyToString(getHistoryManager()));
+        }
+    }
+
+    private void upload(String historyLine) {
         try {
-            client.put(apiKey, state.toString());
+            client.put(apiKey, tasksState + historyLine);
+            uploadedHistoryLine = historyLine;
         } catch (IOException | InterruptedException ex) {
             throw new ServerException("Ошибка сохранения данных на сервер.", ex);
         }
     }
 
     public static HTTPTaskManager loadFromServer(String url, String apiKey) {
+        return loadFromServer(url, apiKey, Managers.getDefaultHistory());
+    }
+
+    public static HTTPTaskManager loadFromServer(String url, String apiKey, HistoryManager historyManager) {
         try {
-            HistoryManager historyManager = Managers.getDefaultHistory();
             Client client = new KeyValueStorageClient(url);
             HTTPTaskManager tasksManager = new HTTPTaskManager(historyManager, apiKey, client);
 
             String[] lines = tasksManager.getLinesFromServer(client);
             tasksManager.loadTasks(lines);
-            tasksManager.updateEpicsSubtasks();
             tasksManager.loadHistory(lines);
             tasksManager.updateTaskIdSequence();
             tasksManager.save();
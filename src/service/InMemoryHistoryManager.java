@@ -1,57 +1,126 @@
 package service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 import model.Task;
-import utils.CustomLinkedList;
-import utils.Node;
+import utils.IntIntHashMap;
 
 public class InMemoryHistoryManager implements HistoryManager {
-    private final static int MAX_HISTORY_LENGTH = 10;
-    private CustomLinkedList<Task> history;
-    private Map<Integer, Node<Task>> uniqueHistoryElements;
+    public final static int DEFAULT_HISTORY_CAPACITY = 10;
+    private final static String HISTORY_CAPACITY_ERROR_TEXT = "Размер истории просмотра должен быть положительным.";
+
+    private final int capacity;
+    private final Task[] history;
+    private final IntIntHashMap historySlots;
+    private final IntConsumer evictionListener;
+    private long head;
+    private long tail;
+    private int size;
 
     public InMemoryHistoryManager() {
-        history = new CustomLinkedList<>();
-        uniqueHistoryElements = new HashMap<>();
+        this(DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public InMemoryHistoryManager(int capacity) {
+        this(capacity, id -> {});
+    }
+
+    public InMemoryHistoryManager(int capacity, IntConsumer evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(HISTORY_CAPACITY_ERROR_TEXT);
+        }
+        this.capacity = capacity;
+        this.history = new Task[2 * capacity];
+        this.historySlots = new IntIntHashMap(capacity);
+        this.evictionListener = evictionListener;
     }
 
     @Override
     public void add(Task task) {
         if (task == null) return;
 
-        int taskId = task.getId();
-        Node<Task> historyElement = uniqueHistoryElements.get(taskId);
-        if (historyElement != null) {
-            history.removeNode(historyElement);
+        remove(task.getId());
+        if (size == capacity) {
+            removeFirst();
+        }
+        if (tail - head == history.length) {
+            compact();
         }
-        Node<Task> addedHistoryElement = history.linkLast(task);
-        uniqueHistoryElements.put(taskId, addedHistoryElement);
 
-        checkHistoryLength();
+        int slot = getSlot(tail);
+        history[slot] = task;
+        historySlots.put(task.getId(), slot);
+        tail += 1;
+        size += 1;
     }
 
     @Override
     public void remove(int id) {
-        Node<Task> historyElement = uniqueHistoryElements.get(id);
-        if (historyElement != null) {
-            history.removeNode(historyElement);
-            uniqueHistoryElements.remove(id);
-        }
+        int slot = historySlots.remove(id);
+        if (slot == IntIntHashMap.NO_VALUE) return;
+
+        history[slot] = null;
+        size -= 1;
+        skipRemovedFirstElements();
     }
 
     @Override
     public List<Task> getHistory() {
-        return history.getTasks();
+        List<Task> tasks = new ArrayList<>(size);
+        for (long position = head; position < tail; position++) {
+            Task task = history[getSlot(position)];
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 
-    private void checkHistoryLength() {
-        if (history.size() > MAX_HISTORY_LENGTH) {
-            Task removedTask = history.removeFirst();
-            int removedTaskId = removedTask.getId();
-            uniqueHistoryElements.remove(removedTaskId);
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void removeFirst() {
+        int slot = getSlot(head);
+        int id = history[slot].getId();
+        historySlots.remove(id);
+        history[slot] = null;
+        size -= 1;
+        skipRemovedFirstElements();
+        evictionListener.accept(id);
+    }
+
+    private void skipRemovedFirstElements() {
+        while (head < tail && history[getSlot(head)] == null) {
+            head += 1;
+        }
+        if (head == tail) {
+            head = 0;
+            tail = 0;
+        }
+    }
+
+    private void compact() {
+        long writePosition = head;
+        for (long readPosition = head; readPosition < tail; readPosition++) {
+            int readSlot = getSlot(readPosition);
+            Task task = history[readSlot];
+            if (task == null) continue;
+
+            int writeSlot = getSlot(writePosition);
+            if (writeSlot != readSlot) {
+                history[writeSlot] = task;
+                history[readSlot] = null;
+                historySlots.put(task.getId(), writeSlot);
+            }
+            writePosition += 1;
         }
+        tail = writePosition;
+    }
+
+    private int getSlot(long position) {
+        return (int) (position % history.length);
     }
 }
@@ -1,40 +1,60 @@
 package service;
 
+import exceptions.TaskOverlappingException;
+import model.DayLoad;
 import model.Epic;
+import model.RecurringTask;
 import model.Subtask;
 import model.Task;
-
+import model.TimeSlot;
+import utils.CalendarIndex;
+import utils.DateTimeConverter;
+import utils.IntervalTree;
+import utils.SchedulingStrategy;
+import utils.SpaceSavingCounter;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
 
 public class InMemoryTaskManager implements TaskManager {
     public static final int TASK_ID_INITIAL_VALUE = 0;
     public static final int TASK_ID_INCREMENT_STEP = 1;
-    private static final long DEFAULT_DATE_TIME_MILLIS = 0L;
-    private static final Comparator<Task> startDateComparator = (firstDateTime, secondDateTime) -> {
-        long firstDateMillis = Optional.of(firstDateTime.getStartTime().atZone(ZoneOffset.UTC).toInstant().toEpochMilli()).orElse(DEFAULT_DATE_TIME_MILLIS);
-        long secondDateMillis = Optional.of(secondDateTime.getStartTime().atZone(ZoneOffset.UTC).toInstant().toEpochMilli()).orElse(DEFAULT_DATE_TIME_MILLIS);
-        return Long.compare(firstDateMillis, secondDateMillis);
-    };
+    public static final int TOP_VIEWED_TASKS_CAPACITY = 100;
+    private static final Comparator<Task> startDateComparator = TaskTimeline.startDateComparator;
 
     private static final String ADD_TASK_INTERSECTION_ERROR_TEXT = "Добавляемая задача пересекается по времени с уже созданными.";
     private static final String UPDATE_TASK_INTERSECTION_ERROR_TEXT = "Обновляемая задача пересекается по времени с уже созданными.";
+    private static final String FREE_SLOTS_ARGUMENTS_ERROR_TEXT = "Некорректные параметры поиска свободного времени.";
+    private static final String RECURRENCE_PERIOD_ERROR_TEXT = "Период повторения задачи должен быть больше её продолжительности.";
+    private static final String DAILY_LOAD_ARGUMENTS_ERROR_TEXT = "Некорректные параметры периода календаря.";
+    private static final String SCHEDULE_ARGUMENTS_ERROR_TEXT = "Некорректные параметры планирования задач.";
 
     private int taskIdSequence;
     private final Map<Integer, Task> tasksStorage;
     private final Map<Integer, Epic> epicsStorage;
     private final Map<Integer, Subtask> subtasksStorage;
-    private final Set<Task> prioritizedTasksStorage;
+    private final Map<Integer, RecurringTask> recurringTasksStorage;
+    private final Map<Integer, Set<Integer>> epicSubtasksStorage;
+    private final NavigableMap<IndexedInterval, Task> prioritizedTasksStorage;
+    private final Map<Integer, IndexedInterval> indexedIntervalsStorage;
+    private final IntervalTree<Task> timeIntervalsStorage;
+    private final CalendarIndex<Task> calendarStorage;
     private final HistoryManager historyManager;
+    private final SpaceSavingCounter viewsCounter;
 
     public InMemoryTaskManager(HistoryManager historyManager) {
         this.taskIdSequence = TASK_ID_INITIAL_VALUE;
@@ -42,181 +62,269 @@ public class InMemoryTaskManager implements TaskManager {
         this.tasksStorage = new HashMap<>();
         this.epicsStorage = new HashMap<>();
         this.subtasksStorage = new HashMap<>();
-        this.prioritizedTasksStorage = new TreeSet<>(startDateComparator);
+        this.recurringTasksStorage = new HashMap<>();
+        this.epicSubtasksStorage = new HashMap<>();
+        this.prioritizedTasksStorage = new TreeMap<>();
+        this.indexedIntervalsStorage = new HashMap<>();
+        this.timeIntervalsStorage = new IntervalTree<>();
+        this.calendarStorage = new CalendarIndex<>();
+        this.viewsCounter = new SpaceSavingCounter(TOP_VIEWED_TASKS_CAPACITY);
     }
 
-    public void setTaskIdSequence(int taskIdSequence) {
+    public synchronized void setTaskIdSequence(int taskIdSequence) {
         this.taskIdSequence = taskIdSequence;
     }
 
-    public int getNextTaskId() {
+    public synchronized int getNextTaskId() {
         return taskIdSequence += TASK_ID_INCREMENT_STEP;
     }
 
     @Override
-    public List<Task> getTasks() {
+    public synchronized List<Task> getTasks() {
         return new ArrayList<>(tasksStorage.values());
     }
 
     @Override
-    public List<Epic> getEpics() {
+    public synchronized List<Epic> getEpics() {
         return new ArrayList<>(epicsStorage.values());
     }
 
     @Override
-    public List<Subtask> getSubtasks() {
+    public synchronized List<Subtask> getSubtasks() {
         return new ArrayList<>(subtasksStorage.values());
     }
 
     @Override
-    public void deleteAllTasks() {
-        tasksStorage.values().forEach(task -> historyManager.remove(task.getId()));
+    public synchronized void deleteAllTasks() {
+        tasksStorage.values().forEach(task -> {
+            forgetViews(task.getId());
+            removeFromTimeIndex(task);
+        });
         tasksStorage.clear();
-        prioritizedTasksStorage.removeIf(task -> !(task instanceof Subtask));
     }
 
     @Override
-    public void deleteAllEpics() {
-        epicsStorage.values().forEach(epic -> historyManager.remove(epic.getId()));
+    public synchronized void deleteAllEpics() {
+        epicsStorage.values().forEach(epic -> forgetViews(epic.getId()));
         epicsStorage.clear();
     }
 
     @Override
-    public void deleteAllSubtasks() {
-        subtasksStorage.values().forEach(subtask -> historyManager.remove(subtask.getId()));
+    public synchronized void deleteAllSubtasks() {
+        subtasksStorage.values().forEach(subtask -> {
+            forgetViews(subtask.getId());
+            removeFromTimeIndex(subtask);
+        });
         subtasksStorage.clear();
-        prioritizedTasksStorage.removeIf(task -> task instanceof Subtask);
+        epicSubtasksStorage.clear();
+        epicsStorage.values().forEach(epic -> epic.setSubtasks(Collections.emptyList()));
     }
 
     @Override
-    public Task getTaskById(int id) {
+    public synchronized Task getTaskById(int id) {
         Task task = tasksStorage.get(id);
-        historyManager.add(task);
+        recordView(task);
         return task;
     }
 
     @Override
-    public Epic getEpicById(int id) {
+    public synchronized Epic getEpicById(int id) {
         Epic epic = epicsStorage.get(id);
-        historyManager.add(epic);
+        recordView(epic);
         return epic;
     }
 
     @Override
-    public Subtask getSubtaskById(int id) {
+    public synchronized Subtask getSubtaskById(int id) {
         Subtask subtask = subtasksStorage.get(id);
-        historyManager.add(subtask);
+        recordView(subtask);
         return subtask;
     }
 
     @Override
-    public boolean addTask(Task task) {
+    public synchronized Task peekTaskById(int id) {
+        return tasksStorage.get(id);
+    }
+
+    @Override
+    public synchronized Epic peekEpicById(int id) {
+        return epicsStorage.get(id);
+    }
+
+    @Override
+    public synchronized Subtask peekSubtaskById(int id) {
+        return subtasksStorage.get(id);
+    }
+
+    @Override
+    public synchronized boolean containsTask(int id) {
+        return tasksStorage.containsKey(id);
+    }
+
+    @Override
+    public synchronized boolean containsEpic(int id) {
+        return epicsStorage.containsKey(id);
+    }
+
+    @Override
+    public synchronized boolean containsSubtask(int id) {
+        return subtasksStorage.containsKey(id);
+    }
+
+    @Override
+    public synchronized boolean addTask(Task task) {
         if (task == null) return false;
-        if(isTaskOverlapping(task)) {
-            throw new IllegalArgumentException(ADD_TASK_INTERSECTION_ERROR_TEXT);
-        }
+        checkTaskOverlapping(task, ADD_TASK_INTERSECTION_ERROR_TEXT);
 
         int id = task.getId();
         Task existingTaskWithThisId = tasksStorage.putIfAbsent(id, task);
-        prioritizedTasksStorage.add(task);
+        if (existingTaskWithThisId == null) {
+            addToTimeIndex(task);
+        }
         return existingTaskWithThisId == null;
     }
 
     @Override
-    public boolean addEpic(Epic epic) {
+    public synchronized boolean addEpic(Epic epic) {
         if (epic == null) return false;
 
         int id = epic.getId();
         Epic existingEpicWithThisId = epicsStorage.putIfAbsent(id, epic);
+        if (existingEpicWithThisId == null) {
+            linkEpicSubtasks(epic);
+        }
         return existingEpicWithThisId == null;
     }
 
     @Override
-    public boolean addSubtask(Subtask subtask) {
+    public synchronized boolean addSubtask(Subtask subtask) {
         if (subtask == null) return false;
-        if(isTaskOverlapping(subtask)) {
-            throw new IllegalArgumentException(ADD_TASK_INTERSECTION_ERROR_TEXT);
-        }
+        checkTaskOverlapping(subtask, ADD_TASK_INTERSECTION_ERROR_TEXT);
 
         int id = subtask.getId();
         Subtask existingSubtaskWithThisId = subtasksStorage.putIfAbsent(id, subtask);
-        prioritizedTasksStorage.add(subtask);
+        if (existingSubtaskWithThisId == null) {
+            addToTimeIndex(subtask);
+            linkSubtaskToEpic(subtask);
+        }
         return existingSubtaskWithThisId == null;
     }
 
     @Override
-    public boolean updateTask(Task task) {
-        if (task == null) return false;
-        if(isTaskOverlapping(task)) {
-            throw new IllegalArgumentException(UPDATE_TASK_INTERSECTION_ERROR_TEXT);
+    public synchronized boolean addTasks(Collection<? extends Task> tasks) {
+        if (tasks == null || tasks.stream().anyMatch(Objects::isNull)) return false;
+        List<Task> sortedTasks = getSortedNotOverlappingBatch(tasks);
+        if (hasStoredOrRepeatedId(sortedTasks, tasksStorage::containsKey)) {
+            return false;
+        }
+
+        for (Task task : sortedTasks) {
+            tasksStorage.put(task.getId(), task);
+            addToTimeIndex(task);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addSubtasks(Collection<? extends Subtask> subtasks) {
+        if (subtasks == null || subtasks.stream().anyMatch(Objects::isNull)) return false;
+        List<Subtask> sortedSubtasks = getSortedNotOverlappingBatch(subtasks);
+        if (hasStoredOrRepeatedId(sortedSubtasks, subtasksStorage::containsKey)) {
+            return false;
+        }
+
+        for (Subtask subtask : sortedSubtasks) {
+            subtasksStorage.put(subtask.getId(), subtask);
+            addToTimeIndex(subtask);
+            linkSubtaskToEpic(subtask);
         }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean updateTask(Task task) {
+        if (task == null) return false;
+        checkTaskOverlapping(task, UPDATE_TASK_INTERSECTION_ERROR_TEXT);
 
         int id = task.getId();
         Task existingTaskWithThisId = tasksStorage.replace(id, task);
-        prioritizedTasksStorage.remove(task);
-        prioritizedTasksStorage.add(task);
+        if (existingTaskWithThisId != null) {
+            removeFromTimeIndex(existingTaskWithThisId);
+            addToTimeIndex(task);
+        }
         return existingTaskWithThisId != null;
     }
 
     @Override
-    public boolean updateEpic(Epic epic) {
+    public synchronized boolean updateEpic(Epic epic) {
         if (epic == null) return false;
 
         int id = epic.getId();
         Epic existingEpicWithThisId = epicsStorage.replace(id, epic);
+        if (existingEpicWithThisId != null) {
+            linkEpicSubtasks(epic);
+        }
         return existingEpicWithThisId != null;
     }
 
     @Override
-    public boolean updateSubtask(Subtask subtask) {
+    public synchronized boolean updateSubtask(Subtask subtask) {
         if (subtask == null) return false;
-        if(isTaskOverlapping(subtask)) {
-            throw new IllegalArgumentException(UPDATE_TASK_INTERSECTION_ERROR_TEXT);
-        }
+        checkTaskOverlapping(subtask, UPDATE_TASK_INTERSECTION_ERROR_TEXT);
 
         int id = subtask.getId();
         Subtask existingSubtaskWithThisId = subtasksStorage.replace(id, subtask);
-        prioritizedTasksStorage.remove(subtask);
-        prioritizedTasksStorage.add(subtask);
+        if (existingSubtaskWithThisId != null) {
+            removeFromTimeIndex(existingSubtaskWithThisId);
+            addToTimeIndex(subtask);
+            if (existingSubtaskWithThisId.getEpicId() != subtask.getEpicId()) {
+                unlinkSubtaskFromEpic(existingSubtaskWithThisId);
+            }
+            linkSubtaskToEpic(subtask);
+        }
         return existingSubtaskWithThisId != null;
     }
 
     @Override
-    public boolean deleteTaskById(int id) {
+    public synchronized boolean deleteTaskById(int id) {
         Task existingTaskWithThisId = tasksStorage.remove(id);
         if (existingTaskWithThisId != null) {
-            prioritizedTasksStorage.remove(existingTaskWithThisId);
-            historyManager.remove(id);
+            removeFromTimeIndex(existingTaskWithThisId);
+            forgetViews(id);
         }
         return existingTaskWithThisId != null;
     }
 
     @Override
-    public boolean deleteEpicById(int id) {
+    public synchronized boolean deleteEpicById(int id) {
         Epic existingEpicWithThisId = epicsStorage.remove(id);
         if (existingEpicWithThisId != null) {
-            for (Subtask subtask : existingEpicWithThisId.getSubtasks()) {
-                int subtaskId = subtask.getId();
-                deleteSubtaskById(subtaskId);
+            Set<Integer> subtasksIds = epicSubtasksStorage.remove(id);
+            if (subtasksIds != null) {
+                for (int subtaskId : subtasksIds) {
+                    removeFromTimeIndex(subtasksStorage.remove(subtaskId));
+                    forgetViews(subtaskId);
+                }
             }
-            historyManager.remove(id);
+            forgetViews(id);
         }
         return existingEpicWithThisId != null;
     }
 
     @Override
-    public boolean deleteSubtaskById(int id) {
+    public synchronized boolean deleteSubtaskById(int id) {
         Subtask existingSubtaskWithThisId = subtasksStorage.remove(id);
         if (existingSubtaskWithThisId != null) {
-            prioritizedTasksStorage.remove(existingSubtaskWithThisId);
-            historyManager.remove(id);
+            removeFromTimeIndex(existingSubtaskWithThisId);
+            unlinkSubtaskFromEpic(existingSubtaskWithThisId);
+            forgetViews(id);
         }
         return existingSubtaskWithThisId != null;
     }
 
     @Override
-    public List<Subtask> getEpicSubtasksById(int id) {
-        Epic epic = getEpicById(id);
+    public synchronized List<Subtask> getEpicSubtasksById(int id) {
+        Epic epic = epicsStorage.get(id);
         if (epic != null) {
             return epic.getSubtasks();
         }
@@ -224,17 +332,152 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     @Override
-    public List<Task> getHistory() {
+    public synchronized List<Task> getHistory() {
         return historyManager.getHistory();
     }
 
     @Override
-    public List<Task> getPrioritizedTasks() {
+    public synchronized List<Task> getTopViewedTasks(int limit) {
+        List<Task> tasks = new ArrayList<>();
+        for (int id : viewsCounter.getTop(limit)) {
+            Task task = tasksStorage.get(id);
+            if (task == null) {
+                task = epicsStorage.get(id);
+            }
+            if (task == null) {
+                task = subtasksStorage.get(id);
+            }
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
         List<Task> prioritizedTasks = new ArrayList<>(prioritizedTasksStorage.size());
-        prioritizedTasks.addAll(prioritizedTasksStorage);
+        prioritizedTasks.addAll(prioritizedTasksStorage.values());
+        return prioritizedTasks;
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        long fromMinutes = from == null ? Long.MIN_VALUE : DateTimeConverter.toEpochMinutes(from);
+        long toMinutes = to == null ? Long.MAX_VALUE : DateTimeConverter.toEpochMinutes(to);
+        if (fromMinutes > toMinutes) {
+            return Collections.emptyList();
+        }
+
+        List<Task> prioritizedTasks = timeIntervalsStorage.getOverlapping(fromMinutes, toMinutes);
+        if (recurringTasksStorage.isEmpty()) {
+            return prioritizedTasks;
+        }
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (recurringTask.isOverlapping(fromMinutes, toMinutes)) {
+                prioritizedTasks.add(recurringTask);
+            }
+        }
+        prioritizedTasks.sort(Comparator
+                .comparingLong((Task task) -> TaskTimeline.getFirstOccurrenceStartMinutes(task, fromMinutes))
+                .thenComparingInt(Task::getId));
         return prioritizedTasks;
     }
 
+    @Override
+    public synchronized List<TimeSlot> findFreeSlots(int durationMinutes, LocalDateTime from, LocalDateTime to, int limit) {
+        if (durationMinutes < 0 || limit <= 0 || from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(FREE_SLOTS_ARGUMENTS_ERROR_TEXT);
+        }
+
+        return TaskTimeline.findFreeSlots(this::forEachTimedInterval, recurringTasksStorage.values(), durationMinutes,
+                DateTimeConverter.toEpochMinutes(from), DateTimeConverter.toEpochMinutes(to), limit);
+    }
+
+    @Override
+    public synchronized List<DayLoad> getDailyLoad(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(DAILY_LOAD_ARGUMENTS_ERROR_TEXT);
+        }
+
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        int daysCount = (int) (toDay - fromDay + 1);
+        int[] tasksCounts = new int[daysCount];
+        long[] bookedMinutes = new long[daysCount];
+        for (int i = 0; i < daysCount; i++) {
+            tasksCounts[i] = calendarStorage.getCount(fromDay + i);
+            bookedMinutes[i] = calendarStorage.getBookedMinutes(fromDay + i);
+        }
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            TaskTimeline.addOccurrencesLoad(recurringTask, fromDay, toDay, tasksCounts, bookedMinutes);
+        }
+
+        List<DayLoad> dailyLoad = new ArrayList<>(daysCount);
+        for (int i = 0; i < daysCount; i++) {
+            dailyLoad.add(new DayLoad(LocalDate.ofEpochDay(fromDay + i), tasksCounts[i], bookedMinutes[i]));
+        }
+        return dailyLoad;
+    }
+
+    @Override
+    public synchronized List<Task> getTasksByDate(LocalDate date) {
+        if (date == null) {
+            return Collections.emptyList();
+        }
+        long epochDay = date.toEpochDay();
+        List<Task> tasks = calendarStorage.getValues(epochDay);
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (TaskTimeline.hasOccurrenceOnDay(recurringTask, epochDay)) {
+                tasks.add(recurringTask);
+            }
+        }
+        tasks.sort(startDateComparator);
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> scheduleTasks(Collection<? extends Task> tasks, LocalDateTime from, LocalDateTime to,
+                                    SchedulingStrategy strategy) {
+        if (tasks == null || strategy == null || from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(SCHEDULE_ARGUMENTS_ERROR_TEXT);
+        }
+
+        return TaskTimeline.scheduleTasks(tasks, DateTimeConverter.toEpochMinutes(from),
+                DateTimeConverter.toEpochMinutes(to), strategy, this, this::forEachTimedInterval,
+                recurringTasksStorage.values());
+    }
+
+    @Override
+    public synchronized List<Task> getOverlappingTasks(Task task) {
+        if (task == null) {
+            return Collections.emptyList();
+        }
+        int taskId = task.getId();
+        List<Task> overlappingTasks = new ArrayList<>();
+        if (task instanceof RecurringTask) {
+            RecurringTask recurringTask = (RecurringTask) task;
+            timeIntervalsStorage.forEachOverlapping(task.getStartMinutes(), Long.MAX_VALUE, savedTask -> {
+                if (savedTask.getId() != taskId
+                        && recurringTask.isOverlapping(savedTask.getStartMinutes(), savedTask.getEndMinutes())) {
+                    overlappingTasks.add(savedTask);
+                }
+                return true;
+            });
+        } else {
+            timeIntervalsStorage.getOverlapping(task.getStartMinutes(), task.getEndMinutes()).stream()
+                    .filter(savedTask -> savedTask.getId() != taskId)
+                    .forEach(overlappingTasks::add);
+        }
+
+        for (RecurringTask savedTask : recurringTasksStorage.values()) {
+            if (savedTask.getId() != taskId && TaskTimeline.areOverlapping(savedTask, task)) {
+                overlappingTasks.add(savedTask);
+            }
+        }
+        return overlappingTasks;
+    }
+
     protected HistoryManager getHistoryManager() {
         return historyManager;
     }
@@ -259,16 +502,173 @@ public class InMemoryTaskManager implements TaskManager {
         return tasks;
     }
 
-    private boolean isTaskOverlapping(Task addedTask) {
-        if(addedTask == null) {
-            return false;
+    private void recordView(Task task) {
+        historyManager.add(task);
+        if (task != null) {
+            viewsCounter.add(task.getId());
+        }
+    }
+
+    protected void forgetViews(int id) {
+        historyManager.remove(id);
+        viewsCounter.remove(id);
+    }
+
+    private void checkTaskOverlapping(Task addedTask, String errorText) {
+        checkRecurrencePeriod(addedTask);
+        if (hasOverlappingTasks(addedTask)) {
+            throw new TaskOverlappingException(errorText, getOverlappingTasks(addedTask));
+        }
+    }
+
+    private void checkRecurrencePeriod(Task task) {
+        if (task instanceof RecurringTask && ((RecurringTask) task).getPeriod() <= task.getDuration()) {
+            throw new IllegalArgumentException(RECURRENCE_PERIOD_ERROR_TEXT);
+        }
+    }
+
+    private boolean hasOverlappingTasks(Task task) {
+        if (task instanceof RecurringTask) {
+            return !getOverlappingTasks(task).isEmpty();
+        }
+        if (timeIntervalsStorage.isOverlapping(task.getStartMinutes(), task.getEndMinutes(), task.getId())) {
+            return true;
+        }
+        for (RecurringTask recurringTask : recurringTasksStorage.values()) {
+            if (recurringTask.getId() != task.getId() && TaskTimeline.areOverlapping(recurringTask, task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasStoredOrRepeatedId(List<? extends Task> batch, IntPredicate isStored) {
+        Set<Integer> batchIds = new HashSet<>();
+        for (Task task : batch) {
+            if (isStored.test(task.getId()) || !batchIds.add(task.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T extends Task> List<T> getSortedNotOverlappingBatch(Collection<? extends T> batch) {
+        List<T> sortedBatch = new ArrayList<>(batch);
+        sortedBatch.sort(startDateComparator);
+
+        Set<Task> overlappingTasks = new LinkedHashSet<>();
+        List<RecurringTask> recurringBatch = new ArrayList<>();
+        Task latestEndingTask = null;
+        for (T task : sortedBatch) {
+            checkRecurrencePeriod(task);
+            if (task instanceof RecurringTask) {
+                recurringBatch.add((RecurringTask) task);
+                continue;
+            }
+            if (latestEndingTask != null && latestEndingTask.getId() != task.getId()
+                    && task.getStartMinutes() <= latestEndingTask.getEndMinutes()) {
+                overlappingTasks.add(latestEndingTask);
+                overlappingTasks.add(task);
+            }
+            if (latestEndingTask == null || task.getEndMinutes() > latestEndingTask.getEndMinutes()) {
+                latestEndingTask = task;
+            }
+            if (hasOverlappingTasks(task)) {
+                overlappingTasks.addAll(getOverlappingTasks(task));
+            }
+        }
+        for (RecurringTask recurringTask : recurringBatch) {
+            overlappingTasks.addAll(getOverlappingTasks(recurringTask));
+            for (T task : sortedBatch) {
+                if (task.getId() != recurringTask.getId() && TaskTimeline.areOverlapping(recurringTask, task)) {
+                    overlappingTasks.add(task);
+                }
+            }
+        }
+
+        if (!overlappingTasks.isEmpty()) {
+            throw new TaskOverlappingException(ADD_TASK_INTERSECTION_ERROR_TEXT, new ArrayList<>(overlappingTasks));
+        }
+        return sortedBatch;
+    }
+
+    private void linkEpicSubtasks(Epic epic) {
+        Set<Integer> subtasksIds = epicSubtasksStorage.getOrDefault(epic.getId(), Collections.emptySet());
+        for (int subtaskId : subtasksIds) {
+            Subtask subtask = subtasksStorage.get(subtaskId);
+            if (!epic.updateSubtask(subtask)) {
+                epic.addSubtask(subtask);
+            }
+        }
+    }
+
+    private void linkSubtaskToEpic(Subtask subtask) {
+        int epicId = subtask.getEpicId();
+        epicSubtasksStorage.computeIfAbsent(epicId, id -> new LinkedHashSet<>()).add(subtask.getId());
+        Epic epic = epicsStorage.get(epicId);
+        if (epic != null && !epic.updateSubtask(subtask)) {
+            epic.addSubtask(subtask);
+        }
+    }
+
+    private void unlinkSubtaskFromEpic(Subtask subtask) {
+        int epicId = subtask.getEpicId();
+        Set<Integer> subtasksIds = epicSubtasksStorage.get(epicId);
+        if (subtasksIds != null && subtasksIds.remove(subtask.getId()) && subtasksIds.isEmpty()) {
+            epicSubtasksStorage.remove(epicId);
+        }
+        Epic epic = epicsStorage.get(epicId);
+        if (epic != null) {
+            epic.removeSubtask(subtask.getId());
+        }
+    }
+
+    private void addToTimeIndex(Task task) {
+        IndexedInterval interval = new IndexedInterval(task.getStartMinutes(), task.getEndMinutes(), task.getId());
+        indexedIntervalsStorage.put(task.getId(), interval);
+        prioritizedTasksStorage.put(interval, task);
+        if (task instanceof RecurringTask) {
+            recurringTasksStorage.put(task.getId(), (RecurringTask) task);
+            return;
+        }
+        timeIntervalsStorage.add(interval.start, interval.end, interval.id, task);
+        calendarStorage.add(interval.start, interval.end, interval.id, task);
+    }
+
+    private void removeFromTimeIndex(Task task) {
+        IndexedInterval interval = indexedIntervalsStorage.remove(task.getId());
+        if (interval == null) {
+            return;
+        }
+        prioritizedTasksStorage.remove(interval);
+        if (task instanceof RecurringTask) {
+            recurringTasksStorage.remove(interval.id);
+            return;
+        }
+        timeIntervalsStorage.remove(interval.start, interval.id);
+        calendarStorage.remove(interval.start, interval.end, interval.id);
+    }
+
+    private void forEachTimedInterval(long fromMinutes, long toMinutes, TaskTimeline.IntervalVisitor visitor) {
+        timeIntervalsStorage.forEachOverlapping(fromMinutes, toMinutes,
+                task -> visitor.visit(task.getStartMinutes(), task.getEndMinutes()));
+    }
+
+    private static class IndexedInterval implements Comparable<IndexedInterval> {
+        private final long start;
+        private final long end;
+        private final int id;
+
+        private IndexedInterval(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(IndexedInterval other) {
+            int comparison = Long.compare(start, other.start);
+            return comparison != 0 ? comparison : Integer.compare(id, other.id);
         }
-        int addedTaskId = addedTask.getId();
-        LocalDateTime addedTaskStartTime = addedTask.getStartTime();
-        LocalDateTime addedTaskEndTime = addedTask.getEndTime();
-        return prioritizedTasksStorage.stream()
-                .anyMatch(savedTask -> addedTaskId != savedTask.getId() &&
-                        addedTaskStartTime.compareTo(savedTask.getEndTime()) <= 0 &&
-                        savedTask.getStartTime().compareTo(addedTaskEndTime) <= 0);
     }
 }
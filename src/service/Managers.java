@@ -11,8 +11,16 @@ public class Managers {
         return new InMemoryHistoryManager();
     }
 
+    public static HistoryManager getDefaultHistory(int capacity) {
+        return new InMemoryHistoryManager(capacity);
+    }
+
+    public static HistoryManager getSessionHistory() {
+        return new SessionHistoryManager();
+    }
+
     public static TaskManager getDefault() {
-        return HTTPTaskManager.loadFromServer(HOST, API_KEY);
+        return HTTPTaskManager.loadFromServer(HOST, API_KEY, new AsyncHistoryManager(getSessionHistory()));
     }
 
     public static TaskManager getStateFull() {
@@ -0,0 +1,162 @@
+package service;
+
+import model.Task;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+public class SessionHistoryManager implements SharedHistoryManager {
+    public static final int DEFAULT_MAX_SESSIONS = 100_000;
+    public static final Duration DEFAULT_SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final ThreadLocal<String> currentSession = new ThreadLocal<>();
+
+    private final int sessionHistoryCapacity;
+    private final int maxSessions;
+    private final long sessionIdleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final HistoryManager sharedHistory;
+    private final LinkedHashMap<String, SessionHistory> sessionsHistory;
+    private final Map<Integer, Set<SessionHistory>> sessionsHistoryByTaskId;
+
+    public SessionHistoryManager() {
+        this(InMemoryHistoryManager.DEFAULT_HISTORY_CAPACITY, DEFAULT_MAX_SESSIONS, DEFAULT_SESSION_IDLE_TIMEOUT,
+                System::nanoTime);
+    }
+
+    public SessionHistoryManager(int sessionHistoryCapacity, int maxSessions, Duration sessionIdleTimeout,
+                                 LongSupplier nanoClock) {
+        this.sessionHistoryCapacity = sessionHistoryCapacity;
+        this.maxSessions = maxSessions;
+        this.sessionIdleTimeoutNanos = sessionIdleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.sharedHistory = new InMemoryHistoryManager(sessionHistoryCapacity);
+        this.sessionsHistoryByTaskId = new HashMap<>();
+        this.sessionsHistory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SessionHistory> eldest) {
+                if (size() > SessionHistoryManager.this.maxSessions) {
+                    unindexSession(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static void bindSession(String session) {
+        currentSession.set(session);
+    }
+
+    public static void unbindSession() {
+        currentSession.remove();
+    }
+
+    public static String getCurrentSession() {
+        return currentSession.get();
+    }
+
+    @Override
+    public boolean isRecordingSharedHistory() {
+        return getCurrentSession() == null;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        if (getCurrentSession() == null) {
+            sharedHistory.add(task);
+            return;
+        }
+
+        SessionHistory sessionHistory = getCurrentSessionHistory();
+        sessionHistory.history.add(task);
+        if (task != null) {
+            sessionsHistoryByTaskId.computeIfAbsent(task.getId(), id -> new HashSet<>()).add(sessionHistory);
+        }
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        sharedHistory.remove(id);
+        Set<SessionHistory> sessionsHistoryWithTask = sessionsHistoryByTaskId.remove(id);
+        if (sessionsHistoryWithTask != null) {
+            for (SessionHistory sessionHistory : sessionsHistoryWithTask) {
+                sessionHistory.history.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        if (getCurrentSession() == null) {
+            return sharedHistory.getHistory();
+        }
+        return getCurrentSessionHistory().history.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getSharedHistory() {
+        return sharedHistory.getHistory();
+    }
+
+    public synchronized int getSessionsCount() {
+        evictIdleSessions(nanoClock.getAsLong());
+        return sessionsHistory.size();
+    }
+
+    private SessionHistory getCurrentSessionHistory() {
+        String session = currentSession.get();
+        long now = nanoClock.getAsLong();
+        evictIdleSessions(now);
+        SessionHistory sessionHistory = sessionsHistory.get(session);
+        if (sessionHistory == null) {
+            sessionHistory = new SessionHistory(sessionHistoryCapacity);
+            sessionsHistory.put(session, sessionHistory);
+        }
+        sessionHistory.lastAccessNanos = now;
+        return sessionHistory;
+    }
+
+    private void evictIdleSessions(long now) {
+        Iterator<SessionHistory> iterator = sessionsHistory.values().iterator();
+        while (iterator.hasNext()) {
+            SessionHistory sessionHistory = iterator.next();
+            if (now - sessionHistory.lastAccessNanos < sessionIdleTimeoutNanos) {
+                break;
+            }
+            iterator.remove();
+            unindexSession(sessionHistory);
+        }
+    }
+
+    private void unindexSession(SessionHistory sessionHistory) {
+        for (Task task : sessionHistory.history.getHistory()) {
+            unindexTask(task.getId(), sessionHistory);
+        }
+    }
+
+    private void unindexTask(int id, SessionHistory sessionHistory) {
+        Set<SessionHistory> sessionsHistoryWithTask = sessionsHistoryByTaskId.get(id);
+        if (sessionsHistoryWithTask != null) {
+            sessionsHistoryWithTask.remove(sessionHistory);
+            if (sessionsHistoryWithTask.isEmpty()) {
+                sessionsHistoryByTaskId.remove(id);
+            }
+        }
+    }
+
+    private class SessionHistory {
+        private final HistoryManager history;
+        private long lastAccessNanos;
+
+        private SessionHistory(int capacity) {
+            this.history = new InMemoryHistoryManager(capacity, id -> unindexTask(id, this));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package service;
+
+import model.Task;
+
+import java.util.List;
+
+public interface SharedHistoryManager extends HistoryManager {
+    List<Task> getSharedHistory();
+
+    boolean isRecordingSharedHistory();
+
+    static List<Task> getSharedHistory(HistoryManager historyManager) {
+        if (historyManager instanceof SharedHistoryManager) {
+            return ((SharedHistoryManager) historyManager).getSharedHistory();
+        }
+        return historyManager.getHistory();
+    }
+
+    static boolean isRecordingSharedHistory(HistoryManager historyManager) {
+        if (historyManager instanceof SharedHistoryManager) {
+            return ((SharedHistoryManager) historyManager).isRecordingSharedHistory();
+        }
+        return true;
+    }
+}
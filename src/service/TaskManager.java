@@ -1,9 +1,15 @@
 package service;
 
+import model.DayLoad;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TimeSlot;
+import utils.SchedulingStrategy;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskManager {
@@ -27,12 +33,28 @@ public interface TaskManager {
 
     Subtask getSubtaskById(int id);
 
+    Task peekTaskById(int id);
+
+    Epic peekEpicById(int id);
+
+    Subtask peekSubtaskById(int id);
+
+    boolean containsTask(int id);
+
+    boolean containsEpic(int id);
+
+    boolean containsSubtask(int id);
+
     boolean addTask(Task task);
 
     boolean addEpic(Epic epic);
 
     boolean addSubtask(Subtask subtask);
 
+    boolean addTasks(Collection<? extends Task> tasks);
+
+    boolean addSubtasks(Collection<? extends Subtask> subtasks);
+
     boolean updateTask(Task task);
 
     boolean updateEpic(Epic epic);
@@ -49,5 +71,20 @@ public interface TaskManager {
 
     List<Task> getHistory();
 
+    List<Task> getTopViewedTasks(int limit);
+
     List<Task> getPrioritizedTasks();
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    List<Task> getOverlappingTasks(Task task);
+
+    List<TimeSlot> findFreeSlots(int durationMinutes, LocalDateTime from, LocalDateTime to, int limit);
+
+    List<DayLoad> getDailyLoad(LocalDate from, LocalDate to);
+
+    List<Task> getTasksByDate(LocalDate date);
+
+    List<Task> scheduleTasks(Collection<? extends Task> tasks, LocalDateTime from, LocalDateTime to,
+                             SchedulingStrategy strategy);
 }
@@ -0,0 +1,165 @@
+package service;
+
+import utils.SchedulingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+class TaskScheduler {
+    static final long NOT_PLACED = Long.MIN_VALUE;
+
+    private static final long EXHAUSTED_GAP_LENGTH = -1L;
+    private static final Comparator<Gap> gapLengthComparator = Comparator
+            .comparingLong(Gap::getLength)
+            .thenComparingInt(gap -> gap.index);
+
+    private final SchedulingStrategy strategy;
+    private final Gap[] gaps;
+    private final long[] maxGapLengths;
+    private final int leavesOffset;
+    private final List<TreeSet<Gap>> gapsByLength = new ArrayList<>();
+
+    TaskScheduler(SchedulingStrategy strategy, List<long[]> freeIntervals) {
+        this.strategy = strategy;
+        this.gaps = new Gap[freeIntervals.size()];
+        for (int i = 0; i < gaps.length; i++) {
+            long[] interval = freeIntervals.get(i);
+            gaps[i] = new Gap(interval[0], interval[1], i);
+        }
+
+        int leavesCount = 1;
+        while (leavesCount < gaps.length) {
+            leavesCount <<= 1;
+        }
+        this.leavesOffset = leavesCount;
+        this.maxGapLengths = new long[2 * leavesCount];
+        Arrays.fill(maxGapLengths, EXHAUSTED_GAP_LENGTH);
+        if (strategy == SchedulingStrategy.BEST_FIT) {
+            for (int node = 0; node < 2 * leavesCount; node++) {
+                gapsByLength.add(new TreeSet<>(gapLengthComparator));
+            }
+        }
+
+        for (Gap gap : gaps) {
+            maxGapLengths[leavesOffset + gap.index] = gap.getLength();
+            if (strategy == SchedulingStrategy.BEST_FIT) {
+                addGapByLength(gap);
+            }
+        }
+        for (int node = leavesOffset - 1; node > 0; node--) {
+            maxGapLengths[node] = Math.max(maxGapLengths[2 * node], maxGapLengths[2 * node + 1]);
+        }
+    }
+
+    long place(long durationMinutes, long windowStart, long windowEnd) {
+        int firstGapIndex = findFirstGapEndingAfter(windowStart);
+        int lastGapIndex = findFirstGapEndingAfter(windowEnd + 1) - 1;
+        int index = strategy == SchedulingStrategy.BEST_FIT
+                ? findBestFitGap(1, 0, leavesOffset - 1, firstGapIndex, lastGapIndex, durationMinutes)
+                : findLeftmostGap(1, 0, leavesOffset - 1, firstGapIndex, lastGapIndex, durationMinutes);
+        if (index < 0) {
+            return NOT_PLACED;
+        }
+
+        Gap gap = gaps[index];
+        long startMinutes = gap.start;
+        if (strategy == SchedulingStrategy.BEST_FIT) {
+            removeGapByLength(gap);
+        }
+        gap.start = startMinutes + durationMinutes + 1;
+        if (strategy == SchedulingStrategy.BEST_FIT && gap.getLength() >= 0) {
+            addGapByLength(gap);
+        }
+        updateMaxGapLength(gap);
+
+        return startMinutes;
+    }
+
+    private int findBestFitGap(int node, int nodeFrom, int nodeTo, int firstGapIndex, int lastGapIndex,
+                               long durationMinutes) {
+        if (nodeTo < firstGapIndex || nodeFrom > lastGapIndex || maxGapLengths[node] < durationMinutes) {
+            return -1;
+        }
+        if (firstGapIndex <= nodeFrom && nodeTo <= lastGapIndex) {
+            Gap gap = gapsByLength.get(node).ceiling(new Gap(0, durationMinutes, -1));
+            return gap == null ? -1 : gap.index;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        int leftIndex = findBestFitGap(2 * node, nodeFrom, middle, firstGapIndex, lastGapIndex, durationMinutes);
+        int rightIndex = findBestFitGap(2 * node + 1, middle + 1, nodeTo, firstGapIndex, lastGapIndex,
+                durationMinutes);
+        if (leftIndex < 0 || rightIndex < 0) {
+            return Math.max(leftIndex, rightIndex);
+        }
+        return gapLengthComparator.compare(gaps[leftIndex], gaps[rightIndex]) <= 0 ? leftIndex : rightIndex;
+    }
+
+    private int findLeftmostGap(int node, int nodeFrom, int nodeTo, int firstGapIndex, int lastGapIndex,
+                                long durationMinutes) {
+        if (nodeTo < firstGapIndex || nodeFrom > lastGapIndex || maxGapLengths[node] < durationMinutes) {
+            return -1;
+        }
+        if (nodeFrom == nodeTo) {
+            return nodeFrom;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        int index = findLeftmostGap(2 * node, nodeFrom, middle, firstGapIndex, lastGapIndex, durationMinutes);
+        if (index >= 0) {
+            return index;
+        }
+        return findLeftmostGap(2 * node + 1, middle + 1, nodeTo, firstGapIndex, lastGapIndex, durationMinutes);
+    }
+
+    private int findFirstGapEndingAfter(long windowStart) {
+        int from = 0;
+        int to = gaps.length;
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (gaps[middle].end < windowStart) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    private void addGapByLength(Gap gap) {
+        for (int node = leavesOffset + gap.index; node > 0; node >>= 1) {
+            gapsByLength.get(node).add(gap);
+        }
+    }
+
+    private void removeGapByLength(Gap gap) {
+        for (int node = leavesOffset + gap.index; node > 0; node >>= 1) {
+            gapsByLength.get(node).remove(gap);
+        }
+    }
+
+    private void updateMaxGapLength(Gap gap) {
+        int node = leavesOffset + gap.index;
+        maxGapLengths[node] = Math.max(gap.getLength(), EXHAUSTED_GAP_LENGTH);
+        for (node >>= 1; node > 0; node >>= 1) {
+            maxGapLengths[node] = Math.max(maxGapLengths[2 * node], maxGapLengths[2 * node + 1]);
+        }
+    }
+
+    private static class Gap {
+        private final long end;
+        private final int index;
+        private long start;
+
+        private Gap(long start, long end, int index) {
+            this.start = start;
+            this.end = end;
+            this.index = index;
+        }
+
+        private long getLength() {
+            return end - start;
+        }
+    }
+}
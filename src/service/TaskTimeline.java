@@ -0,0 +1,263 @@
+package service;
+
+import model.Epic;
+import model.RecurringTask;
+import model.Subtask;
+import model.Task;
+import model.TimeSlot;
+import utils.CalendarIndex;
+import utils.DateTimeConverter;
+import utils.SchedulingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+class TaskTimeline {
+    static final Comparator<Task> startDateComparator = Comparator
+            .comparingLong(Task::getStartMinutes)
+            .thenComparingInt(Task::getId);
+
+    static boolean areOverlapping(Task firstTask, Task secondTask) {
+        if (firstTask instanceof RecurringTask && secondTask instanceof RecurringTask) {
+            return ((RecurringTask) firstTask).isOverlapping((RecurringTask) secondTask);
+        }
+        if (firstTask instanceof RecurringTask) {
+            return ((RecurringTask) firstTask).isOverlapping(secondTask.getStartMinutes(), secondTask.getEndMinutes());
+        }
+        if (secondTask instanceof RecurringTask) {
+            return ((RecurringTask) secondTask).isOverlapping(firstTask.getStartMinutes(), firstTask.getEndMinutes());
+        }
+        return firstTask.getStartMinutes() <= secondTask.getEndMinutes()
+                && secondTask.getStartMinutes() <= firstTask.getEndMinutes();
+    }
+
+    static long getFirstOccurrenceStartMinutes(Task task, long fromMinutes) {
+        if (task instanceof RecurringTask) {
+            RecurringTask recurringTask = (RecurringTask) task;
+            return recurringTask.getOccurrenceStartMinutes(recurringTask.getFirstOccurrenceIndex(fromMinutes));
+        }
+        return task.getStartMinutes();
+    }
+
+    static List<TimeSlot> findFreeSlots(IntervalIndex intervals, Collection<RecurringTask> recurringTasks,
+                                        int durationMinutes, long fromMinutes, long toMinutes, int limit) {
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        long[] freeSlotStart = {fromMinutes};
+
+        forEachBusyInterval(intervals, recurringTasks, fromMinutes, toMinutes, (startMinutes, endMinutes) -> {
+            addFreeSlot(freeSlots, freeSlotStart[0], startMinutes - 1, durationMinutes);
+            freeSlotStart[0] = Math.max(freeSlotStart[0], endMinutes + 1);
+            return freeSlots.size() < limit;
+        });
+        if (freeSlots.size() < limit) {
+            addFreeSlot(freeSlots, freeSlotStart[0], toMinutes, durationMinutes);
+        }
+
+        return freeSlots;
+    }
+
+    static List<Task> scheduleTasks(Collection<? extends Task> tasks, long fromMinutes, long toMinutes,
+                                    SchedulingStrategy strategy, TaskManager taskManager, IntervalIndex intervals,
+                                    Collection<RecurringTask> recurringTasks) {
+        List<Task> unscheduledTasks = new ArrayList<>();
+        List<long[]> schedulingWindows = new ArrayList<>();
+        TreeSet<Long> windowBounds = new TreeSet<>();
+        Set<Integer> unscheduledTasksId = new HashSet<>();
+        for (Task task : tasks) {
+            if (task == null || task instanceof Epic || task instanceof RecurringTask || task.getStartTime() != null
+                    || isStored(task, taskManager) || !unscheduledTasksId.add(task.getId())) {
+                continue;
+            }
+            long[] schedulingWindow = getSchedulingWindow(task, fromMinutes, toMinutes, taskManager::peekEpicById);
+            unscheduledTasks.add(task);
+            schedulingWindows.add(schedulingWindow);
+            windowBounds.add(schedulingWindow[0]);
+            windowBounds.add(schedulingWindow[1] + 1);
+        }
+
+        TaskScheduler taskScheduler = new TaskScheduler(strategy,
+                getFreeIntervals(intervals, recurringTasks, fromMinutes, toMinutes, windowBounds));
+        List<Task> placedTasks = new ArrayList<>();
+        List<Task> placedSimpleTasks = new ArrayList<>();
+        List<Subtask> placedSubtasks = new ArrayList<>();
+        for (int i = 0; i < unscheduledTasks.size(); i++) {
+            Task task = unscheduledTasks.get(i);
+            long[] schedulingWindow = schedulingWindows.get(i);
+            long startMinutes = taskScheduler.place(task.getDuration(), schedulingWindow[0], schedulingWindow[1]);
+            if (startMinutes == TaskScheduler.NOT_PLACED) {
+                continue;
+            }
+
+            Task placedTask = task.copy();
+            placedTask.setStartTime(DateTimeConverter.fromEpochMinutes(startMinutes));
+            if (placedTask instanceof Subtask) {
+                placedSubtasks.add((Subtask) placedTask);
+            } else {
+                placedSimpleTasks.add(placedTask);
+            }
+            placedTasks.add(task);
+        }
+
+        boolean areSimpleTasksAdded = !placedSimpleTasks.isEmpty() && taskManager.addTasks(placedSimpleTasks);
+        boolean areSubtasksAdded = !placedSubtasks.isEmpty() && taskManager.addSubtasks(placedSubtasks);
+        Iterator<Task> placedSimpleTasksIterator = placedSimpleTasks.iterator();
+        Iterator<Subtask> placedSubtasksIterator = placedSubtasks.iterator();
+        List<Task> scheduledTasks = new ArrayList<>();
+        for (Task task : placedTasks) {
+            boolean isSubtask = task instanceof Subtask;
+            Task placedTask = isSubtask ? placedSubtasksIterator.next() : placedSimpleTasksIterator.next();
+            if (isSubtask ? areSubtasksAdded : areSimpleTasksAdded) {
+                task.setStartTime(placedTask.getStartTime());
+                scheduledTasks.add(task);
+            }
+        }
+        return scheduledTasks;
+    }
+
+    static void addOccurrencesLoad(RecurringTask recurringTask, long fromDay, long toDay,
+                                   int[] tasksCounts, long[] bookedMinutes) {
+        long fromMinutes = fromDay * CalendarIndex.MINUTES_PER_DAY;
+        long toMinutes = (toDay + 1) * CalendarIndex.MINUTES_PER_DAY - 1;
+        long lastCountedDay = fromDay - 1;
+        for (long index = recurringTask.getFirstOccurrenceIndex(fromMinutes); ; index++) {
+            long startMinutes = recurringTask.getOccurrenceStartMinutes(index);
+            if (startMinutes > toMinutes) {
+                break;
+            }
+            long endMinutes = startMinutes + recurringTask.getDuration();
+            long firstDay = Math.max(fromDay, CalendarIndex.getFirstDay(startMinutes));
+            long lastDay = Math.min(toDay, CalendarIndex.getLastDay(startMinutes, endMinutes));
+            for (long day = firstDay; day <= lastDay; day++) {
+                bookedMinutes[(int) (day - fromDay)] += CalendarIndex.getMinutesInDay(startMinutes, endMinutes, day);
+                if (day > lastCountedDay) {
+                    tasksCounts[(int) (day - fromDay)] += 1;
+                    lastCountedDay = day;
+                }
+            }
+        }
+    }
+
+    static boolean hasOccurrenceOnDay(RecurringTask recurringTask, long epochDay) {
+        long dayStartMinutes = epochDay * CalendarIndex.MINUTES_PER_DAY;
+        long index = recurringTask.getFirstOccurrenceIndex(dayStartMinutes);
+        long startMinutes = recurringTask.getOccurrenceStartMinutes(index);
+        if (recurringTask.getDuration() > 0 && startMinutes + recurringTask.getDuration() == dayStartMinutes) {
+            startMinutes = recurringTask.getOccurrenceStartMinutes(index + 1);
+        }
+        return startMinutes < dayStartMinutes + CalendarIndex.MINUTES_PER_DAY;
+    }
+
+    private static boolean isStored(Task task, TaskManager taskManager) {
+        if (task instanceof Subtask) {
+            return taskManager.containsSubtask(task.getId());
+        }
+        return taskManager.containsTask(task.getId());
+    }
+
+    private static long[] getSchedulingWindow(Task task, long fromMinutes, long toMinutes,
+                                              IntFunction<Epic> epics) {
+        long windowStart = fromMinutes;
+        long windowEnd = toMinutes;
+        if (task instanceof Subtask) {
+            Epic epic = epics.apply(((Subtask) task).getEpicId());
+            if (epic != null && epic.getStartTime() != null) {
+                windowStart = Math.max(windowStart, DateTimeConverter.toEpochMinutes(epic.getStartTime()));
+                windowEnd = Math.min(windowEnd, DateTimeConverter.toEpochMinutes(epic.getEndTime()));
+            }
+        }
+        return new long[]{windowStart, windowEnd};
+    }
+
+    private static List<long[]> getFreeIntervals(IntervalIndex intervals, Collection<RecurringTask> recurringTasks,
+                                                 long fromMinutes, long toMinutes, TreeSet<Long> splitPoints) {
+        List<long[]> freeIntervals = new ArrayList<>();
+        long[] freeIntervalStart = {fromMinutes};
+
+        forEachBusyInterval(intervals, recurringTasks, fromMinutes, toMinutes, (startMinutes, endMinutes) -> {
+            addFreeInterval(freeIntervals, freeIntervalStart[0], startMinutes - 1, splitPoints);
+            freeIntervalStart[0] = Math.max(freeIntervalStart[0], endMinutes + 1);
+            return true;
+        });
+        addFreeInterval(freeIntervals, freeIntervalStart[0], toMinutes, splitPoints);
+
+        return freeIntervals;
+    }
+
+    private static void forEachBusyInterval(IntervalIndex intervals, Collection<RecurringTask> recurringTasksStorage,
+                                            long fromMinutes, long toMinutes, IntervalVisitor visitor) {
+        List<RecurringTask> recurringTasks = new ArrayList<>(recurringTasksStorage);
+        PriorityQueue<long[]> occurrences = new PriorityQueue<>(Comparator.comparingLong(occurrence -> occurrence[0]));
+        for (int i = 0; i < recurringTasks.size(); i++) {
+            RecurringTask recurringTask = recurringTasks.get(i);
+            long index = recurringTask.getFirstOccurrenceIndex(fromMinutes);
+            long startMinutes = recurringTask.getOccurrenceStartMinutes(index);
+            if (startMinutes <= toMinutes) {
+                occurrences.add(new long[]{startMinutes, index, i});
+            }
+        }
+
+        boolean[] isVisiting = {true};
+        intervals.forEachOverlapping(fromMinutes, toMinutes, (startMinutes, endMinutes) -> {
+            isVisiting[0] = visitOccurrences(occurrences, recurringTasks, startMinutes, toMinutes, visitor)
+                    && visitor.visit(startMinutes, endMinutes);
+            return isVisiting[0];
+        });
+        if (isVisiting[0]) {
+            visitOccurrences(occurrences, recurringTasks, toMinutes, toMinutes, visitor);
+        }
+    }
+
+    private static boolean visitOccurrences(PriorityQueue<long[]> occurrences, List<RecurringTask> recurringTasks,
+                                            long boundMinutes, long toMinutes, IntervalVisitor visitor) {
+        while (!occurrences.isEmpty() && occurrences.peek()[0] <= boundMinutes) {
+            long[] occurrence = occurrences.poll();
+            RecurringTask recurringTask = recurringTasks.get((int) occurrence[2]);
+            if (!visitor.visit(occurrence[0], occurrence[0] + recurringTask.getDuration())) {
+                return false;
+            }
+
+            long nextIndex = occurrence[1] + 1;
+            long nextStartMinutes = recurringTask.getOccurrenceStartMinutes(nextIndex);
+            if (nextStartMinutes <= toMinutes) {
+                occurrences.add(new long[]{nextStartMinutes, nextIndex, occurrence[2]});
+            }
+        }
+        return true;
+    }
+
+    private static void addFreeInterval(List<long[]> freeIntervals, long startMinutes, long endMinutes,
+                                        TreeSet<Long> splitPoints) {
+        if (endMinutes < startMinutes) {
+            return;
+        }
+        for (long splitPoint : splitPoints.subSet(startMinutes, false, endMinutes, true)) {
+            freeIntervals.add(new long[]{startMinutes, splitPoint - 1});
+            startMinutes = splitPoint;
+        }
+        freeIntervals.add(new long[]{startMinutes, endMinutes});
+    }
+
+    private static void addFreeSlot(List<TimeSlot> freeSlots, long startMinutes, long endMinutes,
+                                    int durationMinutes) {
+        if (endMinutes - startMinutes >= durationMinutes) {
+            freeSlots.add(new TimeSlot(DateTimeConverter.fromEpochMinutes(startMinutes),
+                    DateTimeConverter.fromEpochMinutes(endMinutes)));
+        }
+    }
+
+    interface IntervalVisitor {
+        boolean visit(long startMinutes, long endMinutes);
+    }
+
+    interface IntervalIndex {
+        void forEachOverlapping(long fromMinutes, long toMinutes, IntervalVisitor visitor);
+    }
+}
@@ -0,0 +1,616 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BPlusTree {
+    private static final byte LEAF_PAGE = 1;
+    private static final byte INNER_PAGE = 2;
+    private static final byte OVERFLOW_PAGE = 3;
+    private static final int PAGE_SIZE = PageCache.PAGE_SIZE;
+    private static final int NO_PAGE = PageCache.NO_PAGE;
+    private static final int PAGE_TYPE_OFFSET = 0;
+    private static final int COUNT_OFFSET = 2;
+    private static final int CELLS_START_OFFSET = 4;
+    private static final int NEXT_LEAF_OFFSET = 8;
+    private static final int LEAF_HEADER_SIZE = 12;
+    private static final int FIRST_CHILD_OFFSET = 4;
+    private static final int INNER_HEADER_SIZE = 8;
+    private static final int KEY_SIZE = 2 * Long.BYTES;
+    private static final int INNER_ENTRY_SIZE = KEY_SIZE + Integer.BYTES;
+    private static final int MAX_INNER_KEYS = (PAGE_SIZE - INNER_HEADER_SIZE) / INNER_ENTRY_SIZE;
+    private static final int SLOT_SIZE = Short.BYTES;
+    private static final byte INLINE_VALUE = 0;
+    private static final byte OVERFLOW_VALUE = 1;
+    private static final int VALUE_TYPE_OFFSET = KEY_SIZE;
+    private static final int VALUE_LENGTH_OFFSET = KEY_SIZE + 1;
+    private static final int CELL_HEADER_SIZE = KEY_SIZE + 1 + Short.BYTES;
+    private static final int MAX_INLINE_VALUE_SIZE = (PAGE_SIZE - LEAF_HEADER_SIZE) / 4 - CELL_HEADER_SIZE - SLOT_SIZE;
+    private static final int NEXT_OVERFLOW_PAGE_OFFSET = 4;
+    private static final int CHUNK_LENGTH_OFFSET = 8;
+    private static final int OVERFLOW_HEADER_SIZE = 12;
+    private static final int OVERFLOW_CHUNK_SIZE = PAGE_SIZE - OVERFLOW_HEADER_SIZE;
+
+    private final PageCache pageCache;
+    private final int rootSlot;
+
+    public BPlusTree(PageCache pageCache, int rootSlot) {
+        if (rootSlot < 0 || rootSlot >= PageCache.ROOTS_COUNT) {
+            throw new IllegalArgumentException("Некорректный номер корня дерева.");
+        }
+        this.pageCache = pageCache;
+        this.rootSlot = rootSlot;
+    }
+
+    public byte[] get(long major, long minor) throws IOException {
+        int page = findLeaf(major, minor, null);
+        if (page == NO_PAGE) {
+            return null;
+        }
+        ByteBuffer leaf = pageCache.read(page);
+        int index = findCell(leaf, major, minor);
+        byte[] value = index < 0 ? null : readValue(leaf, getCellOffset(leaf, index));
+        pageCache.trim();
+        return value;
+    }
+
+    public boolean contains(long major, long minor) throws IOException {
+        int page = findLeaf(major, minor, null);
+        boolean isFound = page != NO_PAGE && findCell(pageCache.read(page), major, minor) >= 0;
+        pageCache.trim();
+        return isFound;
+    }
+
+    public boolean put(long major, long minor, byte[] value) throws IOException {
+        if (pageCache.getRoot(rootSlot) == NO_PAGE) {
+            int root = pageCache.allocate(LEAF_PAGE);
+            initLeaf(pageCache.write(root));
+            pageCache.setRoot(rootSlot, root);
+        }
+
+        List<int[]> path = new ArrayList<>();
+        int page = findLeaf(major, minor, path);
+        ByteBuffer leaf = pageCache.write(page);
+        int index = findCell(leaf, major, minor);
+        boolean isAdded = index < 0;
+        if (isAdded) {
+            index = -index - 1;
+        } else {
+            int offset = getCellOffset(leaf, index);
+            releaseValue(leaf, offset);
+            deleteCell(leaf, index);
+        }
+
+        byte[] cell = toCell(major, minor, value);
+        if (getFreeSpace(leaf) >= cell.length + SLOT_SIZE) {
+            insertCell(leaf, index, cell);
+        } else {
+            splitLeaf(page, leaf, index, cell, path);
+        }
+        pageCache.trim();
+        return isAdded;
+    }
+
+    public boolean remove(long major, long minor) throws IOException {
+        List<int[]> path = new ArrayList<>();
+        int page = findLeaf(major, minor, path);
+        if (page == NO_PAGE) {
+            return false;
+        }
+        int index = findCell(pageCache.read(page), major, minor);
+        if (index < 0) {
+            pageCache.trim();
+            return false;
+        }
+
+        ByteBuffer leaf = pageCache.write(page);
+        releaseValue(leaf, getCellOffset(leaf, index));
+        deleteCell(leaf, index);
+        if (getCount(leaf) == 0 && !path.isEmpty()) {
+            unlinkLeaf(page, leaf.getInt(NEXT_LEAF_OFFSET), path);
+        }
+        pageCache.trim();
+        return true;
+    }
+
+    public void forEach(EntryVisitor visitor) throws IOException {
+        forEach(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    public void forEach(long fromMajor, long fromMinor, long toMajor, long toMinor, EntryVisitor visitor)
+            throws IOException {
+        int page = findLeaf(fromMajor, fromMinor, null);
+        if (page == NO_PAGE) {
+            return;
+        }
+        ByteBuffer leaf = pageCache.read(page);
+        int index = findCell(leaf, fromMajor, fromMinor);
+        index = index < 0 ? -index - 1 : index;
+
+        while (true) {
+            for (; index < getCount(leaf); index++) {
+                int offset = getCellOffset(leaf, index);
+                long major = leaf.getLong(offset);
+                long minor = leaf.getLong(offset + Long.BYTES);
+                if (compare(major, minor, toMajor, toMinor) > 0
+                        || !visitor.visit(major, minor, readValue(leaf, offset))) {
+                    pageCache.trim();
+                    return;
+                }
+            }
+            int nextPage = leaf.getInt(NEXT_LEAF_OFFSET);
+            pageCache.trim();
+            if (nextPage == NO_PAGE) {
+                return;
+            }
+            leaf = pageCache.read(nextPage);
+            index = 0;
+        }
+    }
+
+    public Entry lower(long major, long minor) throws IOException {
+        int root = pageCache.getRoot(rootSlot);
+        Entry entry = root == NO_PAGE ? null : lower(root, major, minor);
+        pageCache.trim();
+        return entry;
+    }
+
+    public void clear() throws IOException {
+        int root = pageCache.getRoot(rootSlot);
+        if (root != NO_PAGE) {
+            release(root);
+            pageCache.setRoot(rootSlot, NO_PAGE);
+        }
+        pageCache.trim();
+    }
+
+    private int findLeaf(long major, long minor, List<int[]> path) throws IOException {
+        int page = pageCache.getRoot(rootSlot);
+        if (page == NO_PAGE) {
+            return NO_PAGE;
+        }
+
+        ByteBuffer buffer = pageCache.read(page);
+        while (buffer.get(PAGE_TYPE_OFFSET) == INNER_PAGE) {
+            int childIndex = findChildIndex(buffer, major, minor);
+            if (path != null) {
+                path.add(new int[]{page, childIndex});
+            }
+            page = getChild(buffer, childIndex);
+            buffer = pageCache.read(page);
+        }
+        return page;
+    }
+
+    private Entry lower(int page, long major, long minor) throws IOException {
+        ByteBuffer buffer = pageCache.read(page);
+        if (buffer.get(PAGE_TYPE_OFFSET) == LEAF_PAGE) {
+            int index = findCell(buffer, major, minor);
+            index = (index < 0 ? -index - 1 : index) - 1;
+            return index < 0 ? null : toEntry(buffer, getCellOffset(buffer, index));
+        }
+
+        int childIndex = findChildIndex(buffer, major, minor);
+        int[] children = new int[childIndex + 1];
+        for (int i = 0; i <= childIndex; i++) {
+            children[i] = getChild(buffer, i);
+        }
+        Entry entry = lower(children[childIndex], major, minor);
+        for (int i = childIndex - 1; entry == null && i >= 0; i--) {
+            entry = lower(children[i], Long.MAX_VALUE, Long.MAX_VALUE);
+        }
+        return entry;
+    }
+
+    private void splitLeaf(int page, ByteBuffer leaf, int index, byte[] cell, List<int[]> path) throws IOException {
+        List<byte[]> cells = new ArrayList<>(getCount(leaf) + 1);
+        int totalSize = 0;
+        for (int i = 0; i < getCount(leaf); i++) {
+            if (i == index) {
+                cells.add(cell);
+            }
+            int offset = getCellOffset(leaf, i);
+            cells.add(Arrays.copyOfRange(leaf.array(), offset, offset + getCellSize(leaf, offset)));
+        }
+        if (index == getCount(leaf)) {
+            cells.add(cell);
+        }
+        for (byte[] splitCell : cells) {
+            totalSize += splitCell.length + SLOT_SIZE;
+        }
+
+        int splitIndex = 0;
+        int leftSize = 0;
+        while (leftSize < totalSize / 2 && splitIndex < cells.size() - 1) {
+            leftSize += cells.get(splitIndex).length + SLOT_SIZE;
+            splitIndex++;
+        }
+
+        int rightPage = pageCache.allocate(LEAF_PAGE);
+        ByteBuffer rightLeaf = pageCache.write(rightPage);
+        initLeaf(rightLeaf);
+        rightLeaf.putInt(NEXT_LEAF_OFFSET, leaf.getInt(NEXT_LEAF_OFFSET));
+        for (int i = splitIndex; i < cells.size(); i++) {
+            insertCell(rightLeaf, i - splitIndex, cells.get(i));
+        }
+
+        initLeaf(leaf);
+        leaf.putInt(NEXT_LEAF_OFFSET, rightPage);
+        for (int i = 0; i < splitIndex; i++) {
+            insertCell(leaf, i, cells.get(i));
+        }
+
+        byte[] separator = cells.get(splitIndex);
+        ByteBuffer separatorKey = ByteBuffer.wrap(separator);
+        insertIntoParent(page, separatorKey.getLong(0), separatorKey.getLong(Long.BYTES), rightPage, path);
+    }
+
+    private void insertIntoParent(int leftPage, long major, long minor, int rightPage, List<int[]> path)
+            throws IOException {
+        if (path.isEmpty()) {
+            int root = pageCache.allocate(INNER_PAGE);
+            ByteBuffer buffer = pageCache.write(root);
+            buffer.putShort(COUNT_OFFSET, (short) 1);
+            buffer.putInt(FIRST_CHILD_OFFSET, leftPage);
+            setInnerEntry(buffer, 0, major, minor, rightPage);
+            pageCache.setRoot(rootSlot, root);
+            return;
+        }
+
+        int[] parentStep = path.remove(path.size() - 1);
+        int parentPage = parentStep[0];
+        int keyIndex = parentStep[1];
+        ByteBuffer parent = pageCache.write(parentPage);
+        int count = getCount(parent);
+        if (count < MAX_INNER_KEYS) {
+            int entryOffset = getInnerEntryOffset(keyIndex);
+            System.arraycopy(parent.array(), entryOffset, parent.array(), entryOffset + INNER_ENTRY_SIZE,
+                    (count - keyIndex) * INNER_ENTRY_SIZE);
+            setInnerEntry(parent, keyIndex, major, minor, rightPage);
+            parent.putShort(COUNT_OFFSET, (short) (count + 1));
+            return;
+        }
+
+        long[][] keys = new long[count + 1][];
+        int[] children = new int[count + 2];
+        children[0] = parent.getInt(FIRST_CHILD_OFFSET);
+        for (int i = 0, j = 0; i <= count; i++) {
+            if (i == keyIndex) {
+                keys[i] = new long[]{major, minor};
+                children[i + 1] = rightPage;
+                continue;
+            }
+            int entryOffset = getInnerEntryOffset(j++);
+            keys[i] = new long[]{parent.getLong(entryOffset), parent.getLong(entryOffset + Long.BYTES)};
+            children[i + 1] = parent.getInt(entryOffset + KEY_SIZE);
+        }
+
+        int middle = keys.length / 2;
+        int siblingPage = pageCache.allocate(INNER_PAGE);
+        ByteBuffer sibling = pageCache.write(siblingPage);
+        sibling.putInt(FIRST_CHILD_OFFSET, children[middle + 1]);
+        for (int i = middle + 1; i < keys.length; i++) {
+            setInnerEntry(sibling, i - middle - 1, keys[i][0], keys[i][1], children[i + 1]);
+        }
+        sibling.putShort(COUNT_OFFSET, (short) (keys.length - middle - 1));
+
+        for (int i = 0; i < middle; i++) {
+            setInnerEntry(parent, i, keys[i][0], keys[i][1], children[i + 1]);
+        }
+        parent.putShort(COUNT_OFFSET, (short) middle);
+
+        insertIntoParent(parentPage, keys[middle][0], keys[middle][1], siblingPage, path);
+    }
+
+    private void unlinkLeaf(int page, int nextPage, List<int[]> path) throws IOException {
+        int previousPage = findPreviousLeaf(path);
+        if (previousPage != NO_PAGE) {
+            pageCache.write(previousPage).putInt(NEXT_LEAF_OFFSET, nextPage);
+        }
+        pageCache.free(page);
+        removeChild(path);
+    }
+
+    private int findPreviousLeaf(List<int[]> path) throws IOException {
+        int level = path.size() - 1;
+        while (level >= 0 && path.get(level)[1] == 0) {
+            level--;
+        }
+        if (level < 0) {
+            return NO_PAGE;
+        }
+
+        int[] step = path.get(level);
+        int page = getChild(pageCache.read(step[0]), step[1] - 1);
+        ByteBuffer buffer = pageCache.read(page);
+        while (buffer.get(PAGE_TYPE_OFFSET) == INNER_PAGE) {
+            page = getChild(buffer, getCount(buffer));
+            buffer = pageCache.read(page);
+        }
+        return page;
+    }
+
+    private void removeChild(List<int[]> path) throws IOException {
+        int[] parentStep = path.remove(path.size() - 1);
+        int parentPage = parentStep[0];
+        int childIndex = parentStep[1];
+        ByteBuffer parent = pageCache.write(parentPage);
+        int count = getCount(parent);
+        if (count == 0) {
+            pageCache.free(parentPage);
+            if (path.isEmpty()) {
+                pageCache.setRoot(rootSlot, NO_PAGE);
+            } else {
+                removeChild(path);
+            }
+            return;
+        }
+
+        if (childIndex == 0) {
+            parent.putInt(FIRST_CHILD_OFFSET, getChild(parent, 1));
+        }
+        int entryOffset = getInnerEntryOffset(Math.max(childIndex - 1, 0));
+        System.arraycopy(parent.array(), entryOffset + INNER_ENTRY_SIZE, parent.array(), entryOffset,
+                getInnerEntryOffset(count) - entryOffset - INNER_ENTRY_SIZE);
+        parent.putShort(COUNT_OFFSET, (short) (count - 1));
+
+        if (count == 1 && path.isEmpty()) {
+            pageCache.setRoot(rootSlot, getChild(parent, 0));
+            pageCache.free(parentPage);
+        }
+    }
+
+    private void release(int page) throws IOException {
+        ByteBuffer buffer = pageCache.read(page);
+        if (buffer.get(PAGE_TYPE_OFFSET) == INNER_PAGE) {
+            int[] children = new int[getCount(buffer) + 1];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = getChild(buffer, i);
+            }
+            for (int child : children) {
+                release(child);
+            }
+        } else {
+            for (int i = 0; i < getCount(buffer); i++) {
+                releaseValue(buffer, getCellOffset(buffer, i));
+                pageCache.trim();
+            }
+        }
+        pageCache.free(page);
+        pageCache.trim();
+    }
+
+    private byte[] toCell(long major, long minor, byte[] value) throws IOException {
+        if (value.length <= MAX_INLINE_VALUE_SIZE) {
+            return ByteBuffer.allocate(CELL_HEADER_SIZE + value.length)
+                    .putLong(major)
+                    .putLong(minor)
+                    .put(INLINE_VALUE)
+                    .putShort((short) value.length)
+                    .put(value)
+                    .array();
+        }
+
+        return ByteBuffer.allocate(CELL_HEADER_SIZE + 2 * Integer.BYTES)
+                .putLong(major)
+                .putLong(minor)
+                .put(OVERFLOW_VALUE)
+                .putShort((short) (2 * Integer.BYTES))
+                .putInt(writeOverflowPages(value))
+                .putInt(value.length)
+                .array();
+    }
+
+    private Entry toEntry(ByteBuffer leaf, int offset) throws IOException {
+        return new Entry(leaf.getLong(offset), leaf.getLong(offset + Long.BYTES), readValue(leaf, offset));
+    }
+
+    private byte[] readValue(ByteBuffer leaf, int offset) throws IOException {
+        int valueOffset = offset + CELL_HEADER_SIZE;
+        if (leaf.get(offset + VALUE_TYPE_OFFSET) == INLINE_VALUE) {
+            return Arrays.copyOfRange(leaf.array(), valueOffset, valueOffset + getValueLength(leaf, offset));
+        }
+
+        int page = leaf.getInt(valueOffset);
+        byte[] value = new byte[leaf.getInt(valueOffset + Integer.BYTES)];
+        int position = 0;
+        while (page != NO_PAGE && position < value.length) {
+            ByteBuffer buffer = pageCache.read(page);
+            int chunkLength = buffer.getInt(CHUNK_LENGTH_OFFSET);
+            System.arraycopy(buffer.array(), OVERFLOW_HEADER_SIZE, value, position, chunkLength);
+            position += chunkLength;
+            page = buffer.getInt(NEXT_OVERFLOW_PAGE_OFFSET);
+        }
+        return value;
+    }
+
+    private int writeOverflowPages(byte[] value) throws IOException {
+        int nextPage = NO_PAGE;
+        int chunksCount = (value.length + OVERFLOW_CHUNK_SIZE - 1) / OVERFLOW_CHUNK_SIZE;
+        for (int i = chunksCount - 1; i >= 0; i--) {
+            int chunkStart = i * OVERFLOW_CHUNK_SIZE;
+            int chunkLength = Math.min(OVERFLOW_CHUNK_SIZE, value.length - chunkStart);
+            int page = pageCache.allocate(OVERFLOW_PAGE);
+            ByteBuffer buffer = pageCache.write(page);
+            buffer.putInt(NEXT_OVERFLOW_PAGE_OFFSET, nextPage);
+            buffer.putInt(CHUNK_LENGTH_OFFSET, chunkLength);
+            System.arraycopy(value, chunkStart, buffer.array(), OVERFLOW_HEADER_SIZE, chunkLength);
+            nextPage = page;
+        }
+        return nextPage;
+    }
+
+    private void releaseValue(ByteBuffer leaf, int offset) throws IOException {
+        if (leaf.get(offset + VALUE_TYPE_OFFSET) != OVERFLOW_VALUE) {
+            return;
+        }
+        int page = leaf.getInt(offset + CELL_HEADER_SIZE);
+        while (page != NO_PAGE) {
+            int nextPage = pageCache.read(page).getInt(NEXT_OVERFLOW_PAGE_OFFSET);
+            pageCache.free(page);
+            page = nextPage;
+        }
+    }
+
+    private static void initLeaf(ByteBuffer leaf) {
+        leaf.put(PAGE_TYPE_OFFSET, LEAF_PAGE);
+        leaf.putShort(COUNT_OFFSET, (short) 0);
+        leaf.putShort(CELLS_START_OFFSET, (short) PAGE_SIZE);
+        leaf.putInt(NEXT_LEAF_OFFSET, NO_PAGE);
+    }
+
+    private static void insertCell(ByteBuffer leaf, int index, byte[] cell) {
+        int count = getCount(leaf);
+        if (getCellsStart(leaf) - cell.length < LEAF_HEADER_SIZE + (count + 1) * SLOT_SIZE) {
+            compactLeaf(leaf);
+        }
+
+        int offset = getCellsStart(leaf) - cell.length;
+        System.arraycopy(cell, 0, leaf.array(), offset, cell.length);
+        leaf.putShort(CELLS_START_OFFSET, (short) offset);
+        int slotOffset = LEAF_HEADER_SIZE + index * SLOT_SIZE;
+        System.arraycopy(leaf.array(), slotOffset, leaf.array(), slotOffset + SLOT_SIZE, (count - index) * SLOT_SIZE);
+        leaf.putShort(slotOffset, (short) offset);
+        leaf.putShort(COUNT_OFFSET, (short) (count + 1));
+    }
+
+    private static void deleteCell(ByteBuffer leaf, int index) {
+        int count = getCount(leaf);
+        int slotOffset = LEAF_HEADER_SIZE + index * SLOT_SIZE;
+        System.arraycopy(leaf.array(), slotOffset + SLOT_SIZE, leaf.array(), slotOffset,
+                (count - index - 1) * SLOT_SIZE);
+        leaf.putShort(COUNT_OFFSET, (short) (count - 1));
+        if (count == 1) {
+            leaf.putShort(CELLS_START_OFFSET, (short) PAGE_SIZE);
+        }
+    }
+
+    private static void compactLeaf(ByteBuffer leaf) {
+        byte[] page = Arrays.copyOf(leaf.array(), PAGE_SIZE);
+        ByteBuffer source = ByteBuffer.wrap(page);
+        int cellsStart = PAGE_SIZE;
+        for (int i = 0; i < getCount(leaf); i++) {
+            int offset = getCellOffset(leaf, i);
+            int size = getCellSize(source, offset);
+            cellsStart -= size;
+            System.arraycopy(page, offset, leaf.array(), cellsStart, size);
+            leaf.putShort(LEAF_HEADER_SIZE + i * SLOT_SIZE, (short) cellsStart);
+        }
+        leaf.putShort(CELLS_START_OFFSET, (short) cellsStart);
+    }
+
+    private static int getFreeSpace(ByteBuffer leaf) {
+        int count = getCount(leaf);
+        int usedSpace = LEAF_HEADER_SIZE + count * SLOT_SIZE;
+        for (int i = 0; i < count; i++) {
+            usedSpace += getCellSize(leaf, getCellOffset(leaf, i));
+        }
+        return PAGE_SIZE - usedSpace;
+    }
+
+    private static int findCell(ByteBuffer leaf, long major, long minor) {
+        int low = 0;
+        int high = getCount(leaf) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = getCellOffset(leaf, middle);
+            int comparison = compare(leaf.getLong(offset), leaf.getLong(offset + Long.BYTES), major, minor);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int findChildIndex(ByteBuffer inner, long major, long minor) {
+        int low = 0;
+        int high = getCount(inner) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = getInnerEntryOffset(middle);
+            if (compare(inner.getLong(offset), inner.getLong(offset + Long.BYTES), major, minor) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int getChild(ByteBuffer inner, int index) {
+        return index == 0
+                ? inner.getInt(FIRST_CHILD_OFFSET)
+                : inner.getInt(getInnerEntryOffset(index - 1) + KEY_SIZE);
+    }
+
+    private static void setInnerEntry(ByteBuffer inner, int index, long major, long minor, int child) {
+        int offset = getInnerEntryOffset(index);
+        inner.putLong(offset, major);
+        inner.putLong(offset + Long.BYTES, minor);
+        inner.putInt(offset + KEY_SIZE, child);
+    }
+
+    private static int getInnerEntryOffset(int index) {
+        return INNER_HEADER_SIZE + index * INNER_ENTRY_SIZE;
+    }
+
+    private static int getCount(ByteBuffer buffer) {
+        return buffer.getShort(COUNT_OFFSET);
+    }
+
+    private static int getCellsStart(ByteBuffer leaf) {
+        return Short.toUnsignedInt(leaf.getShort(CELLS_START_OFFSET));
+    }
+
+    private static int getCellOffset(ByteBuffer leaf, int index) {
+        return leaf.getShort(LEAF_HEADER_SIZE + index * SLOT_SIZE);
+    }
+
+    private static int getValueLength(ByteBuffer leaf, int offset) {
+        return leaf.getShort(offset + VALUE_LENGTH_OFFSET);
+    }
+
+    private static int getCellSize(ByteBuffer leaf, int offset) {
+        return CELL_HEADER_SIZE + getValueLength(leaf, offset);
+    }
+
+    private static int compare(long firstMajor, long firstMinor, long secondMajor, long secondMinor) {
+        int comparison = Long.compare(firstMajor, secondMajor);
+        return comparison != 0 ? comparison : Long.compare(firstMinor, secondMinor);
+    }
+
+    public interface EntryVisitor {
+        boolean visit(long major, long minor, byte[] value);
+    }
+
+    public static class Entry {
+        private final long major;
+        private final long minor;
+        private final byte[] value;
+
+        private Entry(long major, long minor, byte[] value) {
+            this.major = major;
+            this.minor = minor;
+            this.value = value;
+        }
+
+        public long getMajor() {
+            return major;
+        }
+
+        public long getMinor() {
+            return minor;
+        }
+
+        public byte[] getValue() {
+            return value;
+        }
+    }
+}
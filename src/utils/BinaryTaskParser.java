@@ -0,0 +1,236 @@
+package utils;
+
+import model.Epic;
+import model.RecurringTask;
+import model.Subtask;
+import model.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+public class BinaryTaskParser {
+    private static final int MAGIC = 0x4B425332;
+    private static final int NULL_STRING_INDEX = 0;
+    private static final int NO_START_TIME = 0;
+    private static final int HAS_START_TIME = 1;
+    private static final int MAGIC_SIZE = Integer.BYTES;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final TaskType[] taskTypes = TaskType.values();
+    private static final Status[] statuses = Status.values();
+
+    public static void write(Path path, List<? extends Task> tasks) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            addString(strings, task.getName());
+            addString(strings, task.getDescription());
+        }
+
+        CRC32 checksum = new CRC32();
+        try (OutputStream fileStream = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE)) {
+            OutputStream stream = new CheckedOutputStream(fileStream, checksum);
+            writeInt(stream, MAGIC);
+
+            writeUnsignedVarLong(stream, strings.size());
+            for (String value : strings.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeUnsignedVarLong(stream, bytes.length);
+                stream.write(bytes);
+            }
+
+            writeUnsignedVarLong(stream, tasks.size());
+            for (Task task : tasks) {
+                TaskType type = getType(task);
+                stream.write(type.ordinal());
+                writeVarLong(stream, task.getId());
+                writeStringIndex(stream, strings, task.getName());
+                writeStringIndex(stream, strings, task.getDescription());
+                stream.write(task.getStatus().ordinal());
+                writeVarLong(stream, task.getDuration());
+                if (task.hasStartTime()) {
+                    stream.write(HAS_START_TIME);
+                    writeVarLong(stream, task.getStartMinutes());
+                } else {
+                    stream.write(NO_START_TIME);
+                }
+                if (type == TaskType.SUBTASK) {
+                    writeVarLong(stream, ((Subtask) task).getEpicId());
+                } else if (type == TaskType.RECURRING_TASK) {
+                    writeVarLong(stream, ((RecurringTask) task).getPeriod());
+                }
+            }
+            stream.flush();
+            writeInt(fileStream, (int) checksum.getValue());
+        }
+    }
+
+    public static List<Task> read(Path path) throws IOException, IllegalArgumentException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC_SIZE + CHECKSUM_SIZE || size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Некорректный размер двоичного снимка.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return read(buffer);
+        }
+    }
+
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(MAGIC_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+            }
+            return !buffer.hasRemaining() && buffer.getInt(0) == MAGIC;
+        }
+    }
+
+    private static List<Task> read(ByteBuffer buffer) throws IllegalArgumentException {
+        int contentSize = buffer.limit() - CHECKSUM_SIZE;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate().limit(contentSize));
+        if ((int) checksum.getValue() != buffer.getInt(contentSize) || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Контрольная сумма двоичного снимка не совпадает.");
+        }
+        buffer.limit(contentSize).position(MAGIC_SIZE);
+
+        try {
+            String[] strings = new String[(int) readUnsignedVarLong(buffer)];
+            byte[] bytes = new byte[0];
+            for (int i = 0; i < strings.length; i++) {
+                int length = (int) readUnsignedVarLong(buffer);
+                if (bytes.length < length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                buffer.get(bytes, 0, length);
+                strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+
+            int tasksCount = (int) readUnsignedVarLong(buffer);
+            List<Task> tasks = new ArrayList<>(tasksCount);
+            for (int i = 0; i < tasksCount; i++) {
+                tasks.add(readTask(buffer, strings));
+            }
+            return tasks;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Некорректная запись двоичного снимка.", ex);
+        }
+    }
+
+    private static Task readTask(ByteBuffer buffer, String[] strings) {
+        TaskType type = taskTypes[buffer.get()];
+        int id = (int) readVarLong(buffer);
+        String name = readString(buffer, strings);
+        String description = readString(buffer, strings);
+        Status status = statuses[buffer.get()];
+        int duration = (int) readVarLong(buffer);
+        LocalDateTime startTime = null;
+        byte startTimeFlag = buffer.get();
+        if (startTimeFlag == HAS_START_TIME) {
+            startTime = DateTimeConverter.fromEpochMinutes(readVarLong(buffer));
+        } else if (startTimeFlag != NO_START_TIME) {
+            throw new IllegalArgumentException("Некорректный признак времени начала.");
+        }
+
+        if (type == TaskType.EPIC) {
+            return new Epic(id, name, description, status, startTime);
+        }
+
+        if (type == TaskType.SUBTASK) {
+            int epicId = (int) readVarLong(buffer);
+            return new Subtask(id, name, description, status, duration, startTime, epicId);
+        }
+
+        if (type == TaskType.RECURRING_TASK) {
+            int period = (int) readVarLong(buffer);
+            return new RecurringTask(id, name, description, status, duration, startTime, period);
+        }
+
+        return new Task(id, name, description, status, duration, startTime);
+    }
+
+    private static void addString(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size() + 1);
+        }
+    }
+
+    private static void writeStringIndex(OutputStream stream, Map<String, Integer> strings, String value)
+            throws IOException {
+        writeUnsignedVarLong(stream, value == null ? NULL_STRING_INDEX : strings.get(value));
+    }
+
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        int index = (int) readUnsignedVarLong(buffer);
+        if (index == NULL_STRING_INDEX) {
+            return null;
+        }
+        return strings[index - 1];
+    }
+
+    private static TaskType getType(Task task) {
+        if (task instanceof Epic) {
+            return TaskType.EPIC;
+        }
+        if (task instanceof Subtask) {
+            return TaskType.SUBTASK;
+        }
+        if (task instanceof RecurringTask) {
+            return TaskType.RECURRING_TASK;
+        }
+        return TaskType.TASK;
+    }
+
+    private static void writeInt(OutputStream stream, int value) throws IOException {
+        stream.write(value >>> 24);
+        stream.write(value >>> 16);
+        stream.write(value >>> 8);
+        stream.write(value);
+    }
+
+    private static void writeVarLong(OutputStream stream, long value) throws IOException {
+        writeUnsignedVarLong(stream, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeUnsignedVarLong(OutputStream stream, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            stream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        stream.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = readUnsignedVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readUnsignedVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Слишком длинное число переменной длины.");
+            }
+            current = buffer.get();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,81 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CalendarIndex<T> {
+    public static final long MINUTES_PER_DAY = 24L * 60L;
+
+    private final Map<Long, DayBucket<T>> buckets = new HashMap<>();
+
+    public void add(long start, long end, int key, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Method is called with null argument.");
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end is before interval start.");
+        }
+
+        for (long day = getFirstDay(start); day <= getLastDay(start, end); day++) {
+            DayBucket<T> bucket = buckets.computeIfAbsent(day, epochDay -> new DayBucket<>());
+            if (bucket.values.put(key, value) == null) {
+                bucket.bookedMinutes += getMinutesInDay(start, end, day);
+            }
+        }
+    }
+
+    public void remove(long start, long end, int key) {
+        for (long day = getFirstDay(start); day <= getLastDay(start, end); day++) {
+            DayBucket<T> bucket = buckets.get(day);
+            if (bucket == null || bucket.values.remove(key) == null) {
+                continue;
+            }
+            bucket.bookedMinutes -= getMinutesInDay(start, end, day);
+            if (bucket.values.isEmpty()) {
+                buckets.remove(day);
+            }
+        }
+    }
+
+    public int getCount(long epochDay) {
+        DayBucket<T> bucket = buckets.get(epochDay);
+        return bucket == null ? 0 : bucket.values.size();
+    }
+
+    public long getBookedMinutes(long epochDay) {
+        DayBucket<T> bucket = buckets.get(epochDay);
+        return bucket == null ? 0L : bucket.bookedMinutes;
+    }
+
+    public List<T> getValues(long epochDay) {
+        DayBucket<T> bucket = buckets.get(epochDay);
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket.values.values());
+    }
+
+    public void clear() {
+        buckets.clear();
+    }
+
+    public static long getFirstDay(long start) {
+        return Math.floorDiv(start, MINUTES_PER_DAY);
+    }
+
+    public static long getLastDay(long start, long end) {
+        return end == start ? getFirstDay(start) : Math.floorDiv(end - 1, MINUTES_PER_DAY);
+    }
+
+    public static long getMinutesInDay(long start, long end, long epochDay) {
+        long dayStart = epochDay * MINUTES_PER_DAY;
+        long dayEnd = dayStart + MINUTES_PER_DAY;
+        return Math.max(0L, Math.min(end, dayEnd) - Math.max(start, dayStart));
+    }
+
+    private static class DayBucket<T> {
+        private final Map<Integer, T> values = new LinkedHashMap<>();
+        private long bookedMinutes;
+    }
+}
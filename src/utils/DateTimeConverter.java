@@ -0,0 +1,16 @@
+package utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public class DateTimeConverter {
+    private static final long SECONDS_PER_MINUTE = 60L;
+
+    public static long toEpochMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    public static LocalDateTime fromEpochMinutes(long epochMinutes) {
+        return LocalDateTime.ofEpochSecond(epochMinutes * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
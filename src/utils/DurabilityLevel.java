@@ -0,0 +1,17 @@
+package utils;
+
+public enum DurabilityLevel {
+    SYNC("Сброс на диск после каждой операции"),
+    GROUP_COMMIT("Совместный сброс на диск группы операций"),
+    ASYNC("Фоновый сброс на диск без ожидания");
+
+    private String description;
+
+    private DurabilityLevel(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class GenerationFiles {
+    private static final String GENERATION_SEPARATOR = ".";
+
+    public static Path getPath(Path basePath, long generation) {
+        return Path.of(basePath + GENERATION_SEPARATOR + generation);
+    }
+
+    public static List<Long> getGenerations(Path basePath) throws IOException {
+        Path directory = basePath.toAbsolutePath().getParent();
+        String prefix = basePath.getFileName() + GENERATION_SEPARATOR;
+        List<Long> generations = new ArrayList<>();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return generations;
+        }
+
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .map(name -> name.substring(prefix.length()))
+                    .filter(suffix -> !suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .forEach(generations::add);
+        }
+        return generations;
+    }
+}
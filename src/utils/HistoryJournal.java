@@ -0,0 +1,90 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class HistoryJournal {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String REMOVAL_PREFIX = "-";
+
+    private final Path path;
+    private int eventsCount;
+
+    public HistoryJournal(Path path) {
+        this.path = path;
+    }
+
+    public synchronized List<Integer> read() throws IOException {
+        List<Integer> tasksId = new ArrayList<>();
+        eventsCount = 0;
+        if (!Files.exists(path)) {
+            return tasksId;
+        }
+
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            eventsCount += 1;
+            String record = line.trim();
+            try {
+                if (record.startsWith(REMOVAL_PREFIX)) {
+                    Integer removedTaskId = Integer.parseInt(record.substring(REMOVAL_PREFIX.length()));
+                    tasksId.removeIf(removedTaskId::equals);
+                } else {
+                    tasksId.add(Integer.parseInt(record));
+                }
+            } catch (NumberFormatException ex) {
+                System.out.printf("Пропущена повреждённая запись журнала истории: '%s'.%n", line);
+            }
+        }
+        return tasksId;
+    }
+
+    public synchronized int append(int taskId) throws IOException {
+        Files.writeString(path, taskId + LINE_SEPARATOR, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        return eventsCount += 1;
+    }
+
+    public synchronized int append(Collection<Integer> tasksId) throws IOException {
+        return appendRecords(tasksId, "");
+    }
+
+    public synchronized int appendRemovals(Collection<Integer> tasksId) throws IOException {
+        return appendRecords(tasksId, REMOVAL_PREFIX);
+    }
+
+    public synchronized void compact(Supplier<List<Integer>> retainedTasksId) throws IOException {
+        List<Integer> tasksId = retainedTasksId.get();
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter bufferedWriter = Files.newBufferedWriter(compactedPath, StandardCharsets.UTF_8)) {
+            for (int taskId : tasksId) {
+                bufferedWriter.write(String.valueOf(taskId));
+                bufferedWriter.newLine();
+            }
+        }
+        Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        eventsCount = tasksId.size();
+    }
+
+    private int appendRecords(Collection<Integer> tasksId, String prefix) throws IOException {
+        if (tasksId.isEmpty()) {
+            return eventsCount;
+        }
+
+        StringBuilder records = new StringBuilder();
+        for (int taskId : tasksId) {
+            records.append(prefix).append(taskId).append(LINE_SEPARATOR);
+        }
+        Files.writeString(path, records, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        return eventsCount += tasksId.size();
+    }
+}
@@ -2,6 +2,7 @@ package utils;
 
 import model.Task;
 import service.HistoryManager;
+import service.SharedHistoryManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.stream.Collectors;
 
 public class HistoryManagerParser {
     public static String historyToString(HistoryManager manager) {
-        return manager.getHistory().stream()
+        return SharedHistoryManager.getSharedHistory(manager).stream()
                 .map(Task::getId)
                 .map(String::valueOf)
                 .collect(Collectors.joining(","));
@@ -0,0 +1,16 @@
+package utils;
+
+public enum HydrationMode {
+    EAGER("Полная загрузка задач при старте"),
+    LAZY("Загрузка названий и описаний задач по требованию");
+
+    private String description;
+
+    private HydrationMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
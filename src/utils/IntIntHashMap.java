@@ -0,0 +1,95 @@
+package utils;
+
+import java.util.Arrays;
+
+public class IntIntHashMap {
+    public static final int NO_VALUE = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedSize) {
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(values, NO_VALUE);
+    }
+
+    public int get(int key) {
+        for (int index = indexOf(key); values[index] != NO_VALUE; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+        }
+        return NO_VALUE;
+    }
+
+    public void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative.");
+        }
+        int index = indexOf(key);
+        while (values[index] != NO_VALUE) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == keys.length - 1) {
+            throw new IllegalStateException("Map capacity is exceeded.");
+        }
+        keys[index] = key;
+        values[index] = value;
+        size += 1;
+    }
+
+    public int remove(int key) {
+        int index = indexOf(key);
+        while (values[index] != NO_VALUE) {
+            if (keys[index] == key) {
+                int removedValue = values[index];
+                shiftBackward(index);
+                size -= 1;
+                return removedValue;
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public void clear() {
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void shiftBackward(int freeIndex) {
+        int index = (freeIndex + 1) & mask;
+        while (values[index] != NO_VALUE) {
+            int homeIndex = indexOf(keys[index]);
+            if (((index - homeIndex) & mask) >= ((index - freeIndex) & mask)) {
+                keys[freeIndex] = keys[index];
+                values[freeIndex] = values[index];
+                freeIndex = index;
+            }
+            index = (index + 1) & mask;
+        }
+        values[freeIndex] = NO_VALUE;
+    }
+
+    private int indexOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,215 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class IntervalTree<T> {
+    private Entry<T> root;
+    private int size;
+
+    public void add(long start, long end, int key, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Method is called with null argument.");
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end is before interval start.");
+        }
+        root = insert(root, new Entry<>(start, end, key, value));
+    }
+
+    public boolean remove(long start, int key) {
+        int sizeBeforeRemove = size;
+        root = delete(root, start, key);
+        return size < sizeBeforeRemove;
+    }
+
+    public boolean isOverlapping(long start, long end, int excludedKey) {
+        return isOverlapping(root, start, end, excludedKey);
+    }
+
+    public List<T> getOverlapping(long start, long end) {
+        List<T> elements = new ArrayList<>();
+        visitOverlapping(root, start, end, elements::add);
+        return elements;
+    }
+
+    public void forEachOverlapping(long start, long end, Predicate<T> visitor) {
+        visitOverlapping(root, start, end, visitor);
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean isOverlapping(Entry<T> entry, long start, long end, int excludedKey) {
+        if (entry == null || entry.maxEnd < start) {
+            return false;
+        }
+        if (entry.start <= end && start <= entry.end && entry.key != excludedKey) {
+            return true;
+        }
+        if (isOverlapping(entry.left, start, end, excludedKey)) {
+            return true;
+        }
+        return entry.start <= end && isOverlapping(entry.right, start, end, excludedKey);
+    }
+
+    private boolean visitOverlapping(Entry<T> entry, long start, long end, Predicate<T> visitor) {
+        if (entry == null || entry.maxEnd < start) {
+            return true;
+        }
+        if (!visitOverlapping(entry.left, start, end, visitor)) {
+            return false;
+        }
+        if (entry.start > end) {
+            return true;
+        }
+        if (start <= entry.end && !visitor.test(entry.value)) {
+            return false;
+        }
+        return visitOverlapping(entry.right, start, end, visitor);
+    }
+
+    private Entry<T> insert(Entry<T> entry, Entry<T> addedEntry) {
+        if (entry == null) {
+            size += 1;
+            return addedEntry;
+        }
+
+        int comparison = compare(addedEntry.start, addedEntry.key, entry);
+        if (comparison < 0) {
+            entry.left = insert(entry.left, addedEntry);
+        } else if (comparison > 0) {
+            entry.right = insert(entry.right, addedEntry);
+        } else {
+            entry.end = addedEntry.end;
+            entry.value = addedEntry.value;
+        }
+
+        return balance(entry);
+    }
+
+    private Entry<T> delete(Entry<T> entry, long start, int key) {
+        if (entry == null) {
+            return null;
+        }
+
+        int comparison = compare(start, key, entry);
+        if (comparison < 0) {
+            entry.left = delete(entry.left, start, key);
+        } else if (comparison > 0) {
+            entry.right = delete(entry.right, start, key);
+        } else {
+            size -= 1;
+            if (entry.left == null) {
+                return entry.right;
+            }
+            if (entry.right == null) {
+                return entry.left;
+            }
+
+            Entry<T> successor = entry.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(entry.right);
+            successor.left = entry.left;
+            return balance(successor);
+        }
+
+        return balance(entry);
+    }
+
+    private Entry<T> deleteMin(Entry<T> entry) {
+        if (entry.left == null) {
+            return entry.right;
+        }
+        entry.left = deleteMin(entry.left);
+        return balance(entry);
+    }
+
+    private Entry<T> balance(Entry<T> entry) {
+        update(entry);
+        int balanceFactor = height(entry.left) - height(entry.right);
+
+        if (balanceFactor > 1) {
+            if (height(entry.left.left) < height(entry.left.right)) {
+                entry.left = rotateLeft(entry.left);
+            }
+            return rotateRight(entry);
+        }
+        if (balanceFactor < -1) {
+            if (height(entry.right.right) < height(entry.right.left)) {
+                entry.right = rotateRight(entry.right);
+            }
+            return rotateLeft(entry);
+        }
+
+        return entry;
+    }
+
+    private Entry<T> rotateLeft(Entry<T> entry) {
+        Entry<T> pivot = entry.right;
+        entry.right = pivot.left;
+        pivot.left = entry;
+        update(entry);
+        update(pivot);
+        return pivot;
+    }
+
+    private Entry<T> rotateRight(Entry<T> entry) {
+        Entry<T> pivot = entry.left;
+        entry.left = pivot.right;
+        pivot.right = entry;
+        update(entry);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Entry<T> entry) {
+        entry.height = 1 + Math.max(height(entry.left), height(entry.right));
+        long maxEnd = entry.end;
+        if (entry.left != null && entry.left.maxEnd > maxEnd) {
+            maxEnd = entry.left.maxEnd;
+        }
+        if (entry.right != null && entry.right.maxEnd > maxEnd) {
+            maxEnd = entry.right.maxEnd;
+        }
+        entry.maxEnd = maxEnd;
+    }
+
+    private static int height(Entry<?> entry) {
+        return entry == null ? 0 : entry.height;
+    }
+
+    private static int compare(long start, int key, Entry<?> entry) {
+        int comparison = Long.compare(start, entry.start);
+        return comparison != 0 ? comparison : Integer.compare(key, entry.key);
+    }
+
+    private static class Entry<T> {
+        private final long start;
+        private final int key;
+        private long end;
+        private long maxEnd;
+        private int height;
+        private T value;
+        private Entry<T> left;
+        private Entry<T> right;
+
+        private Entry(long start, long end, int key, T value) {
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.value = value;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+public enum LogOperation {
+    ADD("Добавление задачи"),
+    UPDATE("Обновление задачи"),
+    DELETE_TASK("Удаление задачи"),
+    DELETE_EPIC("Удаление эпика"),
+    DELETE_SUBTASK("Удаление подзадачи"),
+    DELETE_ALL_TASKS("Удаление всех задач"),
+    DELETE_ALL_EPICS("Удаление всех эпиков"),
+    DELETE_ALL_SUBTASKS("Удаление всех подзадач");
+
+    private String description;
+
+    private LogOperation(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
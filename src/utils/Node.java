@@ -1,37 +0,0 @@
-package utils;
-
-public class Node<T> {
-    private Node<T> previous;
-    private Node<T> next;
-    private T data;
-
-    public Node(Node<T> previous, Node<T> next, T data) {
-        this.previous = previous;
-        this.next = next;
-        this.data = data;
-    }
-
-    public Node<T> getPrevious() {
-        return previous;
-    }
-
-    public Node<T> getNext() {
-        return next;
-    }
-
-    public T getData() {
-        return data;
-    }
-
-    public void setPrevious(Node<T> previous) {
-        this.previous = previous;
-    }
-
-    public void setNext(Node<T> next) {
-        this.next = next;
-    }
-
-    public void setData(T data) {
-        this.data = data;
-    }
-}
@@ -0,0 +1,193 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class PageCache implements Closeable {
+    public static final int PAGE_SIZE = 4096;
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int ROOTS_COUNT = 16;
+    public static final int NO_PAGE = -1;
+    private static final int MAGIC = 0x4B425054;
+    private static final int HEADER_PAGE = 0;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int PAGES_COUNT_OFFSET = 4;
+    private static final int FREE_PAGE_OFFSET = 8;
+    private static final int ROOTS_OFFSET = 16;
+    private static final byte FREE_PAGE = 0;
+    private static final int PAGE_TYPE_OFFSET = 0;
+    private static final int NEXT_FREE_PAGE_OFFSET = 4;
+
+    private final FileChannel channel;
+    private final int capacity;
+    private final Map<Integer, ByteBuffer> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Integer> dirtyPages = new TreeSet<>();
+    private final ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+    private final PageJournal journal;
+    private boolean headerDirty;
+
+    public PageCache(Path path, int capacity) throws IOException, IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер кэша страниц должен быть положительным.");
+        }
+        this.capacity = capacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.journal = new PageJournal(path, PAGE_SIZE);
+        journal.recover(channel);
+
+        if (channel.size() == 0) {
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            header.putInt(PAGES_COUNT_OFFSET, HEADER_PAGE + 1);
+            header.putInt(FREE_PAGE_OFFSET, NO_PAGE);
+            for (int slot = 0; slot < ROOTS_COUNT; slot++) {
+                setRoot(slot, NO_PAGE);
+            }
+            headerDirty = true;
+            return;
+        }
+
+        readPage(HEADER_PAGE, header);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            channel.close();
+            throw new IllegalArgumentException("Файл не является хранилищем страниц задач.");
+        }
+    }
+
+    public synchronized ByteBuffer read(int page) throws IOException {
+        ByteBuffer buffer = pages.get(page);
+        if (buffer == null) {
+            if (page <= HEADER_PAGE || page >= getPagesCount()) {
+                throw new IOException(String.format("Страница %d вне границ хранилища.", page));
+            }
+            buffer = ByteBuffer.allocate(PAGE_SIZE);
+            readPage(page, buffer);
+            pages.put(page, buffer);
+        }
+        return buffer;
+    }
+
+    public synchronized ByteBuffer write(int page) throws IOException {
+        ByteBuffer buffer = read(page);
+        dirtyPages.add(page);
+        return buffer;
+    }
+
+    public synchronized int allocate(byte pageType) throws IOException {
+        int page = header.getInt(FREE_PAGE_OFFSET);
+        if (page != NO_PAGE) {
+            header.putInt(FREE_PAGE_OFFSET, read(page).getInt(NEXT_FREE_PAGE_OFFSET));
+        } else {
+            page = getPagesCount();
+            header.putInt(PAGES_COUNT_OFFSET, page + 1);
+        }
+        headerDirty = true;
+
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(PAGE_TYPE_OFFSET, pageType);
+        pages.put(page, buffer);
+        dirtyPages.add(page);
+        return page;
+    }
+
+    public synchronized void free(int page) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(PAGE_TYPE_OFFSET, FREE_PAGE);
+        buffer.putInt(NEXT_FREE_PAGE_OFFSET, header.getInt(FREE_PAGE_OFFSET));
+        pages.put(page, buffer);
+        dirtyPages.add(page);
+        header.putInt(FREE_PAGE_OFFSET, page);
+        headerDirty = true;
+    }
+
+    public synchronized int getRoot(int slot) {
+        return header.getInt(ROOTS_OFFSET + slot * Integer.BYTES);
+    }
+
+    public synchronized void setRoot(int slot, int page) {
+        header.putInt(ROOTS_OFFSET + slot * Integer.BYTES, page);
+        headerDirty = true;
+    }
+
+    public synchronized int getPagesCount() {
+        return header.getInt(PAGES_COUNT_OFFSET);
+    }
+
+    public synchronized int getCachedPagesCount() {
+        return pages.size();
+    }
+
+    public synchronized void trim() throws IOException {
+        Iterator<Map.Entry<Integer, ByteBuffer>> iterator = pages.entrySet().iterator();
+        while (pages.size() > capacity && iterator.hasNext()) {
+            if (!dirtyPages.contains(iterator.next().getKey())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void commit() throws IOException {
+        Map<Integer, ByteBuffer> committedPages = new TreeMap<>();
+        for (int page : dirtyPages) {
+            committedPages.put(page, pages.get(page));
+        }
+        if (headerDirty) {
+            committedPages.put(HEADER_PAGE, header);
+        }
+        if (committedPages.isEmpty()) {
+            trim();
+            return;
+        }
+
+        journal.write(committedPages);
+        for (Map.Entry<Integer, ByteBuffer> entry : committedPages.entrySet()) {
+            writePage(entry.getKey(), entry.getValue());
+        }
+        channel.force(false);
+        journal.clear();
+        dirtyPages.clear();
+        headerDirty = false;
+        trim();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void readPage(int page, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.clear();
+    }
+
+    private void writePage(int page, ByteBuffer buffer) throws IOException {
+        ByteBuffer source = buffer.duplicate().clear();
+        long position = (long) page * PAGE_SIZE;
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class PageJournal {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final int MAGIC = 0x4B504A31;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+
+    private final Path path;
+    private final int pageSize;
+
+    public PageJournal(Path storePath, int pageSize) {
+        this.path = getPath(storePath);
+        this.pageSize = pageSize;
+    }
+
+    public static Path getPath(Path storePath) {
+        return storePath.resolveSibling(storePath.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    public void write(Map<Integer, ByteBuffer> pages) throws IOException {
+        ByteBuffer journal = ByteBuffer.allocate(HEADER_SIZE + pages.size() * (Integer.BYTES + pageSize)
+                + CHECKSUM_SIZE);
+        journal.putInt(MAGIC).putInt(pages.size());
+        for (Map.Entry<Integer, ByteBuffer> entry : pages.entrySet()) {
+            journal.putInt(entry.getKey()).put(entry.getValue().duplicate().clear());
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(journal.array(), 0, journal.position());
+        journal.putInt((int) checksum.getValue()).flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+            while (journal.hasRemaining()) {
+                channel.write(journal, journal.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    public boolean recover(FileChannel target) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (!isComplete(journal)) {
+            clear();
+            return false;
+        }
+
+        int pagesCount = journal.getInt(Integer.BYTES);
+        journal.position(HEADER_SIZE);
+        for (int i = 0; i < pagesCount; i++) {
+            long position = (long) journal.getInt() * pageSize;
+            ByteBuffer page = journal.slice().limit(pageSize);
+            while (page.hasRemaining()) {
+                target.write(page, position + page.position());
+            }
+            journal.position(journal.position() + pageSize);
+        }
+        target.force(false);
+        clear();
+        return true;
+    }
+
+    public void clear() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+    }
+
+    private boolean isComplete(ByteBuffer journal) {
+        if (journal.limit() < HEADER_SIZE + CHECKSUM_SIZE || journal.getInt(0) != MAGIC) {
+            return false;
+        }
+        long pagesCount = journal.getInt(Integer.BYTES);
+        long size = HEADER_SIZE + pagesCount * (Integer.BYTES + pageSize) + CHECKSUM_SIZE;
+        if (pagesCount < 0 || journal.limit() != size) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(journal.array(), 0, journal.limit() - CHECKSUM_SIZE);
+        return (int) checksum.getValue() == journal.getInt(journal.limit() - CHECKSUM_SIZE);
+    }
+}
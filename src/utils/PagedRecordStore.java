@@ -0,0 +1,415 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+public class PagedRecordStore implements Closeable {
+    public static final int PAGE_SIZE = 4096;
+    private static final byte FREE_PAGE = 0;
+    private static final byte SLOTTED_PAGE = 1;
+    private static final byte OVERFLOW_PAGE = 2;
+    private static final int PAGE_TYPE_OFFSET = 0;
+    private static final int SLOTS_COUNT_OFFSET = 2;
+    private static final int FREE_SPACE_END_OFFSET = 4;
+    private static final int PAGE_HEADER_SIZE = 8;
+    private static final int SLOT_SIZE = 4;
+    private static final int NEXT_PAGE_OFFSET = 4;
+    private static final int CHUNK_LENGTH_OFFSET = 8;
+    private static final int OVERFLOW_HEADER_SIZE = 12;
+    private static final int OVERFLOW_CHUNK_SIZE = PAGE_SIZE - OVERFLOW_HEADER_SIZE;
+    private static final byte INLINE_RECORD = 1;
+    private static final byte OVERFLOW_RECORD = 2;
+    private static final int RECORD_HEADER_SIZE = 5;
+    private static final int MAX_INLINE_RECORD_SIZE = PAGE_SIZE - PAGE_HEADER_SIZE - SLOT_SIZE;
+    private static final int INITIAL_PAGES_CAPACITY = 16;
+    private static final int NO_PAGE = -1;
+    private static final int NOT_SLOTTED = -1;
+    private static final int FREE_SPACE_BUCKET_SIZE = 64;
+    private static final int FREE_SPACE_BUCKETS_COUNT = PAGE_SIZE / FREE_SPACE_BUCKET_SIZE;
+
+    private final FileChannel channel;
+    private final PageJournal journal;
+    private final Map<Integer, Long> locations = new HashMap<>();
+    private final Map<Integer, ByteBuffer> dirtyPages = new TreeMap<>();
+    private final Deque<Integer> freePages = new ArrayDeque<>();
+    private final List<NavigableSet<Integer>> pagesByFreeSpace = new ArrayList<>();
+    private int[] freeSpace = new int[INITIAL_PAGES_CAPACITY];
+    private int pagesCount;
+    private int insertHint = NO_PAGE;
+
+    public PagedRecordStore(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.journal = new PageJournal(path, PAGE_SIZE);
+        journal.recover(channel);
+        for (int bucket = 0; bucket < FREE_SPACE_BUCKETS_COUNT; bucket++) {
+            pagesByFreeSpace.add(new TreeSet<>());
+        }
+    }
+
+    public synchronized List<byte[]> load() throws IOException {
+        locations.clear();
+        dirtyPages.clear();
+        freePages.clear();
+        pagesByFreeSpace.forEach(Set::clear);
+        pagesCount = (int) (channel.size() / PAGE_SIZE);
+        freeSpace = new int[Math.max(INITIAL_PAGES_CAPACITY, pagesCount)];
+        Arrays.fill(freeSpace, NOT_SLOTTED);
+        insertHint = NO_PAGE;
+
+        Map<Integer, byte[]> records = new TreeMap<>();
+        for (int page = 0; page < pagesCount; page++) {
+            ByteBuffer buffer = readPage(page);
+            byte pageType = buffer.get(PAGE_TYPE_OFFSET);
+            if (pageType != SLOTTED_PAGE) {
+                if (pageType == FREE_PAGE) {
+                    freePages.push(page);
+                }
+                continue;
+            }
+
+            for (int slot = 0; slot < getSlotsCount(buffer); slot++) {
+                int offset = getSlotOffset(buffer, slot);
+                if (offset == 0) {
+                    continue;
+                }
+                int id = buffer.getInt(offset + 1);
+                locations.put(id, toLocation(page, slot));
+                records.put(id, readRecord(buffer, offset, getSlotLength(buffer, slot)));
+            }
+            setFreeSpace(page, getFreeSpace(buffer));
+        }
+        return new ArrayList<>(records.values());
+    }
+
+    public synchronized void put(int id, byte[] data) throws IOException {
+        int preferredPage = NO_PAGE;
+        Long location = locations.get(id);
+        if (location != null) {
+            preferredPage = getPage(location);
+            remove(id);
+        }
+
+        byte[] record = toRecord(id, data);
+        int page = findPage(record.length + SLOT_SIZE, preferredPage);
+        ByteBuffer buffer = getPageForWrite(page);
+        int slot = insertRecord(buffer, record);
+        setFreeSpace(page, getFreeSpace(buffer));
+        locations.put(id, toLocation(page, slot));
+    }
+
+    public synchronized boolean remove(int id) throws IOException {
+        Long location = locations.remove(id);
+        if (location == null) {
+            return false;
+        }
+
+        int page = getPage(location);
+        int slot = getSlot(location);
+        ByteBuffer buffer = getPageForWrite(page);
+        int offset = getSlotOffset(buffer, slot);
+        if (buffer.get(offset) == OVERFLOW_RECORD) {
+            releaseOverflowPages(buffer.getInt(offset + RECORD_HEADER_SIZE));
+        }
+
+        setSlot(buffer, slot, 0, 0);
+        int slotsCount = getSlotsCount(buffer);
+        while (slotsCount > 0 && getSlotOffset(buffer, slotsCount - 1) == 0) {
+            slotsCount--;
+        }
+        buffer.putShort(SLOTS_COUNT_OFFSET, (short) slotsCount);
+
+        if (slotsCount == 0) {
+            releasePage(page, buffer);
+        } else {
+            setFreeSpace(page, getFreeSpace(buffer));
+        }
+        return true;
+    }
+
+    public synchronized void retain(IntPredicate predicate) throws IOException {
+        for (int id : new ArrayList<>(locations.keySet())) {
+            if (!predicate.test(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public synchronized boolean contains(int id) {
+        return locations.containsKey(id);
+    }
+
+    public synchronized int getPagesCount() {
+        return pagesCount;
+    }
+
+    public synchronized void commit() throws IOException {
+        if (dirtyPages.isEmpty()) {
+            return;
+        }
+        journal.write(dirtyPages);
+        for (Map.Entry<Integer, ByteBuffer> entry : dirtyPages.entrySet()) {
+            ByteBuffer buffer = entry.getValue().clear();
+            long position = (long) entry.getKey() * PAGE_SIZE;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+        channel.force(false);
+        journal.clear();
+        dirtyPages.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        commit();
+        channel.close();
+    }
+
+    private byte[] toRecord(int id, byte[] data) throws IOException {
+        if (RECORD_HEADER_SIZE + data.length <= MAX_INLINE_RECORD_SIZE) {
+            return ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length)
+                    .put(INLINE_RECORD)
+                    .putInt(id)
+                    .put(data)
+                    .array();
+        }
+
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + 2 * Integer.BYTES)
+                .put(OVERFLOW_RECORD)
+                .putInt(id)
+                .putInt(writeOverflowPages(data))
+                .putInt(data.length)
+                .array();
+    }
+
+    private byte[] readRecord(ByteBuffer buffer, int offset, int length) throws IOException {
+        if (buffer.get(offset) == INLINE_RECORD) {
+            return Arrays.copyOfRange(buffer.array(), offset + RECORD_HEADER_SIZE, offset + length);
+        }
+
+        int page = buffer.getInt(offset + RECORD_HEADER_SIZE);
+        byte[] data = new byte[buffer.getInt(offset + RECORD_HEADER_SIZE + Integer.BYTES)];
+        int position = 0;
+        while (page != NO_PAGE && position < data.length) {
+            ByteBuffer overflowBuffer = readPage(page);
+            int chunkLength = overflowBuffer.getInt(CHUNK_LENGTH_OFFSET);
+            System.arraycopy(overflowBuffer.array(), OVERFLOW_HEADER_SIZE, data, position, chunkLength);
+            position += chunkLength;
+            page = overflowBuffer.getInt(NEXT_PAGE_OFFSET);
+        }
+        return data;
+    }
+
+    private int writeOverflowPages(byte[] data) throws IOException {
+        int chunksCount = (data.length + OVERFLOW_CHUNK_SIZE - 1) / OVERFLOW_CHUNK_SIZE;
+        int[] pages = new int[chunksCount];
+        for (int i = 0; i < chunksCount; i++) {
+            pages[i] = allocatePage();
+        }
+
+        for (int i = 0; i < chunksCount; i++) {
+            int chunkStart = i * OVERFLOW_CHUNK_SIZE;
+            int chunkLength = Math.min(OVERFLOW_CHUNK_SIZE, data.length - chunkStart);
+            ByteBuffer buffer = createPage(pages[i], OVERFLOW_PAGE);
+            buffer.putInt(NEXT_PAGE_OFFSET, i + 1 < chunksCount ? pages[i + 1] : NO_PAGE);
+            buffer.putInt(CHUNK_LENGTH_OFFSET, chunkLength);
+            System.arraycopy(data, chunkStart, buffer.array(), OVERFLOW_HEADER_SIZE, chunkLength);
+        }
+        return pages[0];
+    }
+
+    private void releaseOverflowPages(int page) throws IOException {
+        while (page != NO_PAGE) {
+            ByteBuffer buffer = getPageForWrite(page);
+            int nextPage = buffer.getInt(NEXT_PAGE_OFFSET);
+            releasePage(page, buffer);
+            page = nextPage;
+        }
+    }
+
+    private void releasePage(int page, ByteBuffer buffer) {
+        buffer.put(PAGE_TYPE_OFFSET, FREE_PAGE);
+        setFreeSpace(page, NOT_SLOTTED);
+        freePages.push(page);
+        if (insertHint == page) {
+            insertHint = NO_PAGE;
+        }
+    }
+
+    private int findPage(int requiredSpace, int preferredPage) {
+        if (preferredPage != NO_PAGE && freeSpace[preferredPage] >= requiredSpace) {
+            return preferredPage;
+        }
+        if (insertHint != NO_PAGE && freeSpace[insertHint] >= requiredSpace) {
+            return insertHint;
+        }
+        int page = findPageByFreeSpace(requiredSpace);
+        if (page != NO_PAGE) {
+            insertHint = page;
+            return page;
+        }
+
+        page = allocatePage();
+        ByteBuffer buffer = createPage(page, SLOTTED_PAGE);
+        buffer.putShort(FREE_SPACE_END_OFFSET, (short) PAGE_SIZE);
+        setFreeSpace(page, getFreeSpace(buffer));
+        insertHint = page;
+        return page;
+    }
+
+    private int findPageByFreeSpace(int requiredSpace) {
+        int firstBucket = (requiredSpace + FREE_SPACE_BUCKET_SIZE - 1) / FREE_SPACE_BUCKET_SIZE;
+        for (int bucket = firstBucket; bucket < FREE_SPACE_BUCKETS_COUNT; bucket++) {
+            NavigableSet<Integer> pages = pagesByFreeSpace.get(bucket);
+            if (!pages.isEmpty()) {
+                return pages.first();
+            }
+        }
+        return NO_PAGE;
+    }
+
+    private void setFreeSpace(int page, int space) {
+        if (freeSpace[page] != NOT_SLOTTED) {
+            pagesByFreeSpace.get(freeSpace[page] / FREE_SPACE_BUCKET_SIZE).remove(page);
+        }
+        freeSpace[page] = space;
+        if (space != NOT_SLOTTED) {
+            pagesByFreeSpace.get(space / FREE_SPACE_BUCKET_SIZE).add(page);
+        }
+    }
+
+    private int allocatePage() {
+        if (!freePages.isEmpty()) {
+            return freePages.pop();
+        }
+        if (pagesCount == freeSpace.length) {
+            freeSpace = Arrays.copyOf(freeSpace, freeSpace.length * 2);
+        }
+        freeSpace[pagesCount] = NOT_SLOTTED;
+        return pagesCount++;
+    }
+
+    private int insertRecord(ByteBuffer buffer, byte[] record) {
+        int slotsCount = getSlotsCount(buffer);
+        int slot = 0;
+        while (slot < slotsCount && getSlotOffset(buffer, slot) != 0) {
+            slot++;
+        }
+        int slotsEnd = PAGE_HEADER_SIZE + Math.max(slotsCount, slot + 1) * SLOT_SIZE;
+        if (getFreeSpaceEnd(buffer) - record.length < slotsEnd) {
+            compactPage(buffer);
+        }
+
+        int offset = getFreeSpaceEnd(buffer) - record.length;
+        System.arraycopy(record, 0, buffer.array(), offset, record.length);
+        buffer.putShort(FREE_SPACE_END_OFFSET, (short) offset);
+        setSlot(buffer, slot, offset, record.length);
+        if (slot == slotsCount) {
+            buffer.putShort(SLOTS_COUNT_OFFSET, (short) (slotsCount + 1));
+        }
+        return slot;
+    }
+
+    private void compactPage(ByteBuffer buffer) {
+        byte[] page = Arrays.copyOf(buffer.array(), PAGE_SIZE);
+        int freeSpaceEnd = PAGE_SIZE;
+        for (int slot = 0; slot < getSlotsCount(buffer); slot++) {
+            int offset = getSlotOffset(buffer, slot);
+            if (offset == 0) {
+                continue;
+            }
+            int length = getSlotLength(buffer, slot);
+            freeSpaceEnd -= length;
+            System.arraycopy(page, offset, buffer.array(), freeSpaceEnd, length);
+            setSlot(buffer, slot, freeSpaceEnd, length);
+        }
+        buffer.putShort(FREE_SPACE_END_OFFSET, (short) freeSpaceEnd);
+    }
+
+    private ByteBuffer getPageForWrite(int page) throws IOException {
+        ByteBuffer buffer = dirtyPages.get(page);
+        if (buffer == null) {
+            buffer = readPage(page);
+            dirtyPages.put(page, buffer);
+        }
+        return buffer;
+    }
+
+    private ByteBuffer createPage(int page, byte pageType) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.put(PAGE_TYPE_OFFSET, pageType);
+        dirtyPages.put(page, buffer);
+        return buffer;
+    }
+
+    private ByteBuffer readPage(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position + buffer.position());
+            if (count < 0) {
+                break;
+            }
+        }
+        return buffer.clear();
+    }
+
+    private static int getFreeSpace(ByteBuffer buffer) {
+        int slotsCount = getSlotsCount(buffer);
+        int usedSpace = PAGE_HEADER_SIZE + slotsCount * SLOT_SIZE;
+        for (int slot = 0; slot < slotsCount; slot++) {
+            usedSpace += getSlotLength(buffer, slot);
+        }
+        return PAGE_SIZE - usedSpace;
+    }
+
+    private static int getSlotsCount(ByteBuffer buffer) {
+        return buffer.getShort(SLOTS_COUNT_OFFSET);
+    }
+
+    private static int getFreeSpaceEnd(ByteBuffer buffer) {
+        return Short.toUnsignedInt(buffer.getShort(FREE_SPACE_END_OFFSET));
+    }
+
+    private static int getSlotOffset(ByteBuffer buffer, int slot) {
+        return buffer.getShort(PAGE_HEADER_SIZE + slot * SLOT_SIZE);
+    }
+
+    private static int getSlotLength(ByteBuffer buffer, int slot) {
+        return buffer.getShort(PAGE_HEADER_SIZE + slot * SLOT_SIZE + Short.BYTES);
+    }
+
+    private static void setSlot(ByteBuffer buffer, int slot, int offset, int length) {
+        buffer.putShort(PAGE_HEADER_SIZE + slot * SLOT_SIZE, (short) offset);
+        buffer.putShort(PAGE_HEADER_SIZE + slot * SLOT_SIZE + Short.BYTES, (short) length);
+    }
+
+    private static long toLocation(int page, int slot) {
+        return (long) page << Integer.SIZE | slot;
+    }
+
+    private static int getPage(long location) {
+        return (int) (location >>> Integer.SIZE);
+    }
+
+    private static int getSlot(long location) {
+        return (int) location;
+    }
+}
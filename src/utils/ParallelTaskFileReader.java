@@ -0,0 +1,162 @@
+package utils;
+
+import model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelTaskFileReader {
+    public static final long DEFAULT_CHUNK_SIZE = 4L << 20;
+    private static final int BOUNDARY_BUFFER_SIZE = 1 << 12;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final Path path;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+    private final TaskDetailsCache detailsCache;
+    private long fileSize;
+    private long historyPosition = -1;
+
+    public ParallelTaskFileReader(Path path) {
+        this(path, null);
+    }
+
+    public ParallelTaskFileReader(Path path, TaskDetailsCache detailsCache) {
+        this(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, detailsCache);
+    }
+
+    public ParallelTaskFileReader(Path path, ForkJoinPool pool, long chunkSize, TaskDetailsCache detailsCache) {
+        this.path = path;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.detailsCache = detailsCache;
+    }
+
+    public List<Task> readTasks() throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        long[] boundaries = getChunkBoundaries();
+        Chunk chunk = pool.invoke(new ChunkParser(boundaries, 0, boundaries.length - 1));
+        if (chunk.failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) chunk.failure).getCause();
+        }
+        if (chunk.failure != null) {
+            throw chunk.failure;
+        }
+        historyPosition = chunk.separatorPosition;
+        return chunk.tasks;
+    }
+
+    public TaskFileReader openHistory() throws IOException {
+        long position = historyPosition < 0 ? fileSize : historyPosition;
+        return new TaskFileReader(path, position, fileSize);
+    }
+
+    private long[] getChunkBoundaries() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            long chunksCount = Math.max(1, fileSize / chunkSize);
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+
+            ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+            for (long i = 1; i < chunksCount; i++) {
+                long boundary = findLineStart(channel, buffer, Math.max(i * chunkSize,
+                        boundaries.get(boundaries.size() - 1)));
+                if (boundary >= fileSize) {
+                    break;
+                }
+                if (boundary > boundaries.get(boundaries.size() - 1)) {
+                    boundaries.add(boundary);
+                }
+            }
+            boundaries.add(fileSize);
+
+            return boundaries.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    private long findLineStart(FileChannel channel, ByteBuffer buffer, long from) throws IOException {
+        long position = from - 1;
+        while (position < fileSize) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                if (buffer.get(i) == LINE_SEPARATOR) {
+                    return position + i + 1;
+                }
+            }
+            position += count;
+        }
+        return fileSize;
+    }
+
+    private static class Chunk {
+        private final List<Task> tasks;
+        private final long separatorPosition;
+        private final RuntimeException failure;
+
+        private Chunk(List<Task> tasks, long separatorPosition, RuntimeException failure) {
+            this.tasks = tasks;
+            this.separatorPosition = separatorPosition;
+            this.failure = failure;
+        }
+
+        private Chunk merge(Chunk next) {
+            if (failure != null || separatorPosition >= 0) {
+                return this;
+            }
+            tasks.addAll(next.tasks);
+            return new Chunk(tasks, next.separatorPosition, next.failure);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class ChunkParser extends RecursiveTask<Chunk> {
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        private ChunkParser(long[] boundaries, int from, int to) {
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (to - from == 1) {
+                return parse(boundaries[from], boundaries[to]);
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkParser right = new ChunkParser(boundaries, middle, to);
+            right.fork();
+            Chunk left = new ChunkParser(boundaries, from, middle).compute();
+            return left.merge(right.join());
+        }
+
+        private Chunk parse(long start, long end) {
+            List<Task> tasks = new ArrayList<>();
+            try (TaskFileReader reader = new TaskFileReader(path, start, end, detailsCache)) {
+                for (Task task = reader.readTask(); task != null; task = reader.readTask()) {
+                    tasks.add(task);
+                }
+                return new Chunk(tasks, reader.isSeparatorReached() ? reader.getPosition() : -1, null);
+            } catch (IOException ex) {
+                return new Chunk(tasks, -1, new UncheckedIOException(ex));
+            } catch (RuntimeException ex) {
+                return new Chunk(tasks, -1, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package utils;
+
+public enum PersistenceMode {
+    SNAPSHOT("Полная перезапись файла данных"),
+    WRITE_AHEAD_LOG("Журнал упреждающей записи операций"),
+    PAGED("Постраничное хранилище с обновлением записей на месте");
+
+    private String description;
+
+    private PersistenceMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,16 @@
+package utils;
+
+public enum SchedulingStrategy {
+    FIRST_FIT("Первый подходящий интервал"),
+    BEST_FIT("Наименьший подходящий интервал");
+
+    private String description;
+
+    private SchedulingStrategy(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
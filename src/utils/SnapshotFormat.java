@@ -0,0 +1,16 @@
+package utils;
+
+public enum SnapshotFormat {
+    CSV("Текстовый формат CSV"),
+    BINARY("Компактный двоичный формат");
+
+    private String description;
+
+    private SnapshotFormat(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,197 @@
+package utils;
+
+import model.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SnapshotStore {
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String FOOTER_PREFIX = "END,";
+    private static final int RETAINED_SNAPSHOTS_COUNT = 2;
+    private static final int FOOTER_MAX_LENGTH = 64;
+    private static final long NO_GENERATION = -1;
+
+    private final Path basePath;
+    private final SnapshotFormat format;
+    private long pinnedGeneration = NO_GENERATION;
+
+    public SnapshotStore(Path basePath) {
+        this(basePath, SnapshotFormat.CSV);
+    }
+
+    public SnapshotStore(Path basePath, SnapshotFormat format) {
+        this.basePath = basePath;
+        this.format = format;
+    }
+
+    public synchronized void write(long generation, List<? extends Task> tasks) throws IOException {
+        Path snapshotPath = getSnapshotPath(generation);
+        Path temporaryPath = Path.of(snapshotPath + TEMPORARY_SUFFIX);
+
+        if (format == SnapshotFormat.BINARY) {
+            BinaryTaskParser.write(temporaryPath, tasks);
+        } else {
+            writeCsv(temporaryPath, tasks);
+        }
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        List<Long> generations = getUnpinnedGenerations();
+        for (int i = 0; i < generations.size() - RETAINED_SNAPSHOTS_COUNT; i++) {
+            Files.deleteIfExists(getSnapshotPath(generations.get(i)));
+        }
+    }
+
+    public synchronized Snapshot readLatest() throws IOException {
+        return readLatest(HydrationMode.EAGER);
+    }
+
+    public synchronized Snapshot readLatest(HydrationMode hydrationMode) throws IOException {
+        List<Long> generations = getGenerations();
+        Collections.reverse(generations);
+
+        for (long generation : generations) {
+            Path snapshotPath = getSnapshotPath(generation);
+            boolean binary = BinaryTaskParser.isBinary(snapshotPath);
+            List<Task> tasks = binary ? readBinary(snapshotPath) : readCsv(snapshotPath, hydrationMode);
+            if (tasks != null) {
+                if (!binary && hydrationMode == HydrationMode.LAZY) {
+                    pinnedGeneration = generation;
+                }
+                return new Snapshot(generation, tasks);
+            }
+            System.out.printf("Пропущен повреждённый снимок состояния: '%s'.%n", getSnapshotPath(generation));
+        }
+        return null;
+    }
+
+    public synchronized long getOldestGeneration() throws IOException {
+        List<Long> generations = getUnpinnedGenerations();
+        if (generations.isEmpty()) {
+            generations = getGenerations();
+        }
+        return generations.isEmpty() ? 0 : generations.get(0);
+    }
+
+    public synchronized void pin(long generation) {
+        pinnedGeneration = generation;
+    }
+
+    public Path getSnapshotPath(long generation) {
+        return GenerationFiles.getPath(basePath, generation);
+    }
+
+    private static void writeCsv(Path path, List<? extends Task> tasks) throws IOException {
+        try (BufferedWriter bufferedWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (Task task : tasks) {
+                bufferedWriter.write(TaskParser.toString(task));
+                bufferedWriter.newLine();
+            }
+            bufferedWriter.write(FOOTER_PREFIX + tasks.size());
+            bufferedWriter.newLine();
+        }
+    }
+
+    private static List<Task> readBinary(Path path) throws IOException {
+        try {
+            return BinaryTaskParser.read(path);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static List<Task> readCsv(Path path, HydrationMode hydrationMode) throws IOException {
+        if (hydrationMode == HydrationMode.LAZY) {
+            return readLazily(path);
+        }
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        if (!isValid(lines)) {
+            return null;
+        }
+        List<Task> tasks = new ArrayList<>(lines.size() - 1);
+        for (String line : lines.subList(0, lines.size() - 1)) {
+            tasks.add(TaskParser.fromString(line));
+        }
+        return tasks;
+    }
+
+    private static List<Task> readLazily(Path path) throws IOException {
+        long footerOffset;
+        long count;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, FOOTER_MAX_LENGTH));
+            long tailOffset = size - tail.capacity();
+            while (tail.hasRemaining() && channel.read(tail, tailOffset + tail.position()) > 0) {
+            }
+            String text = new String(tail.array(), 0, tail.position(), StandardCharsets.ISO_8859_1).stripTrailing();
+            int footerStart = text.lastIndexOf('\n') + 1;
+            if (footerStart == 0 && tailOffset > 0 || !text.startsWith(FOOTER_PREFIX, footerStart)) {
+                return null;
+            }
+            count = Long.parseLong(text.substring(footerStart + FOOTER_PREFIX.length()));
+            footerOffset = tailOffset + footerStart;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        TaskDetailsCache detailsCache = new TaskDetailsCache(path);
+        try (TaskFileReader reader = new TaskFileReader(path, 0, footerOffset, detailsCache)) {
+            for (Task task = reader.readTask(); task != null; task = reader.readTask()) {
+                tasks.add(task);
+            }
+        }
+        return tasks.size() == count ? tasks : null;
+    }
+
+    private static boolean isValid(List<String> lines) {
+        if (lines.isEmpty()) {
+            return false;
+        }
+        String footer = lines.get(lines.size() - 1);
+        return footer.equals(FOOTER_PREFIX + (lines.size() - 1));
+    }
+
+    private List<Long> getGenerations() throws IOException {
+        return GenerationFiles.getGenerations(basePath);
+    }
+
+    private List<Long> getUnpinnedGenerations() throws IOException {
+        List<Long> generations = getGenerations();
+        generations.remove(Long.valueOf(pinnedGeneration));
+        return generations;
+    }
+
+    public static class Snapshot {
+        private final long generation;
+        private final List<Task> tasks;
+
+        private Snapshot(long generation, List<Task> tasks) {
+            this.generation = generation;
+            this.tasks = tasks;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public List<Task> getTasks() {
+            return tasks;
+        }
+    }
+}
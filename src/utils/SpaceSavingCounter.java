@@ -0,0 +1,173 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpaceSavingCounter {
+    private final int capacity;
+    private final Map<Integer, Counter> counters;
+    private Bucket minBucket;
+    private Bucket maxBucket;
+
+    public SpaceSavingCounter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость счётчика должна быть положительной.");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void add(int key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(key);
+                attachToFirstBucket(counter);
+                counters.put(key, counter);
+                return;
+            }
+            counter = minBucket.head;
+            counters.remove(counter.key);
+            counter.key = key;
+            counters.put(key, counter);
+        }
+        increment(counter);
+    }
+
+    public synchronized boolean remove(int key) {
+        Counter counter = counters.remove(key);
+        if (counter == null) {
+            return false;
+        }
+        detach(counter);
+        return true;
+    }
+
+    public synchronized long getCount(int key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.bucket.count;
+    }
+
+    public synchronized List<Integer> getTop(int limit) {
+        List<Integer> keys = new ArrayList<>(Math.min(limit, counters.size()));
+        for (Bucket bucket = maxBucket; bucket != null && keys.size() < limit; bucket = bucket.prev) {
+            for (Counter counter = bucket.head; counter != null && keys.size() < limit; counter = counter.next) {
+                keys.add(counter.key);
+            }
+        }
+        return keys;
+    }
+
+    public synchronized void clear() {
+        counters.clear();
+        minBucket = null;
+        maxBucket = null;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void attachToFirstBucket(Counter counter) {
+        if (minBucket == null || minBucket.count != 1) {
+            Bucket bucket = new Bucket(1);
+            linkBucketAfter(null, bucket);
+        }
+        attach(counter, minBucket);
+    }
+
+    private void increment(Counter counter) {
+        Bucket bucket = counter.bucket;
+        long count = bucket.count + 1;
+        Bucket nextBucket = bucket.next;
+
+        if (nextBucket == null || nextBucket.count != count) {
+            nextBucket = new Bucket(count);
+            linkBucketAfter(bucket, nextBucket);
+        }
+        detach(counter);
+        attach(counter, nextBucket);
+    }
+
+    private void attach(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.prev = null;
+        counter.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = counter;
+        }
+        bucket.head = counter;
+    }
+
+    private void detach(Counter counter) {
+        Bucket bucket = counter.bucket;
+        if (counter.prev != null) {
+            counter.prev.next = counter.next;
+        } else {
+            bucket.head = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.prev = counter.prev;
+        }
+        counter.prev = null;
+        counter.next = null;
+        counter.bucket = null;
+
+        if (bucket.head == null) {
+            unlinkBucket(bucket);
+        }
+    }
+
+    private void linkBucketAfter(Bucket bucket, Bucket addedBucket) {
+        Bucket nextBucket = bucket == null ? minBucket : bucket.next;
+        addedBucket.prev = bucket;
+        addedBucket.next = nextBucket;
+        if (bucket == null) {
+            minBucket = addedBucket;
+        } else {
+            bucket.next = addedBucket;
+        }
+        if (nextBucket == null) {
+            maxBucket = addedBucket;
+        } else {
+            nextBucket.prev = addedBucket;
+        }
+    }
+
+    private void unlinkBucket(Bucket bucket) {
+        if (bucket.prev == null) {
+            minBucket = bucket.next;
+        } else {
+            bucket.prev.next = bucket.next;
+        }
+        if (bucket.next == null) {
+            maxBucket = bucket.prev;
+        } else {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    private static class Bucket {
+        private final long count;
+        private Counter head;
+        private Bucket prev;
+        private Bucket next;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    private static class Counter {
+        private int key;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+
+        private Counter(int key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import exceptions.ManagerSaveException;
+import model.Task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TaskDetailsCache {
+    public static final int DEFAULT_CAPACITY = 10_000;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Path path;
+    private final Map<Long, Details> cache;
+
+    public TaskDetailsCache(Path path) {
+        this(path, DEFAULT_CAPACITY);
+    }
+
+    public TaskDetailsCache(Path path, int capacity) {
+        this.path = path;
+        this.cache = new LinkedHashMap<>(16, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Details> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Details get(long offset) {
+        Details details = cache.get(offset);
+        if (details == null) {
+            details = read(offset);
+            cache.put(offset, details);
+        }
+        return details;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private Details read(long offset) {
+        try (TaskFileReader reader = new TaskFileReader(path, offset, Long.MAX_VALUE)) {
+            Task task = reader.readTask();
+            if (task == null) {
+                throw new ManagerSaveException("Запись задачи не найдена в файле данных.");
+            }
+            return new Details(task.getName(), task.getDescription());
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new ManagerSaveException("Ошибка чтения описания задачи из файла данных.", ex);
+        }
+    }
+
+    public static class Details {
+        private final String name;
+        private final String description;
+
+        private Details(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
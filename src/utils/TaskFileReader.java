@@ -0,0 +1,289 @@
+package utils;
+
+import model.Epic;
+import model.RecurringTask;
+import model.Subtask;
+import model.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskFileReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FIELDS_COUNT = 8;
+    private static final int DATE_TIME_LENGTH = 16;
+    private static final byte FIELD_SEPARATOR = ',';
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final TaskType[] taskTypes = TaskType.values();
+    private static final Status[] statuses = Status.values();
+    private static final byte[][] taskTypeNames = getNames(taskTypes);
+    private static final byte[][] statusNames = getNames(statuses);
+
+    private final ReadableByteChannel channel;
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final TaskDetailsCache detailsCache;
+    private final int[] fieldStarts = new int[FIELDS_COUNT];
+    private final int[] fieldEnds = new int[FIELDS_COUNT];
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+    private long bytesRead;
+    private boolean endOfInput;
+    private boolean separatorReached;
+    private int lineStart;
+    private int lineEnd;
+
+    public TaskFileReader(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public TaskFileReader(Path path, long start, long end) throws IOException {
+        this(path, start, end, null);
+    }
+
+    public TaskFileReader(Path path, long start, long end, TaskDetailsCache detailsCache) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ).position(start), start, end, detailsCache);
+    }
+
+    public TaskFileReader(ReadableByteChannel channel) {
+        this(channel, 0, Long.MAX_VALUE, null);
+    }
+
+    private TaskFileReader(ReadableByteChannel channel, long rangeStart, long rangeEnd,
+                           TaskDetailsCache detailsCache) {
+        this.channel = channel;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.detailsCache = detailsCache;
+    }
+
+    public Task readTask() throws IOException, IndexOutOfBoundsException, IllegalArgumentException {
+        if (separatorReached || !nextLine()) {
+            return null;
+        }
+        if (lineStart == lineEnd) {
+            separatorReached = true;
+            return null;
+        }
+
+        int fieldsCount = splitLine();
+        if (fieldsCount < FIELDS_COUNT - 1) {
+            throw new IndexOutOfBoundsException("Недостаточно полей в записи задачи.");
+        }
+        int id = parseInt(0);
+        TaskType taskType = taskTypes[parseName(1, taskTypeNames)];
+        String name = detailsCache == null ? parseString(2) : null;
+        Status status = statuses[parseName(3, statusNames)];
+        String description = detailsCache == null ? parseString(4) : null;
+        int duration = parseInt(5);
+        LocalDateTime startTime = parseDateTime(6);
+
+        Task task;
+        if (taskType == TaskType.EPIC) {
+            task = new Epic(id, name, description, status, startTime);
+        } else if (taskType == TaskType.SUBTASK) {
+            int epicId = parseExtraInt(fieldsCount);
+            task = new Subtask(id, name, description, status, duration, startTime, epicId);
+        } else if (taskType == TaskType.RECURRING_TASK) {
+            int period = parseExtraInt(fieldsCount);
+            task = new RecurringTask(id, name, description, status, duration, startTime, period);
+        } else {
+            task = new Task(id, name, description, status, duration, startTime);
+        }
+
+        if (detailsCache != null) {
+            task.setDetailsSource(detailsCache, rangeStart + bytesRead - buffer.limit() + lineStart);
+        }
+        return task;
+    }
+
+    public List<Integer> readHistory() throws IOException, IllegalArgumentException {
+        List<Integer> tasksId = new ArrayList<>();
+        if (!nextLine()) {
+            return tasksId;
+        }
+
+        int start = lineStart;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            if (i == lineEnd || buffer.get(i) == FIELD_SEPARATOR) {
+                tasksId.add(parseInt(start, i));
+                start = i + 1;
+            }
+        }
+        return tasksId;
+    }
+
+    public boolean isSeparatorReached() {
+        return separatorReached;
+    }
+
+    public long getPosition() {
+        return rangeStart + bytesRead - buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean nextLine() throws IOException {
+        int searchFrom = buffer.position();
+        while (true) {
+            for (int i = searchFrom; i < buffer.limit(); i++) {
+                if (buffer.get(i) == LINE_SEPARATOR) {
+                    setLine(buffer.position(), i);
+                    buffer.position(i + 1);
+                    return true;
+                }
+            }
+            if (endOfInput) {
+                if (!buffer.hasRemaining()) {
+                    return false;
+                }
+                setLine(buffer.position(), buffer.limit());
+                buffer.position(buffer.limit());
+                return true;
+            }
+            searchFrom = buffer.remaining();
+            fill();
+        }
+    }
+
+    private void setLine(int start, int end) {
+        lineStart = start;
+        lineEnd = end > start && buffer.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer grownBuffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            grownBuffer.put(buffer);
+            buffer = grownBuffer;
+        }
+        long unread = rangeEnd - rangeStart - bytesRead;
+        int limit = buffer.limit();
+        if (unread < buffer.remaining()) {
+            buffer.limit(buffer.position() + (int) unread);
+        }
+        int count = unread > 0 ? channel.read(buffer) : -1;
+        if (count < 0) {
+            endOfInput = true;
+        } else {
+            bytesRead += count;
+        }
+        buffer.limit(limit);
+        buffer.flip();
+    }
+
+    private int splitLine() {
+        int fieldsCount = 0;
+        int start = lineStart;
+        for (int i = lineStart; i <= lineEnd && fieldsCount < FIELDS_COUNT; i++) {
+            if (i == lineEnd || buffer.get(i) == FIELD_SEPARATOR) {
+                fieldStarts[fieldsCount] = start;
+                fieldEnds[fieldsCount] = i;
+                fieldsCount++;
+                start = i + 1;
+            }
+        }
+        return fieldsCount;
+    }
+
+    private int parseExtraInt(int fieldsCount) {
+        if (fieldsCount < FIELDS_COUNT || fieldStarts[FIELDS_COUNT - 1] == fieldEnds[FIELDS_COUNT - 1]) {
+            throw new IndexOutOfBoundsException("Недостаточно полей в записи задачи.");
+        }
+        return parseInt(FIELDS_COUNT - 1);
+    }
+
+    private int parseInt(int field) {
+        return parseInt(fieldStarts[field], fieldEnds[field]);
+    }
+
+    private int parseInt(int start, int end) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException("Пустое числовое поле.");
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Некорректное числовое поле.");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Слишком большое числовое поле.");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Слишком большое числовое поле.");
+        }
+        return (int) value;
+    }
+
+    private int parseName(int field, byte[][] names) {
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        for (int i = 0; i < names.length; i++) {
+            if (isEqual(start, length, names[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестное значение поля записи задачи.");
+    }
+
+    private boolean isEqual(int start, int length, byte[] name) {
+        if (length != name.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String parseString(int field) {
+        int start = fieldStarts[field];
+        return new String(buffer.array(), buffer.arrayOffset() + start, fieldEnds[field] - start,
+                StandardCharsets.UTF_8);
+    }
+
+    private LocalDateTime parseDateTime(int field) {
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != DATE_TIME_LENGTH || buffer.get(start + 2) != '.'
+                || buffer.get(start + 5) != '.' || buffer.get(start + 10) != ' ' || buffer.get(start + 13) != ':') {
+            throw new IllegalArgumentException("Некорректный формат даты и времени.");
+        }
+        int day = parseInt(start, start + 2);
+        int month = parseInt(start + 3, start + 5);
+        int year = parseInt(start + 6, start + 10);
+        int hour = parseInt(start + 11, start + 13);
+        int minute = parseInt(start + 14, start + 16);
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    private static byte[][] getNames(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -1,23 +1,36 @@
 package utils;
 
 import model.Epic;
+import model.RecurringTask;
 import model.Subtask;
 import model.Task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TaskParser {
     private static final String LOCAL_DATE_TIME_PATTERN = "dd.MM.yyyy HH:mm";
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(LOCAL_DATE_TIME_PATTERN);
+    private static final char SEPARATOR = ',';
+    private static final char ESCAPE = '\\';
 
     public static String toString(Task task) throws IllegalArgumentException {
+        return toString(task, false);
+    }
+
+    public static String toEscapedString(Task task) throws IllegalArgumentException {
+        return toString(task, true);
+    }
+
+    private static String toString(Task task, boolean escaped) throws IllegalArgumentException {
         if (task == null) {
             throw new IllegalArgumentException();
         }
         int id = task.getId();
-        String name = task.getName();
-        String description = task.getDescription();
+        String name = escaped ? escape(task.getName()) : task.getName();
+        String description = escaped ? escape(task.getDescription()) : task.getDescription();
         String status = task.getStatus().name();
         int duration = task.getDuration();
         String startTime = task.getStartTime().format(formatter);
@@ -34,6 +47,13 @@ public class TaskParser {
             return String.format("%d,%s,%s,%s,%s,%d,%s,%d", id, type, name, status, description, duration, startTime, epicId);
         }
 
+        if (task instanceof RecurringTask) {
+            String type = TaskType.RECURRING_TASK.name();
+            RecurringTask recurringTask = (RecurringTask) task;
+            int period = recurringTask.getPeriod();
+            return String.format("%d,%s,%s,%s,%s,%d,%s,%d", id, type, name, status, description, duration, startTime, period);
+        }
+
         String type = TaskType.TASK.name();
         return String.format("%d,%s,%s,%s,%s,%d,%s,", id, type, name, status, description, duration, startTime);
     }
@@ -42,7 +62,17 @@ public class TaskParser {
         if (value == null) {
             throw new IllegalArgumentException();
         }
-        String[] elements = value.split(",");
+        return fromElements(value.split(","));
+    }
+
+    public static Task fromEscapedString(String value) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (value == null) {
+            throw new IllegalArgumentException();
+        }
+        return fromElements(splitEscaped(value));
+    }
+
+    private static Task fromElements(String[] elements) throws IndexOutOfBoundsException, IllegalArgumentException {
         int id = Integer.parseInt(elements[0]);
         TaskType taskType = TaskType.valueOf(elements[1]);
         String name = elements[2];
@@ -60,6 +90,60 @@ public class TaskParser {
             return new Subtask(id, name, description, status, duration, startTime, epicId);
         }
 
+        if (taskType == TaskType.RECURRING_TASK) {
+            int period = Integer.parseInt(elements[7]);
+            return new RecurringTask(id, name, description, status, duration, startTime, period);
+        }
+
         return new Task(id, name, description, status, duration, startTime);
     }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            switch (symbol) {
+                case ESCAPE:
+                case SEPARATOR:
+                    escaped.append(ESCAPE).append(symbol);
+                    break;
+                case '\n':
+                    escaped.append(ESCAPE).append('n');
+                    break;
+                case '\r':
+                    escaped.append(ESCAPE).append('r');
+                    break;
+                default:
+                    escaped.append(symbol);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String[] splitEscaped(String value) throws IllegalArgumentException {
+        List<String> elements = new ArrayList<>();
+        StringBuilder element = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            if (symbol == SEPARATOR) {
+                elements.add(element.toString());
+                element.setLength(0);
+            } else if (symbol != ESCAPE) {
+                element.append(symbol);
+            } else if (++i == value.length()) {
+                throw new IllegalArgumentException("Незавершённая экранированная последовательность.");
+            } else if (value.charAt(i) == 'n') {
+                element.append('\n');
+            } else if (value.charAt(i) == 'r') {
+                element.append('\r');
+            } else {
+                element.append(value.charAt(i));
+            }
+        }
+        elements.add(element.toString());
+        return elements.toArray(new String[0]);
+    }
 }
@@ -3,7 +3,8 @@ package utils;
 public enum TaskType {
     TASK("Задача"),
     EPIC("Эпик"),
-    SUBTASK("Подзадача");
+    SUBTASK("Подзадача"),
+    RECURRING_TASK("Повторяющаяся задача");
 
     private String description;
 
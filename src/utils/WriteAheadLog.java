@@ -0,0 +1,275 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class WriteAheadLog {
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(10);
+    public static final int DEFAULT_COMMIT_BATCH_SIZE = 256;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final CompletableFuture<Void> COMMITTED = CompletableFuture.completedFuture(null);
+
+    private final Path basePath;
+    private final DurabilityLevel durabilityLevel;
+    private final int commitBatchSize;
+    private final Object commitLock = new Object();
+    private ScheduledExecutorService committer;
+    private long generation;
+    private List<String> pendingRecords;
+    private CompletableFuture<Void> pendingCommit;
+    private FileChannel channel;
+    private long channelGeneration;
+
+    public WriteAheadLog(Path basePath) throws IOException {
+        this(basePath, DurabilityLevel.SYNC, DEFAULT_COMMIT_INTERVAL, DEFAULT_COMMIT_BATCH_SIZE);
+    }
+
+    public WriteAheadLog(Path basePath, DurabilityLevel durabilityLevel, Duration commitInterval,
+                         int commitBatchSize) throws IOException {
+        this.basePath = basePath;
+        this.durabilityLevel = durabilityLevel;
+        this.commitBatchSize = commitBatchSize;
+        this.pendingRecords = new ArrayList<>();
+        List<Long> generations = getGenerations();
+        this.generation = generations.isEmpty() ? 0 : generations.get(generations.size() - 1);
+
+        if (durabilityLevel != DurabilityLevel.SYNC) {
+            long commitIntervalMillis = commitInterval.toMillis();
+            committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "write-ahead-log-committer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            committer.scheduleWithFixedDelay(this::commitQuietly, commitIntervalMillis, commitIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void replay(long fromGeneration, RecordVisitor visitor) throws IOException {
+        List<Long> generations = getGenerations();
+        for (int i = 0; i < generations.size(); i++) {
+            long segmentGeneration = generations.get(i);
+            if (segmentGeneration < fromGeneration) {
+                continue;
+            }
+
+            Path segmentPath = getSegmentPath(segmentGeneration);
+            byte[] data = Files.readAllBytes(segmentPath);
+            int recordStart = 0;
+            for (int position = 0; position < data.length; position++) {
+                if (data[position] != '\n') {
+                    continue;
+                }
+                int recordEnd = position > recordStart && data[position - 1] == '\r' ? position - 1 : position;
+                visitor.visit(new String(data, recordStart, recordEnd - recordStart, StandardCharsets.UTF_8));
+                recordStart = position + 1;
+            }
+
+            if (recordStart < data.length) {
+                if (i != generations.size() - 1) {
+                    throw new IOException(String.format("Повреждена запись в середине журнала операций: '%s'.",
+                            segmentPath));
+                }
+                System.out.printf("Журнал операций прочитан до повреждённой записи: '%s'.%n",
+                        new String(data, recordStart, data.length - recordStart, StandardCharsets.UTF_8).trim());
+                truncateSegment(segmentPath, recordStart);
+                return;
+            }
+        }
+    }
+
+    public CompletableFuture<Void> append(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            return COMMITTED;
+        }
+
+        if (durabilityLevel == DurabilityLevel.SYNC) {
+            synchronized (commitLock) {
+                write(getGeneration(), records);
+            }
+            return COMMITTED;
+        }
+
+        CompletableFuture<Void> commit;
+        boolean isBatchFull;
+        synchronized (this) {
+            pendingRecords.addAll(records);
+            if (pendingCommit == null) {
+                pendingCommit = new CompletableFuture<>();
+            }
+            commit = pendingCommit;
+            isBatchFull = pendingRecords.size() >= commitBatchSize;
+        }
+        if (isBatchFull) {
+            committer.execute(this::commitQuietly);
+        }
+        return commit;
+    }
+
+    public CompletableFuture<Void> flush() {
+        if (durabilityLevel == DurabilityLevel.SYNC) {
+            return COMMITTED;
+        }
+
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            if (pendingCommit == null) {
+                return COMMITTED;
+            }
+            commit = pendingCommit;
+        }
+        committer.execute(this::commitQuietly);
+        return commit;
+    }
+
+    public long rotate() throws IOException {
+        synchronized (commitLock) {
+            long rotatedGeneration;
+            List<String> records;
+            CompletableFuture<Void> commit;
+            synchronized (this) {
+                rotatedGeneration = generation;
+                records = pendingRecords;
+                commit = pendingCommit;
+                pendingRecords = new ArrayList<>();
+                pendingCommit = null;
+                generation += 1;
+            }
+            complete(commit, rotatedGeneration, records);
+            closeChannel();
+            return rotatedGeneration + 1;
+        }
+    }
+
+    public synchronized void startFrom(long fromGeneration) {
+        generation = Math.max(generation, fromGeneration);
+    }
+
+    public synchronized void truncate(long beforeGeneration) throws IOException {
+        for (long segmentGeneration : getGenerations()) {
+            if (segmentGeneration < beforeGeneration) {
+                Files.deleteIfExists(getSegmentPath(segmentGeneration));
+            }
+        }
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public Path getSegmentPath(long segmentGeneration) {
+        return GenerationFiles.getPath(basePath, segmentGeneration);
+    }
+
+    public void close() throws IOException {
+        if (committer != null) {
+            committer.shutdown();
+        }
+        synchronized (commitLock) {
+            commit();
+            closeChannel();
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            synchronized (commitLock) {
+                commit();
+            }
+        } catch (IOException ex) {
+            System.out.printf("Ошибка сброса журнала операций на диск: %s.%n", ex.getMessage());
+        }
+    }
+
+    private void commit() throws IOException {
+        long commitGeneration;
+        List<String> records;
+        CompletableFuture<Void> commit;
+        synchronized (this) {
+            if (pendingRecords.isEmpty()) {
+                return;
+            }
+            commitGeneration = generation;
+            records = pendingRecords;
+            commit = pendingCommit;
+            pendingRecords = new ArrayList<>();
+            pendingCommit = null;
+        }
+        complete(commit, commitGeneration, records);
+    }
+
+    private void complete(CompletableFuture<Void> commit, long commitGeneration, List<String> records)
+            throws IOException {
+        try {
+            if (!records.isEmpty()) {
+                write(commitGeneration, records);
+            }
+        } catch (IOException ex) {
+            if (commit != null) {
+                commit.completeExceptionally(ex);
+            }
+            throw ex;
+        }
+        if (commit != null) {
+            commit.complete(null);
+        }
+    }
+
+    private void write(long recordsGeneration, List<String> records) throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (String record : records) {
+            data.append(record).append(LINE_SEPARATOR);
+        }
+
+        FileChannel segmentChannel = getChannel(recordsGeneration);
+        ByteBuffer buffer = ByteBuffer.wrap(data.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            segmentChannel.write(buffer);
+        }
+        segmentChannel.force(false);
+    }
+
+    private FileChannel getChannel(long segmentGeneration) throws IOException {
+        if (channel == null || channelGeneration != segmentGeneration) {
+            closeChannel();
+            channel = FileChannel.open(getSegmentPath(segmentGeneration),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            channelGeneration = segmentGeneration;
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static void truncateSegment(Path segmentPath, long size) throws IOException {
+        try (FileChannel segmentChannel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+            segmentChannel.truncate(size);
+            segmentChannel.force(false);
+        }
+    }
+
+    private List<Long> getGenerations() throws IOException {
+        return GenerationFiles.getGenerations(basePath);
+    }
+
+    public interface RecordVisitor {
+        void visit(String record);
+    }
+}
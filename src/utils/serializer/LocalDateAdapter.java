@@ -0,0 +1,23 @@
+package utils.serializer;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public class LocalDateAdapter extends TypeAdapter<LocalDate> {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final LocalDate localDate) throws IOException {
+        jsonWriter.value(localDate.format(formatter));
+    }
+
+    @Override
+    public LocalDate read(final JsonReader jsonReader) throws IOException {
+        return LocalDate.parse(jsonReader.nextString(), formatter);
+    }
+}
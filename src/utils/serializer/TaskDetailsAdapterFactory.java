@@ -0,0 +1,55 @@
+package utils.serializer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.Task;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class TaskDetailsAdapterFactory implements TypeAdapterFactory {
+    private static final String ID_PROPERTY_NAME = "id";
+    private static final String NAME_PROPERTY_NAME = "name";
+    private static final String DESCRIPTION_PROPERTY_NAME = "description";
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!Task.class.isAssignableFrom(type.getRawType())) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+
+        return new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter jsonWriter, T value) throws IOException {
+                if (value == null || ((Task) value).isDetailsLoaded()) {
+                    delegate.write(jsonWriter, value);
+                    return;
+                }
+                Task task = (Task) value;
+                JsonObject jsonObject = new JsonObject();
+                jsonObject.addProperty(ID_PROPERTY_NAME, task.getId());
+                jsonObject.addProperty(NAME_PROPERTY_NAME, task.getName());
+                jsonObject.addProperty(DESCRIPTION_PROPERTY_NAME, task.getDescription());
+                for (Map.Entry<String, JsonElement> entry : delegate.toJsonTree(value).getAsJsonObject().entrySet()) {
+                    if (!jsonObject.has(entry.getKey())) {
+                        jsonObject.add(entry.getKey(), entry.getValue());
+                    }
+                }
+                elementAdapter.write(jsonWriter, jsonObject);
+            }
+
+            @Override
+            public T read(JsonReader jsonReader) throws IOException {
+                return delegate.read(jsonReader);
+            }
+        };
+    }
+}
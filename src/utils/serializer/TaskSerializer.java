@@ -6,6 +6,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import exceptions.BadRequestException;
+import model.RecurringTask;
 import model.Subtask;
 import model.Task;
 import service.TaskManager;
@@ -33,8 +34,11 @@ public class TaskSerializer implements JsonDeserializer<Task> {
             int duration = jsonObject.get("duration").getAsInt();
             LocalDateTime startTime = context.deserialize(jsonObject.get("startTime"), LocalDateTime.class);
             Integer epicId = jsonObject.has("epicId") ? jsonObject.get("epicId").getAsInt() : null;
+            Integer period = jsonObject.has("period") ? jsonObject.get("period").getAsInt() : null;
 
-            if (epicId == null) {
+            if (period != null) {
+                return new RecurringTask(id, name, description, status, duration, startTime, period);
+            } else if (epicId == null) {
                 return new Task(id, name, description, status, duration, startTime);
             } else {
                 return new Subtask(id, name, description, status, duration, startTime, epicId);
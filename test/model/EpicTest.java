@@ -7,8 +7,10 @@ import utils.Status;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class EpicTest {
     private static final int EPIC_ID = 1;
@@ -252,4 +254,107 @@ class EpicTest {
         final LocalDateTime endTime = epic.getEndTime();
         assertEquals(EPIC_START_TIME, endTime, "The epic end time does not match.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAggregatesWhenSubtasksAreAddedUpdatedAndRemoved() {
+        final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID,
+                FIRST_SUBTASK_NAME,
+                FIRST_SUBTASK_DESCRIPTION,
+                FIRST_SUBTASK_DURATION,
+                FIRST_SUBTASK_START_TIME,
+                EPIC_ID);
+        final Subtask secondSubtask = new Subtask(SECOND_SUBTASK_ID,
+                SECOND_SUBTASK_NAME,
+                SECOND_SUBTASK_DESCRIPTION,
+                SECOND_SUBTASK_DURATION,
+                SECOND_SUBTASK_START_TIME,
+                EPIC_ID);
+        final Subtask updatedSecondSubtask = new Subtask(SECOND_SUBTASK_ID,
+                SECOND_SUBTASK_NAME,
+                SECOND_SUBTASK_DESCRIPTION,
+                Status.DONE,
+                SECOND_SUBTASK_DURATION,
+                SECOND_SUBTASK_START_TIME.plusHours(1),
+                EPIC_ID);
+        epic.addSubtask(firstSubtask);
+        epic.addSubtask(secondSubtask);
+        epic.updateSubtask(updatedSecondSubtask);
+
+        assertEquals(Status.IN_PROGRESS, epic.getStatus(), "The epic status is incorrect.");
+        assertEquals(FIRST_SUBTASK_START_TIME, epic.getStartTime(), "The epic start time does not match.");
+        assertEquals(SECOND_SUBTASK_START_TIME.plusHours(1).plusMinutes(SECOND_SUBTASK_DURATION), epic.getEndTime(),
+                "The epic end time does not match.");
+        assertEquals(FIRST_SUBTASK_DURATION + SECOND_SUBTASK_DURATION, epic.getDuration(),
+                "The epic duration does not match.");
+
+        epic.removeSubtask(FIRST_SUBTASK_ID);
+
+        assertEquals(Status.DONE, epic.getStatus(), "The epic status is incorrect.");
+        assertEquals(SECOND_SUBTASK_START_TIME.plusHours(1), epic.getStartTime(), "The epic start time does not match.");
+        assertEquals(SECOND_SUBTASK_DURATION, epic.getDuration(), "The epic duration does not match.");
+        assertEquals(List.of(updatedSecondSubtask), epic.getSubtasks(), "The epic subtasks do not match.");
+    }
+
+    @Test
+    void getAggregatesWhenSubtaskIsUpdatedInPlace() {
+        final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID,
+                FIRST_SUBTASK_NAME,
+                FIRST_SUBTASK_DESCRIPTION,
+                FIRST_SUBTASK_DURATION,
+                FIRST_SUBTASK_START_TIME,
+                EPIC_ID);
+        epic.addSubtask(firstSubtask);
+        firstSubtask.setStatus(Status.DONE);
+        firstSubtask.setDuration(SECOND_SUBTASK_DURATION);
+        firstSubtask.setStartTime(SECOND_SUBTASK_START_TIME);
+        epic.updateSubtask(firstSubtask);
+
+        assertEquals(Status.DONE, epic.getStatus(), "The epic status is incorrect.");
+        assertEquals(SECOND_SUBTASK_START_TIME, epic.getStartTime(), "The epic start time does not match.");
+        assertEquals(SECOND_SUBTASK_START_TIME.plusMinutes(SECOND_SUBTASK_DURATION), epic.getEndTime(),
+                "The epic end time does not match.");
+        assertEquals(SECOND_SUBTASK_DURATION, epic.getDuration(), "The epic duration does not match.");
+
+        epic.removeSubtask(FIRST_SUBTASK_ID);
+
+        assertEquals(Status.NEW, epic.getStatus(), "The epic status is incorrect.");
+        assertEquals(EPIC_START_TIME, epic.getStartTime(), "The epic start time does not match.");
+        assertEquals(0, epic.getDuration(), "The epic duration does not match.");
+    }
+
+    @Test
+    void copyKeepAggregatesWhenOriginalSubtasksChange() {
+        final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID,
+                FIRST_SUBTASK_NAME,
+                FIRST_SUBTASK_DESCRIPTION,
+                FIRST_SUBTASK_DURATION,
+                FIRST_SUBTASK_START_TIME,
+                EPIC_ID);
+        epic.addSubtask(firstSubtask);
+
+        final Epic copy = epic.copy();
+        firstSubtask.setStatus(Status.DONE);
+        epic.updateSubtask(firstSubtask);
+        epic.removeSubtask(FIRST_SUBTASK_ID);
+
+        assertEquals(Status.NEW, copy.getStatus(), "The copied epic status is incorrect.");
+        assertEquals(FIRST_SUBTASK_DURATION, copy.getDuration(), "The copied epic duration does not match.");
+        assertEquals(List.of(FIRST_SUBTASK_ID),
+                copy.getSubtasks().stream().map(Task::getId).collect(Collectors.toList()),
+                "The copied epic subtasks do not match.");
+    }
+
+    @Test
+    void addSubtaskNotAddSubtaskWhenSubtaskWithThisIdExists() {
+        final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID,
+                FIRST_SUBTASK_NAME,
+                FIRST_SUBTASK_DESCRIPTION,
+                FIRST_SUBTASK_DURATION,
+                FIRST_SUBTASK_START_TIME,
+                EPIC_ID);
+        epic.addSubtask(firstSubtask);
+
+        assertFalse(epic.addSubtask(firstSubtask), "Success add of existing subtask return true flag.");
+        assertEquals(FIRST_SUBTASK_DURATION, epic.getDuration(), "The epic duration does not match.");
+    }
+}
@@ -3,6 +3,7 @@ package model;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -50,4 +51,33 @@ class TaskTest {
         final LocalDateTime endTime = task.getEndTime();
         assertEquals(TASK_START_TIME.plusMinutes(TASK_DURATION), endTime, "The task end time does not match.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStartMinutes() {
+        final Task task = new Task(TASK_ID,
+                TASK_NAME,
+                TASK_DESCRIPTION,
+                TASK_DURATION,
+                TASK_START_TIME);
+
+        final long expectedStartMinutes = TASK_START_TIME.toEpochSecond(ZoneOffset.UTC) / 60;
+        final long startMinutes = task.getStartMinutes();
+        assertEquals(expectedStartMinutes, startMinutes, "The task start minutes do not match.");
+        assertEquals(expectedStartMinutes + TASK_DURATION, task.getEndMinutes(), "The task end minutes do not match.");
+    }
+
+    @Test
+    void getStartMinutesWhenStartTimeIsChanged() {
+        final Task task = new Task(TASK_ID,
+                TASK_NAME,
+                TASK_DESCRIPTION,
+                TASK_DURATION,
+                TASK_START_TIME);
+        final LocalDateTime changedStartTime = TASK_START_TIME.plusDays(1);
+        task.setStartTime(changedStartTime);
+
+        final long expectedStartMinutes = changedStartTime.toEpochSecond(ZoneOffset.UTC) / 60;
+        final long startMinutes = task.getStartMinutes();
+        assertEquals(expectedStartMinutes, startMinutes, "The task start minutes do not match.");
+    }
+}
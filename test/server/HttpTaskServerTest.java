@@ -4,9 +4,11 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import exceptions.HttpException;
 import exceptions.ServerException;
+import model.DayLoad;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TimeSlot;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import service.Managers;
 import service.TaskManager;
 import utils.Status;
 import utils.serializer.EpicSerializer;
+import utils.serializer.LocalDateAdapter;
 import utils.serializer.LocalDateTimeAdapter;
 import utils.serializer.SubtaskSerializer;
 import utils.serializer.TaskSerializer;
@@ -26,6 +29,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -84,6 +88,17 @@ class HttpTaskServerTest {
         return client.send(request, HttpResponse.BodyHandlers.ofString());
     }
 
+    private HttpResponse<String> get(String path, String session) throws IOException, InterruptedException {
+        URI uri = URI.create(String.format(path));
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Accept", "application/json")
+                .header("X-Session-Id", session)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
     private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
         URI uri = URI.create(String.format(path));
         HttpRequest request = HttpRequest.newBuilder()
@@ -127,6 +142,7 @@ class HttpTaskServerTest {
 
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
+        gsonBuilder.registerTypeAdapter(LocalDate.class, new LocalDateAdapter());
         gsonBuilder.registerTypeAdapter(Task.class, new TaskSerializer(taskManager));
         gsonBuilder.registerTypeAdapter(Subtask.class, new SubtaskSerializer(taskManager));
         gsonBuilder.registerTypeAdapter(Epic.class, new EpicSerializer(taskManager));
@@ -419,6 +435,29 @@ class HttpTaskServerTest {
         assertEquals(secondTask, updatedTask, "The returned task does not match.");
     }
 
+    @Test
+    void postTaskOverlappingExistingTask() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+
+        final String firstTaskJson = gson.toJson(firstTask);
+        final String secondTaskJson = gson.toJson(secondTask);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, firstTaskJson);
+        final HttpResponse<String> secondTaskPostResponse = post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, secondTaskJson);
+
+        final int statusCode = secondTaskPostResponse.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_CONFLICT;
+
+        final String body = secondTaskPostResponse.body();
+        final List<Task> overlappingTasks = new ArrayList<>(Arrays.asList(gson.fromJson(body, Task[].class)));
+        final List<Task> expectedOverlappingTasks = List.of(firstTask);
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code  does not match.");
+        assertIterableEquals(expectedOverlappingTasks, overlappingTasks, "The returned overlapping tasks do not match.");
+    }
+
     @Test
     void getAllSubtask() throws IOException, InterruptedException {
         final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID, "Выбрать место тренировок.", "Выбрать спортзал.",
@@ -1150,6 +1189,108 @@ class HttpTaskServerTest {
         assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
     }
 
+    @Test
+    void getPrioritizedTasksInTimeWindow() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Subtask firstSubtask = new Subtask(FIRST_SUBTASK_ID, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, FIRST_EPIC_ID);
+
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(firstTask));
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(secondTask));
+        post(URL + "/" + ROOT_PATH + "/" + SUBTASK_PATH, gson.toJson(firstSubtask));
+
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "?from=08.11.2022+11:35&to=08.11.2022+13:00");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_OK;
+
+        final String body = response.body();
+        final List<Task> tasks = new ArrayList<>(Arrays.asList(gson.fromJson(body, Task[].class)));
+        final List<Task> expectedTasks = List.of(secondTask, firstSubtask);
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+        assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
+    }
+
+    @Test
+    void getPrioritizedTasksInTimeWindowWithIncorrectDate() throws IOException, InterruptedException {
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "?from=f?!a?");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_BAD_REQUEST;
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+    }
+
+    @Test
+    void getFreeSlots() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(firstTask));
+
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/slots"
+                + "?duration=20&from=08.11.2022+10:00&to=08.11.2022+12:00&limit=5");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_OK;
+
+        final String body = response.body();
+        final List<TimeSlot> freeSlots = new ArrayList<>(Arrays.asList(gson.fromJson(body, TimeSlot[].class)));
+        final List<TimeSlot> expectedFreeSlots = List.of(
+                new TimeSlot(FIRST_TASK_START_TIME.minusMinutes(60), FIRST_TASK_START_TIME.minusMinutes(1)),
+                new TimeSlot(FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION + 1), FIRST_TASK_START_TIME.plusMinutes(60)));
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+        assertIterableEquals(expectedFreeSlots, freeSlots, "The returned free slots do not match.");
+    }
+
+    @Test
+    void getFreeSlotsWithoutDuration() throws IOException, InterruptedException {
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/slots"
+                + "?from=08.11.2022+10:00&to=08.11.2022+12:00");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_BAD_REQUEST;
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+    }
+
+    @Test
+    void getCalendar() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(firstTask));
+
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/calendar"
+                + "?from=07.11.2022&to=08.11.2022");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_OK;
+
+        final String body = response.body();
+        final List<DayLoad> dailyLoad = new ArrayList<>(Arrays.asList(gson.fromJson(body, DayLoad[].class)));
+        final List<DayLoad> expectedDailyLoad = List.of(
+                new DayLoad(FIRST_TASK_START_TIME.toLocalDate().minusDays(1), 0, 0),
+                new DayLoad(FIRST_TASK_START_TIME.toLocalDate(), 1, TASK_DURATION));
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+        assertIterableEquals(expectedDailyLoad, dailyLoad, "The returned daily load does not match.");
+    }
+
+    @Test
+    void getCalendarWhenFromIsAfterTo() throws IOException, InterruptedException {
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/calendar"
+                + "?from=09.11.2022&to=08.11.2022");
+
+        final int statusCode = response.statusCode();
+        final int expectedStatusCode = HttpURLConnection.HTTP_BAD_REQUEST;
+
+        assertEquals(expectedStatusCode, statusCode, "The response status code does not match.");
+    }
+
     @Test
     void getHistory() throws IOException, InterruptedException {
         final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
@@ -1193,4 +1334,76 @@ class HttpTaskServerTest {
         assertEquals(expectedTasksCount, tasksCount, "The count of tasks does not match.");
         assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void postExistingTaskNotRecordHistory() throws IOException, InterruptedException {
+        final Task task = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final String taskJson = gson.toJson(task);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, taskJson);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, taskJson);
+
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/" + HISTORY_PATH);
+
+        final String body = response.body();
+        final List<Task> tasks = Arrays.asList(gson.fromJson(body, Task[].class));
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode(), "The response status code does not match.");
+        assertIterableEquals(Collections.emptyList(), tasks, "History is recorded.");
+    }
+
+    @Test
+    void getTopViewedTasks() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(firstTask));
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(secondTask));
+
+        get(URL + "/" + ROOT_PATH + "/" + TASK_PATH + "/?id=" + FIRST_TASK_ID);
+        get(URL + "/" + ROOT_PATH + "/" + TASK_PATH + "/?id=" + SECOND_TASK_ID);
+        get(URL + "/" + ROOT_PATH + "/" + TASK_PATH + "/?id=" + SECOND_TASK_ID);
+
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/" + HISTORY_PATH + "/top?k=1");
+
+        final String body = response.body();
+        final List<Task> tasks = Arrays.asList(gson.fromJson(body, Task[].class));
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode(), "The response status code does not match.");
+        assertIterableEquals(List.of(secondTask), tasks, "The returned tasks do not match.");
+    }
+
+    @Test
+    void getTopViewedTasksWithNotPositiveLimit() throws IOException, InterruptedException {
+        final HttpResponse<String> response = get(URL + "/" + ROOT_PATH + "/" + HISTORY_PATH + "/top?k=0");
+
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, response.statusCode(),
+                "The response status code does not match.");
+    }
+
+    @Test
+    void getHistoryOfCallerSession() throws IOException, InterruptedException {
+        final Task firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(firstTask));
+        post(URL + "/" + ROOT_PATH + "/" + TASK_PATH, gson.toJson(secondTask));
+
+        get(URL + "/" + ROOT_PATH + "/" + TASK_PATH + "/?id=" + FIRST_TASK_ID, "first-session");
+        get(URL + "/" + ROOT_PATH + "/" + TASK_PATH + "/?id=" + SECOND_TASK_ID, "second-session");
+
+        final HttpResponse<String> firstSessionResponse = get(URL + "/" + ROOT_PATH + "/" + HISTORY_PATH,
+                "first-session");
+        final HttpResponse<String> sharedResponse = get(URL + "/" + ROOT_PATH + "/" + HISTORY_PATH);
+
+        final List<Task> firstSessionTasks = Arrays.asList(gson.fromJson(firstSessionResponse.body(), Task[].class));
+        final List<Task> sharedTasks = Arrays.asList(gson.fromJson(sharedResponse.body(), Task[].class));
+
+        assertEquals(HttpURLConnection.HTTP_OK, firstSessionResponse.statusCode(),
+                "The response status code does not match.");
+        assertIterableEquals(List.of(firstTask), firstSessionTasks, "The returned tasks do not match.");
+        assertIterableEquals(Collections.emptyList(), sharedTasks, "The returned tasks do not match.");
+    }
+}
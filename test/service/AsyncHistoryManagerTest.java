@@ -0,0 +1,106 @@
+package service;
+
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncHistoryManagerTest {
+    private static final int TASK_DURATION = 60;
+    private static final LocalDateTime TASK_START_DATE = LocalDateTime.now();
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(20);
+
+    private AsyncHistoryManager historyManager;
+    private Task firstTask;
+    private Task secondTask;
+
+    @BeforeEach
+    void setUp() {
+        historyManager = new AsyncHistoryManager(new SessionHistoryManager(), FLUSH_INTERVAL);
+        firstTask = new Task(1, "Сходить в магазин.", "Купить продукты.", TASK_DURATION, TASK_START_DATE);
+        secondTask = new Task(2, "Убраться в квартире.", "Пропылесосить полы.", TASK_DURATION, TASK_START_DATE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyManager.close();
+        SessionHistoryManager.unbindSession();
+    }
+
+    @Test
+    void getHistoryReturnPendingViews() {
+        historyManager.add(firstTask);
+        historyManager.add(secondTask);
+
+        assertIterableEquals(List.of(firstTask, secondTask), historyManager.getHistory(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void removeTaskAfterPendingView() {
+        historyManager.add(firstTask);
+        historyManager.remove(firstTask.getId());
+
+        assertIterableEquals(Collections.emptyList(), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void pendingViewsKeepCallerSession() {
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        SessionHistoryManager.bindSession("second");
+        historyManager.add(secondTask);
+
+        assertIterableEquals(List.of(secondTask), historyManager.getHistory(), "The returned tasks do not match.");
+        SessionHistoryManager.bindSession("first");
+        assertIterableEquals(List.of(firstTask), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void flushListenerIsCalledAfterBatch() throws InterruptedException {
+        CountDownLatch flushLatch = new CountDownLatch(1);
+        historyManager.setFlushListener(views -> flushLatch.countDown());
+
+        historyManager.add(firstTask);
+
+        assertTrue(flushLatch.await(5, TimeUnit.SECONDS), "Flush listener is not called.");
+        assertIterableEquals(List.of(firstTask), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void flushListenerIsCalledAfterViewsAreDrainedByRead() throws InterruptedException {
+        CountDownLatch flushLatch = new CountDownLatch(1);
+        historyManager.setFlushListener(views -> flushLatch.countDown());
+
+        historyManager.add(firstTask);
+        historyManager.getHistory();
+
+        assertTrue(flushLatch.await(5, TimeUnit.SECONDS), "Flush listener is not called.");
+    }
+
+    @Test
+    void flushListenerReceivesOnlyViewsFlushedSinceLastNotification() throws InterruptedException {
+        BlockingQueue<List<Task>> flushedViews = new LinkedBlockingQueue<>();
+        historyManager.setFlushListener(flushedViews::add);
+
+        historyManager.add(firstTask);
+        assertIterableEquals(List.of(firstTask), flushedViews.poll(5, TimeUnit.SECONDS),
+                "The flushed views do not match.");
+        historyManager.add(secondTask);
+
+        assertIterableEquals(List.of(secondTask), flushedViews.poll(5, TimeUnit.SECONDS),
+                "The flushed views do not match.");
+    }
+}
@@ -0,0 +1,212 @@
+package service;
+
+import exceptions.TaskOverlappingException;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import utils.PageCache;
+import utils.PageJournal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BTreeTaskManagerTest extends PersistentTaskManagerTest<BTreeTaskManager> {
+    private static final String FILE_PATH = "data/TestBTreeTasksData.db";
+    private static final int TASKS_COUNT = 5000;
+    private static final int CACHED_PAGES_COUNT = 16;
+    private static final int MUTATIONS_COUNT = 3000;
+
+    private final List<BTreeTaskManager> openedTaskManagers = new ArrayList<>();
+    private File file;
+
+    @Override
+    public BTreeTaskManager getTaskManager() {
+        file = new File(FILE_PATH);
+        deleteFiles(file);
+
+        return createTaskManagerInstance(PageCache.DEFAULT_CAPACITY);
+    }
+
+    private BTreeTaskManager createTaskManagerInstance(int cachedPagesCount) {
+        BTreeTaskManager tasksManager = BTreeTaskManager.loadFromFile(file, new InMemoryHistoryManager(),
+                cachedPagesCount);
+        openedTaskManagers.add(tasksManager);
+        return tasksManager;
+    }
+
+    @Override
+    BTreeTaskManager reloadTaskManager() {
+        taskManager.close();
+        taskManager = createTaskManagerInstance(PageCache.DEFAULT_CAPACITY);
+        return taskManager;
+    }
+
+    @AfterEach
+    void tearDown() {
+        openedTaskManagers.forEach(BTreeTaskManager::close);
+        openedTaskManagers.clear();
+    }
+
+    @Test
+    void loadStateFromFile() {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        taskManager.addEpic(epic);
+        taskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+        taskManager.getSubtaskById(FIRST_SUBTASK_ID);
+        taskManager.getTaskById(SECOND_TASK_ID);
+
+        final BTreeTaskManager newTaskManagerInstance = reloadTaskManager();
+
+        assertIterableEquals(List.of(firstTask, secondTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstSubtask, secondSubtask), newTaskManagerInstance.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+        assertEquals(firstSubtask.getStartTime(), newTaskManagerInstance.peekEpicById(EPIC_ID).getStartTime(),
+                "Epic start time is not restored.");
+        assertIterableEquals(List.of(firstSubtask, secondTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+        assertIterableEquals(List.of(firstTask, secondTask, firstSubtask, secondSubtask),
+                newTaskManagerInstance.getPrioritizedTasks(), "The returned prioritized tasks do not match.");
+        assertEquals(SECOND_SUBTASK_ID + 1, newTaskManagerInstance.getNextTaskId(),
+                "The id sequence value is incorrect.");
+    }
+
+    @Test
+    void keepCachedPagesWithinCapacity() {
+        final BTreeTaskManager smallCacheTaskManager = reopenTaskManagerWithSmallCache();
+        final List<Task> tasks = addTasks(smallCacheTaskManager, TASKS_COUNT, "Описание задачи ");
+
+        assertTrue(smallCacheTaskManager.getPagesCount() > 10 * CACHED_PAGES_COUNT, "Tasks fit into the cache.");
+        assertTrue(smallCacheTaskManager.getCachedPagesCount() <= CACHED_PAGES_COUNT,
+                "Cached pages count exceeds capacity.");
+        assertEquals(tasks.get(TASKS_COUNT / 2), smallCacheTaskManager.peekTaskById(FIRST_TASK_ID + TASKS_COUNT / 2),
+                "The returned task does not match.");
+        assertIterableEquals(tasks.subList(10, 13), smallCacheTaskManager.getPrioritizedTasks(
+                tasks.get(10).getStartTime(), tasks.get(12).getStartTime()), "The returned tasks do not match.");
+        assertTrue(smallCacheTaskManager.getCachedPagesCount() <= CACHED_PAGES_COUNT,
+                "Cached pages count exceeds capacity.");
+    }
+
+    @Test
+    void deleteTasksAndReload() {
+        final List<Task> tasks = addTasks(taskManager, TASKS_COUNT, "Описание задачи ");
+        final List<Task> remainingTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getId() % 3 == 0) {
+                remainingTasks.add(task);
+            } else {
+                taskManager.deleteTaskById(task.getId());
+            }
+        }
+
+        final BTreeTaskManager newTaskManagerInstance = reloadTaskManager();
+
+        assertIterableEquals(remainingTasks, newTaskManagerInstance.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(remainingTasks, newTaskManagerInstance.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void updateAndDeleteTasksWithChangingSizesInSmallCacheAndReload() {
+        final BTreeTaskManager smallCacheTaskManager = reopenTaskManagerWithSmallCache();
+        final List<Task> tasks = addTasks(smallCacheTaskManager, TASKS_COUNT, "Описание задачи ");
+        final Map<Integer, Task> expectedTasks = updateAndDeleteTasks(smallCacheTaskManager, tasks, MUTATIONS_COUNT);
+
+        smallCacheTaskManager.close();
+        final BTreeTaskManager newTaskManagerInstance = createTaskManagerInstance(CACHED_PAGES_COUNT);
+
+        assertIterableEquals(expectedTasks.values(), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertIterableEquals(expectedTasks.values(), newTaskManagerInstance.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void keepCachedPagesWithinCapacityWhenDeletingAllTasks() {
+        final BTreeTaskManager smallCacheTaskManager = reopenTaskManagerWithSmallCache();
+        final List<Task> tasks = addTasks(smallCacheTaskManager, TASKS_COUNT, "Описание задачи ");
+
+        smallCacheTaskManager.deleteAllTasks();
+
+        assertTrue(smallCacheTaskManager.getCachedPagesCount() <= CACHED_PAGES_COUNT,
+                "Cached pages count exceeds capacity.");
+        assertTrue(smallCacheTaskManager.getTasks().isEmpty(), "Tasks are not deleted.");
+        assertTrue(smallCacheTaskManager.addTask(tasks.get(0)), "Task is not added after deletion.");
+    }
+
+    @Test
+    void saveTaskLargerThanPage() {
+        final String description = "Длинное описание задачи. ".repeat(1000);
+        final Task largeTask = new Task(FIRST_TASK_ID, "Большая задача.", description, 60,
+                LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter));
+        taskManager.addTask(largeTask);
+        taskManager.addTask(secondTask);
+
+        final BTreeTaskManager newTaskManagerInstance = reloadTaskManager();
+
+        assertIterableEquals(List.of(largeTask, secondTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertEquals(description, newTaskManagerInstance.peekTaskById(FIRST_TASK_ID).getDescription(),
+                "Description is not restored.");
+    }
+
+    @Test
+    void rejectOverlappingTaskAfterReload() {
+        taskManager.addTask(firstTask);
+        final BTreeTaskManager newTaskManagerInstance = reloadTaskManager();
+        final Task overlappingTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.", 30,
+                firstTask.getStartTime().plusMinutes(30));
+
+        assertThrows(TaskOverlappingException.class, () -> newTaskManagerInstance.addTask(overlappingTask),
+                "Overlapping task is added.");
+        assertIterableEquals(List.of(firstTask), newTaskManagerInstance.getOverlappingTasks(overlappingTask),
+                "The returned overlapping tasks do not match.");
+    }
+
+    @Test
+    void recoverCommitInterruptedAfterJournalWrite() throws IOException {
+        addTasks(taskManager, TASKS_COUNT / 10, "Описание задачи ");
+        taskManager.close();
+        final byte[] pagesBeforeUpdate = Files.readAllBytes(file.toPath());
+        final BTreeTaskManager updatedTaskManager = createTaskManagerInstance(CACHED_PAGES_COUNT);
+        updatedTaskManager.deleteTaskById(FIRST_TASK_ID);
+        updatedTaskManager.addTask(new Task(FIRST_TASK_ID, "Большая задача.", "Длинное описание задачи. ".repeat(1000),
+                10, LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter)));
+        final List<Task> expectedTasks = updatedTaskManager.getTasks();
+        updatedTaskManager.close();
+        final byte[] pagesAfterUpdate = Files.readAllBytes(file.toPath());
+
+        final Map<Integer, ByteBuffer> journalPages = new TreeMap<>();
+        for (int page = 0; page < pagesAfterUpdate.length / PageCache.PAGE_SIZE; page++) {
+            journalPages.put(page, ByteBuffer.wrap(Arrays.copyOfRange(pagesAfterUpdate, page * PageCache.PAGE_SIZE,
+                    (page + 1) * PageCache.PAGE_SIZE)));
+        }
+        new PageJournal(file.toPath(), PageCache.PAGE_SIZE).write(journalPages);
+        final byte[] tornPages = Arrays.copyOf(pagesBeforeUpdate, pagesAfterUpdate.length);
+        System.arraycopy(pagesAfterUpdate, 0, tornPages, 0, PageCache.PAGE_SIZE);
+        Files.write(file.toPath(), tornPages);
+
+        assertIterableEquals(expectedTasks, createTaskManagerInstance(CACHED_PAGES_COUNT).getTasks(),
+                "The returned tasks do not match.");
+        assertEquals(0, Files.size(PageJournal.getPath(file.toPath())), "Journal is not cleared.");
+    }
+
+    private BTreeTaskManager reopenTaskManagerWithSmallCache() {
+        taskManager.close();
+        return createTaskManagerInstance(CACHED_PAGES_COUNT);
+    }
+}
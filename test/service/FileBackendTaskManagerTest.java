@@ -1,14 +1,20 @@
 package service;
 
 import model.Epic;
+import model.RecurringTask;
 import model.Subtask;
 import model.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import utils.DurabilityLevel;
+import utils.HydrationMode;
+import utils.PersistenceMode;
+import utils.SnapshotFormat;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,6 +22,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -53,6 +60,7 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
             DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
 
     private File file;
+    private Path historyJournalPath;
     private Task firstTask;
     private Task secondTask;
     private Epic firstEpic;
@@ -64,7 +72,9 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
     @Override
     public FileBackendTaskManager getTaskManager() {
         file = new File(FILE_PATH);
+        historyJournalPath = FileBackendTaskManager.getHistoryJournalPath(file);
         try {
+            Files.deleteIfExists(historyJournalPath);
             if (file.delete()) {
                 file.createNewFile();
             }
@@ -79,6 +89,10 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
         return FileBackendTaskManager.loadFromFile(file);
     }
 
+    protected TaskManager createTaskManagerInstance(HistoryManager historyManager) {
+        return FileBackendTaskManager.loadFromFile(file, historyManager);
+    }
+
     protected String getState() {
         try {
             String filePath = file.getAbsolutePath();
@@ -88,6 +102,30 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
         }
     }
 
+    protected void setState(String state) {
+        try {
+            Files.writeString(file.toPath(), state);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Ошибка записи файла: '%s'.\n", FILE_PATH), ex);
+        }
+    }
+
+    protected String getHistoryJournal() {
+        try {
+            return Files.readString(historyJournalPath);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Ошибка чтения файла: '%s'.\n", historyJournalPath), ex);
+        }
+    }
+
+    protected String getExpectedState(String tasksData, String historyLine) {
+        return tasksData;
+    }
+
+    protected String getExpectedHistoryJournal(String historyJournal) {
+        return historyJournal;
+    }
+
     @BeforeEach
     void setUp() {
         firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.", 60, FIRST_TASK_START_TIME);
@@ -100,7 +138,7 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
     }
 
     @Test
-    void saveStateWithHistoryLine() {
+    void saveStateWithHistoryJournal() {
         firstEpic.setSubtasks(List.of(firstEpicFirstSubtask, firstEpicSecondSubtask));
         secondEpic.setSubtasks(List.of(secondEpicFirstSubtask));
 
@@ -126,10 +164,14 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
                 String.format("5,SUBTASK,Выбрать место тренировок.,NEW,Выбрать спортзал.,10,%s,3\r\n", FIRST_SUBTASK_START_TIME_STRING) +
                 String.format("6,SUBTASK,Записаться в зал.,NEW,Оплатить абонемент.,15,%s,3\r\n", SECOND_SUBTASK_START_TIME_STRING) +
                 String.format("7,SUBTASK,Заказать лежак в интернет магазине.,NEW,Выбрать и заказать лежак в интернет магазине.,40,%s,4\r\n", THIRD_SUBTASK_START_TIME_STRING) +
-                "\r\n" +
-                "1,7,2,3,4";
+                "\r\n";
         String data = getState();
-        assertEquals(expectedData, data, "Saved in file state does not match");
+        assertEquals(getExpectedState(expectedData, "1,7,2,3,4"), data, "Saved in file state does not match");
+
+        final String expectedHistoryJournal = "1\r\n3\r\n7\r\n2\r\n3\r\n4\r\n";
+        String historyJournal = getHistoryJournal();
+        assertEquals(getExpectedHistoryJournal(expectedHistoryJournal), historyJournal,
+                "Saved history journal does not match");
 
         final TaskManager newTaskManagerInstance = createTaskManagerInstance();
 
@@ -349,4 +391,166 @@ public class FileBackendTaskManagerTest extends TaskManagerTest<FileBackendTaskM
         assertEquals(expectedHistoryTasksCount, historyTasksCount, "The count of history tasks does not match.");
         assertIterableEquals(expectedHistoryTasks, historyTasks, "The returned history tasks do not match.");
     }
+
+    @Test
+    void saveStateWithRecurringTask() {
+        final RecurringTask recurringTask = new RecurringTask(FIRST_TASK_ID, "Провести планёрку.",
+                "Обсудить задачи на день.", 15, FIRST_TASK_START_TIME, RecurringTask.DAILY_PERIOD);
+        taskManager.addTask(recurringTask);
+
+        final String expectedData = String.format("1,RECURRING_TASK,Провести планёрку.,NEW,Обсудить задачи на день.,15,%s,1440\r\n", FIRST_TASK_START_TIME_STRING) +
+                "\r\n";
+        String data = getState();
+        assertEquals(expectedData, data, "Saved in file state does not match");
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        final List<Task> expectedTasks = List.of(recurringTask);
+        final List<Task> tasks = newTaskManagerInstance.getTasks();
+
+        assertNotNull(tasks, "Tasks are not returned.");
+        assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
+        assertIterableEquals(expectedTasks, newTaskManagerInstance.getPrioritizedTasks(FIRST_TASK_START_TIME.plusDays(100),
+                FIRST_TASK_START_TIME.plusDays(100)), "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void saveStateWithManyViewsOfSameTasks() {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+
+        for (int i = 0; i < 1000; i++) {
+            taskManager.getTaskById(SECOND_TASK_ID);
+        }
+        taskManager.getTaskById(FIRST_TASK_ID);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(secondTask, firstTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void saveStateWithoutViewsOfDeletedTasks() {
+        final Task replacedSecondTask = new Task(SECOND_TASK_ID, "Помыть окна.", "Помыть окна на кухне.", 30,
+                SECOND_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        taskManager.getTaskById(SECOND_TASK_ID);
+        taskManager.getTaskById(FIRST_TASK_ID);
+        taskManager.deleteTaskById(SECOND_TASK_ID);
+        taskManager.addTask(replacedSecondTask);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(firstTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void saveStateWithAsynchronousHistory() {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        final AsyncHistoryManager historyManager = new AsyncHistoryManager(new InMemoryHistoryManager());
+        final TaskManager asyncTaskManager = createTaskManagerInstance(historyManager);
+
+        asyncTaskManager.getTaskById(SECOND_TASK_ID);
+        asyncTaskManager.getTaskById(FIRST_TASK_ID);
+        historyManager.close();
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance(new InMemoryHistoryManager());
+
+        assertIterableEquals(List.of(secondTask, firstTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void appendFlushedViewsToHistoryJournal() {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        final AsyncHistoryManager historyManager = new AsyncHistoryManager(new InMemoryHistoryManager());
+        final TaskManager asyncTaskManager = createTaskManagerInstance(historyManager);
+
+        asyncTaskManager.getTaskById(SECOND_TASK_ID);
+        asyncTaskManager.getTaskById(FIRST_TASK_ID);
+        asyncTaskManager.getHistory();
+        asyncTaskManager.getTaskById(SECOND_TASK_ID);
+        historyManager.close();
+
+        assertEquals(getExpectedHistoryJournal("2\r\n1\r\n2\r\n"), getHistoryJournal(),
+                "Saved history journal does not match");
+        assertIterableEquals(List.of(firstTask, secondTask),
+                createTaskManagerInstance(new InMemoryHistoryManager()).getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void keepLegacyHistoryLineAfterMigration() {
+        setState(String.format("1,TASK,Сходить в магазин.,NEW,Купить продукты.,60,%s,\r\n", FIRST_TASK_START_TIME_STRING) +
+                String.format("2,TASK,Убраться в квартире.,NEW,Пропылесосить полы.,70,%s,\r\n", SECOND_TASK_START_TIME_STRING) +
+                "\r\n" +
+                "2,1");
+
+        final TaskManager migratedTaskManager = createTaskManagerInstance(new InMemoryHistoryManager());
+        final TaskManager firstReloadedTaskManager = createTaskManagerInstance(new InMemoryHistoryManager());
+        final TaskManager secondReloadedTaskManager = createTaskManagerInstance(new InMemoryHistoryManager());
+
+        assertIterableEquals(List.of(secondTask, firstTask), migratedTaskManager.getHistory(),
+                "The returned history tasks do not match.");
+        assertIterableEquals(List.of(secondTask, firstTask), firstReloadedTaskManager.getHistory(),
+                "The returned history tasks do not match.");
+        assertIterableEquals(List.of(secondTask, firstTask), secondReloadedTaskManager.getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void rejectUnsupportedSnapshotModeOptions() {
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.SNAPSHOT, DurabilityLevel.ASYNC),
+                "Unsupported durability level is ignored.");
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.SNAPSHOT, DurabilityLevel.SYNC,
+                        SnapshotFormat.BINARY),
+                "Unsupported snapshot format is ignored.");
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.SNAPSHOT, DurabilityLevel.SYNC,
+                        SnapshotFormat.CSV, HydrationMode.LAZY),
+                "Unsupported hydration mode is ignored.");
+    }
+
+    @Test
+    void saveStateWithRecordsLongerThanReadBuffer() {
+        final Task longTask = new Task(FIRST_TASK_ID, "Разобрать архив.", "Длинное описание.".repeat(10_000), 60,
+                FIRST_TASK_START_TIME);
+        taskManager.addTask(longTask);
+        taskManager.addTask(secondTask);
+        taskManager.addEpic(firstEpic);
+        taskManager.addSubtask(firstEpicFirstSubtask);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(longTask, secondTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstEpicFirstSubtask), newTaskManagerInstance.getEpicSubtasksById(FIRST_EPIC_ID),
+                "The returned subtasks do not match.");
+    }
+
+    @Test
+    void saveStateLargerThanLoadingChunk() {
+        final String description = "Длинное описание.".repeat(20_000);
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(new Task(THIRD_SUBTASK_ID + i + 1, "Разобрать архив.", description, 10,
+                    FIRST_TASK_START_TIME.plusHours(i)));
+        }
+        taskManager.addTasks(tasks);
+        taskManager.addEpic(firstEpic);
+        taskManager.addSubtask(firstEpicFirstSubtask);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(tasks, newTaskManagerInstance.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstEpicFirstSubtask), newTaskManagerInstance.getEpicSubtasksById(FIRST_EPIC_ID),
+                "The returned subtasks do not match.");
+    }
 }
@@ -58,6 +58,11 @@ public class HttpTaskManagerTest extends FileBackendTaskManagerTest {
         return taskManager;
     }
 
+    @Override
+    protected TaskManager createTaskManagerInstance(HistoryManager historyManager) {
+        return HTTPTaskManager.loadFromServer(TEST_URL, TEST_API_KEY, historyManager);
+    }
+
     @Override
     protected String getState() {
         try {
@@ -66,4 +71,28 @@ public class HttpTaskManagerTest extends FileBackendTaskManagerTest {
             throw new RuntimeException(String.format("Ошибка чтения данных с сервера: '%s'.\n", TEST_URL), ex);
         }
     }
+
+    @Override
+    protected void setState(String state) {
+        try {
+            client.put(TEST_API_KEY, state);
+        } catch (IOException | InterruptedException ex) {
+            throw new RuntimeException(String.format("Ошибка записи данных на сервер: '%s'.\n", TEST_URL), ex);
+        }
+    }
+
+    @Override
+    protected String getHistoryJournal() {
+        return "";
+    }
+
+    @Override
+    protected String getExpectedState(String tasksData, String historyLine) {
+        return tasksData + historyLine;
+    }
+
+    @Override
+    protected String getExpectedHistoryJournal(String historyJournal) {
+        return "";
+    }
 }
@@ -5,12 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class InMemoryHistoryManagerTest {
     private final int TASK_DURATION = 60;
@@ -191,4 +196,58 @@ class InMemoryHistoryManagerTest {
         assertEquals(expectedTasksCount, tasksCount, "The count of tasks does not match.");
         assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void addToHistoryRemoveOldestTasksWhenCapacityIsExceeded() {
+        historyManager = new InMemoryHistoryManager(2);
+        final Task firstTask = new Task(1, "Сходить в магазин.", "Купить продукты.", TASK_DURATION, TASK_START_DATE);
+        final Task secondTask = new Task(2, "Убраться в квартире.", "Пропылесосить полы.", TASK_DURATION, TASK_START_DATE);
+        final Task thirdTask = new Task(3, "Вакцинировать кошку.", "Отвезти кошку в ветеринарную клинику.", TASK_DURATION, TASK_START_DATE);
+
+        historyManager.add(firstTask);
+        historyManager.add(secondTask);
+        historyManager.add(firstTask);
+        historyManager.add(thirdTask);
+
+        final List<Task> expectedTasks = List.of(firstTask, thirdTask);
+        final List<Task> tasks = historyManager.getHistory();
+
+        assertIterableEquals(expectedTasks, tasks, "The returned tasks do not match.");
+    }
+
+    @Test
+    void addToHistoryKeepOrderWhenManyTasksAreAddedAndRemoved() {
+        final int capacity = 100;
+        historyManager = new InMemoryHistoryManager(capacity);
+        final Map<Integer, Task> expectedHistory = new LinkedHashMap<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            final int id = random.nextInt(3 * capacity);
+            if (random.nextInt(4) == 0) {
+                historyManager.remove(id);
+                expectedHistory.remove(id);
+            } else {
+                final Task task = new Task(id, "Задача.", "Описание задачи.", TASK_DURATION, TASK_START_DATE);
+                historyManager.add(task);
+                expectedHistory.remove(id);
+                expectedHistory.put(id, task);
+                if (expectedHistory.size() > capacity) {
+                    expectedHistory.remove(expectedHistory.keySet().iterator().next());
+                }
+            }
+        }
+
+        assertIterableEquals(new ArrayList<>(expectedHistory.values()), historyManager.getHistory(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void createHistoryManagerWithNotPositiveCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new InMemoryHistoryManager(0),
+                "Expected InMemoryHistoryManager() to throw IllegalArgumentException"
+        );
+    }
+}
@@ -0,0 +1,230 @@
+package service;
+
+import model.Task;
+import org.junit.jupiter.api.Test;
+import utils.DurabilityLevel;
+import utils.HydrationMode;
+import utils.PageJournal;
+import utils.PagedRecordStore;
+import utils.PersistenceMode;
+import utils.SnapshotFormat;
+import utils.Status;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PagedTaskManagerTest extends PersistentTaskManagerTest<FileBackendTaskManager> {
+    private static final String FILE_PATH = "data/TestPagedTasksData.csv";
+    private static final int TASKS_COUNT = 300;
+
+    private File file;
+    private Path pagedStorePath;
+
+    @Override
+    public FileBackendTaskManager getTaskManager() {
+        file = new File(FILE_PATH);
+        pagedStorePath = FileBackendTaskManager.getPagedStorePath(file);
+        deleteFiles(file);
+
+        return createTaskManagerInstance();
+    }
+
+    private FileBackendTaskManager createTaskManagerInstance() {
+        return FileBackendTaskManager.loadFromFile(file, new InMemoryHistoryManager(), PersistenceMode.PAGED,
+                DurabilityLevel.SYNC, SnapshotFormat.CSV);
+    }
+
+    @Override
+    FileBackendTaskManager reloadTaskManager() {
+        taskManager = createTaskManagerInstance();
+        return taskManager;
+    }
+
+    private static int countChangedPages(byte[] before, byte[] after) {
+        int changedPages = 0;
+        int pagesCount = Math.max(before.length, after.length) / PagedRecordStore.PAGE_SIZE;
+        for (int page = 0; page < pagesCount; page++) {
+            int from = page * PagedRecordStore.PAGE_SIZE;
+            int to = from + PagedRecordStore.PAGE_SIZE;
+            if (to > before.length || to > after.length
+                    || !Arrays.equals(before, from, to, after, from, to)) {
+                changedPages++;
+            }
+        }
+        return changedPages;
+    }
+
+    private void writeJournal(byte[] pages, int length) throws IOException {
+        final Map<Integer, ByteBuffer> journalPages = new TreeMap<>();
+        for (int page = 0; page < length / PagedRecordStore.PAGE_SIZE; page++) {
+            journalPages.put(page, ByteBuffer.wrap(Arrays.copyOfRange(pages, page * PagedRecordStore.PAGE_SIZE,
+                    (page + 1) * PagedRecordStore.PAGE_SIZE)));
+        }
+        new PageJournal(pagedStorePath, PagedRecordStore.PAGE_SIZE).write(journalPages);
+    }
+
+    @Test
+    void updateTaskRewriteSinglePage() throws IOException {
+        final List<Task> tasks = addTasks(taskManager, TASKS_COUNT, "Описание задачи ");
+        final byte[] pagesBeforeUpdate = Files.readAllBytes(pagedStorePath);
+        final Task task = tasks.get(TASKS_COUNT / 2);
+        final Task updatedTask = new Task(task.getId(), task.getName(), task.getDescription(), Status.DONE,
+                task.getDuration(), task.getStartTime());
+        taskManager.updateTask(updatedTask);
+        final byte[] pagesAfterUpdate = Files.readAllBytes(pagedStorePath);
+
+        assertTrue(pagesBeforeUpdate.length > 2 * PagedRecordStore.PAGE_SIZE, "Tasks fit into a single page.");
+        assertEquals(pagesBeforeUpdate.length, pagesAfterUpdate.length, "File size is changed.");
+        assertEquals(1, countChangedPages(pagesBeforeUpdate, pagesAfterUpdate), "More than one page is changed.");
+        assertEquals(updatedTask.getStatus(), createTaskManagerInstance().peekTaskById(task.getId()).getStatus(),
+                "Task is not updated.");
+    }
+
+    @Test
+    void reuseSpaceOfDeletedTasks() throws IOException {
+        addTasks(taskManager, TASKS_COUNT, "Описание задачи ");
+        final long sizeBeforeDelete = Files.size(pagedStorePath);
+        for (int id = FIRST_TASK_ID; id < FIRST_TASK_ID + TASKS_COUNT; id += 2) {
+            taskManager.deleteTaskById(id);
+        }
+        final LocalDateTime startTime = LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter);
+        for (int i = 0; i < TASKS_COUNT; i += 2) {
+            taskManager.addTask(new Task(FIRST_TASK_ID + i, "Задача " + i, "Описание задачи " + i, 10,
+                    startTime.minusDays(7).plusMinutes(20L * i)));
+        }
+
+        assertEquals(sizeBeforeDelete, Files.size(pagedStorePath), "Space of deleted tasks is not reused.");
+        assertIterableEquals(taskManager.getTasks(), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void saveTaskLargerThanPage() {
+        final String description = "Длинное описание задачи. ".repeat(1000);
+        final Task largeTask = new Task(FIRST_TASK_ID, "Большая задача.", description, 60,
+                LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter));
+        taskManager.addTask(largeTask);
+        taskManager.addTask(secondTask);
+        final FileBackendTaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(largeTask, secondTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertEquals(description, newTaskManagerInstance.peekTaskById(FIRST_TASK_ID).getDescription(),
+                "Description is not restored.");
+
+        taskManager.deleteTaskById(FIRST_TASK_ID);
+
+        assertIterableEquals(List.of(secondTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void loadStateAfterCascadeDelete() {
+        taskManager.addEpic(epic);
+        taskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+        taskManager.addTask(firstTask);
+        taskManager.getTaskById(FIRST_TASK_ID);
+        taskManager.deleteSubtaskById(FIRST_SUBTASK_ID);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(epic), newTaskManagerInstance.getEpics(), "The returned epics do not match.");
+        assertIterableEquals(List.of(secondSubtask), newTaskManagerInstance.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+        assertIterableEquals(List.of(firstTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+        assertEquals(SECOND_SUBTASK_ID + 1, newTaskManagerInstance.getNextTaskId(),
+                "The id sequence value is incorrect.");
+
+        newTaskManagerInstance.deleteEpicById(EPIC_ID);
+
+        final TaskManager reloadedTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(), reloadedTaskManagerInstance.getEpics(), "Epic is returned.");
+        assertIterableEquals(List.of(), reloadedTaskManagerInstance.getSubtasks(), "Subtasks are returned.");
+        assertIterableEquals(List.of(firstTask), reloadedTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void importDataFileOnFirstLoad() throws IOException {
+        Files.createFile(file.toPath());
+        final FileBackendTaskManager snapshotTaskManager = FileBackendTaskManager.loadFromFile(file);
+        snapshotTaskManager.addTask(firstTask);
+        snapshotTaskManager.addEpic(epic);
+        snapshotTaskManager.addSubtask(firstSubtask);
+        Files.delete(pagedStorePath);
+
+        final FileBackendTaskManager importedTaskManager = createTaskManagerInstance();
+        Files.delete(file.toPath());
+        final FileBackendTaskManager reloadedTaskManager = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(firstTask), importedTaskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstTask), reloadedTaskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(epic), reloadedTaskManager.getEpics(), "The returned epics do not match.");
+        assertIterableEquals(List.of(firstSubtask), reloadedTaskManager.getSubtasks(),
+                "The returned subtasks do not match.");
+    }
+
+    @Test
+    void recoverCommitInterruptedAfterJournalWrite() throws IOException {
+        final List<Task> tasks = addTasks(taskManager, TASKS_COUNT, "Описание задачи ");
+        final byte[] pagesBeforeUpdate = Files.readAllBytes(pagedStorePath);
+        final Task task = tasks.get(TASKS_COUNT / 2);
+        final Task movedTask = new Task(task.getId(), task.getName(), "Длинное описание задачи. ".repeat(1000),
+                Status.DONE, task.getDuration(), task.getStartTime());
+        taskManager.updateTask(movedTask);
+        taskManager.deleteTaskById(FIRST_TASK_ID);
+        final List<Task> expectedTasks = taskManager.getTasks();
+        final byte[] pagesAfterUpdate = Files.readAllBytes(pagedStorePath);
+
+        writeJournal(pagesAfterUpdate, pagesAfterUpdate.length);
+        final byte[] tornPages = Arrays.copyOf(pagesBeforeUpdate, pagesAfterUpdate.length);
+        System.arraycopy(pagesAfterUpdate, 0, tornPages, 0, PagedRecordStore.PAGE_SIZE);
+        Files.write(pagedStorePath, tornPages);
+
+        assertIterableEquals(expectedTasks, createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+        assertEquals(0, Files.size(PageJournal.getPath(pagedStorePath)), "Journal is not cleared.");
+    }
+
+    @Test
+    void ignoreTornPageJournal() throws IOException {
+        final List<Task> tasks = addTasks(taskManager, TASKS_COUNT, "Описание задачи ");
+        final byte[] pages = Files.readAllBytes(pagedStorePath);
+
+        writeJournal(new byte[pages.length], pages.length);
+        final Path journalPath = PageJournal.getPath(pagedStorePath);
+        final byte[] journal = Files.readAllBytes(journalPath);
+        Files.write(journalPath, Arrays.copyOf(journal, journal.length - 1));
+
+        assertIterableEquals(tasks, createTaskManagerInstance().getTasks(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void rejectUnsupportedPersistenceOptions() {
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.PAGED, DurabilityLevel.GROUP_COMMIT),
+                "Unsupported durability level is ignored.");
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.PAGED, DurabilityLevel.SYNC, SnapshotFormat.BINARY),
+                "Unsupported snapshot format is ignored.");
+        assertThrows(IllegalArgumentException.class, () -> FileBackendTaskManager.loadFromFile(file,
+                        new InMemoryHistoryManager(), PersistenceMode.PAGED, DurabilityLevel.SYNC, SnapshotFormat.CSV,
+                        HydrationMode.LAZY),
+                "Unsupported hydration mode is ignored.");
+    }
+}
@@ -0,0 +1,174 @@
+package service;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Status;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+abstract class PersistentTaskManagerTest<T extends TaskManager> extends TaskManagerTest<T> {
+    static final int FIRST_TASK_ID = 1;
+    static final int SECOND_TASK_ID = 2;
+    static final int EPIC_ID = 3;
+    static final int FIRST_SUBTASK_ID = 4;
+    static final int SECOND_SUBTASK_ID = 5;
+    private static final int MUTATED_TASKS_COUNT = 200;
+    private static final int MUTATIONS_COUNT = 400;
+
+    static final String FIRST_TASK_START_TIME_STRING = "08.11.2022 11:00";
+    static final String SECOND_TASK_START_TIME_STRING = "08.11.2022 12:01";
+    static final String EPIC_START_TIME_STRING = "08.11.2022 13:20";
+    static final String FIRST_SUBTASK_START_TIME_STRING = "08.11.2022 13:20";
+    static final String SECOND_SUBTASK_START_TIME_STRING = "08.11.2022 13:50";
+
+    static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    Task firstTask;
+    Task secondTask;
+    Epic epic;
+    Subtask firstSubtask;
+    Subtask secondSubtask;
+
+    abstract T reloadTaskManager();
+
+    static void deleteFiles(File file) {
+        try (Stream<Path> paths = Files.list(file.getAbsoluteFile().getParentFile().toPath())) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (path.getFileName().toString().startsWith(file.getName())) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Ошибка удаления файла: '%s'.\n", file.getPath()), ex);
+        }
+    }
+
+    static List<Task> addTasks(TaskManager tasksManager, int count, String description) {
+        List<Task> tasks = new ArrayList<>();
+        LocalDateTime startTime = LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task(FIRST_TASK_ID + i, "Задача " + i, description + i, 10,
+                    startTime.plusMinutes(20L * i)));
+        }
+        tasksManager.addTasks(tasks);
+        return tasks;
+    }
+
+    static Map<Integer, Task> updateAndDeleteTasks(TaskManager tasksManager, List<Task> tasks, int mutationsCount) {
+        final Map<Integer, Task> expectedTasks = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            expectedTasks.put(task.getId(), task);
+        }
+        final Random random = new Random(tasks.size());
+        for (int i = 0; i < mutationsCount; i++) {
+            final int id = FIRST_TASK_ID + random.nextInt(tasks.size());
+            final Task existingTask = expectedTasks.get(id);
+            if (existingTask == null) {
+                continue;
+            }
+            if (random.nextInt(4) == 0) {
+                tasksManager.deleteTaskById(id);
+                expectedTasks.remove(id);
+                continue;
+            }
+            final Task updatedTask = new Task(id, existingTask.getName(), "Описание ".repeat(random.nextInt(200)),
+                    existingTask.getDuration(), existingTask.getStartTime());
+            tasksManager.updateTask(updatedTask);
+            expectedTasks.put(id, updatedTask);
+        }
+        return expectedTasks;
+    }
+
+    @BeforeEach
+    void setUpEntities() {
+        firstTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.", 60,
+                LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter));
+        secondTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.", 70,
+                LocalDateTime.parse(SECOND_TASK_START_TIME_STRING, formatter));
+        epic = new Epic(EPIC_ID, "Начать заниматься спортом.", "Пойти в спортзал.",
+                LocalDateTime.parse(EPIC_START_TIME_STRING, formatter));
+        firstSubtask = new Subtask(FIRST_SUBTASK_ID, "Выбрать место тренировок.", "Выбрать спортзал.", 10,
+                LocalDateTime.parse(FIRST_SUBTASK_START_TIME_STRING, formatter), EPIC_ID);
+        secondSubtask = new Subtask(SECOND_SUBTASK_ID, "Записаться в зал.", "Оплатить абонемент.", 15,
+                LocalDateTime.parse(SECOND_SUBTASK_START_TIME_STRING, formatter), EPIC_ID);
+    }
+
+    @Test
+    void updateAndDeleteTasksWithChangingSizesAndReloadEachTime() {
+        final List<Task> tasks = addTasks(taskManager, MUTATED_TASKS_COUNT, "Описание задачи ");
+        final Map<Integer, Task> expectedTasks = updateAndDeleteTasks(taskManager, tasks, MUTATIONS_COUNT / 2);
+
+        final TaskManager reloadedTaskManager = reloadTaskManager();
+
+        assertIterableEquals(expectedTasks.values(), reloadedTaskManager.getTasks(),
+                "The returned tasks do not match.");
+
+        final Map<Integer, Task> expectedMutatedTasks = updateAndDeleteTasks(reloadedTaskManager,
+                new ArrayList<>(expectedTasks.values()), MUTATIONS_COUNT / 2);
+        final TaskManager mutatedTaskManager = reloadTaskManager();
+
+        assertIterableEquals(expectedMutatedTasks.values(), mutatedTaskManager.getTasks(),
+                "The returned tasks do not match.");
+        assertIterableEquals(expectedMutatedTasks.values(), mutatedTaskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void updateSubtasksWithChangingSizesAndReload() {
+        taskManager.addEpic(epic);
+        taskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+        taskManager.addTask(firstTask);
+        final Subtask grownSubtask = new Subtask(FIRST_SUBTASK_ID, firstSubtask.getName(),
+                "Выбрать спортзал. ".repeat(500), Status.DONE, firstSubtask.getDuration(),
+                firstSubtask.getStartTime(), EPIC_ID);
+        final Subtask shrunkSubtask = new Subtask(SECOND_SUBTASK_ID, secondSubtask.getName(), "Оплатить.",
+                Status.IN_PROGRESS, secondSubtask.getDuration(), secondSubtask.getStartTime(), EPIC_ID);
+        taskManager.updateSubtask(grownSubtask);
+        taskManager.updateSubtask(shrunkSubtask);
+
+        final TaskManager reloadedTaskManager = reloadTaskManager();
+
+        assertIterableEquals(List.of(grownSubtask, shrunkSubtask), reloadedTaskManager.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+        assertEquals(Status.IN_PROGRESS, reloadedTaskManager.peekEpicById(EPIC_ID).getStatus(),
+                "Epic status is not restored.");
+
+        final Subtask restoredSubtask = new Subtask(FIRST_SUBTASK_ID, firstSubtask.getName(),
+                firstSubtask.getDescription(), Status.DONE, firstSubtask.getDuration(),
+                firstSubtask.getStartTime(), EPIC_ID);
+        reloadedTaskManager.updateSubtask(restoredSubtask);
+        reloadedTaskManager.deleteSubtaskById(SECOND_SUBTASK_ID);
+        final TaskManager mutatedTaskManager = reloadTaskManager();
+
+        assertIterableEquals(List.of(restoredSubtask), mutatedTaskManager.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+        assertEquals(Status.DONE, mutatedTaskManager.peekEpicById(EPIC_ID).getStatus(),
+                "Epic status is not restored.");
+
+        mutatedTaskManager.deleteEpicById(EPIC_ID);
+        final TaskManager cascadedTaskManager = reloadTaskManager();
+
+        assertTrue(cascadedTaskManager.getEpics().isEmpty(), "Epic is returned.");
+        assertTrue(cascadedTaskManager.getSubtasks().isEmpty(), "Subtasks are returned.");
+        assertIterableEquals(List.of(firstTask), cascadedTaskManager.getTasks(), "The returned tasks do not match.");
+    }
+}
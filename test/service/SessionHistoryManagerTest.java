@@ -0,0 +1,115 @@
+package service;
+
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+
+class SessionHistoryManagerTest {
+    private static final int TASK_DURATION = 60;
+    private static final LocalDateTime TASK_START_DATE = LocalDateTime.now();
+    private static final Duration SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final long[] now = {0L};
+    private SessionHistoryManager historyManager;
+    private Task firstTask;
+    private Task secondTask;
+
+    @BeforeEach
+    void setUp() {
+        historyManager = new SessionHistoryManager(10, 2, SESSION_IDLE_TIMEOUT, () -> now[0]);
+        firstTask = new Task(1, "Сходить в магазин.", "Купить продукты.", TASK_DURATION, TASK_START_DATE);
+        secondTask = new Task(2, "Убраться в квартире.", "Пропылесосить полы.", TASK_DURATION, TASK_START_DATE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SessionHistoryManager.unbindSession();
+    }
+
+    @Test
+    void getHistoryReturnOnlyCurrentSessionHistory() {
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        SessionHistoryManager.bindSession("second");
+        historyManager.add(secondTask);
+
+        assertIterableEquals(List.of(secondTask), historyManager.getHistory(), "The returned tasks do not match.");
+        SessionHistoryManager.bindSession("first");
+        assertIterableEquals(List.of(firstTask), historyManager.getHistory(), "The returned tasks do not match.");
+        SessionHistoryManager.unbindSession();
+        assertIterableEquals(Collections.emptyList(), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void removeTaskFromAllSessionsHistory() {
+        historyManager.add(firstTask);
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        historyManager.add(secondTask);
+
+        historyManager.remove(firstTask.getId());
+
+        assertIterableEquals(List.of(secondTask), historyManager.getHistory(), "The returned tasks do not match.");
+        assertIterableEquals(Collections.emptyList(), historyManager.getSharedHistory(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void evictLeastRecentlyUsedSessionWhenSessionsLimitIsExceeded() {
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        SessionHistoryManager.bindSession("second");
+        historyManager.add(secondTask);
+        SessionHistoryManager.bindSession("first");
+        historyManager.getHistory();
+        SessionHistoryManager.bindSession("third");
+        historyManager.add(secondTask);
+
+        assertEquals(2, historyManager.getSessionsCount(), "The count of sessions does not match.");
+        SessionHistoryManager.bindSession("first");
+        assertIterableEquals(List.of(firstTask), historyManager.getHistory(), "The returned tasks do not match.");
+        SessionHistoryManager.bindSession("second");
+        assertIterableEquals(Collections.emptyList(), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void evictIdleSessionWhenIdleTimeoutIsExpired() {
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        now[0] += SESSION_IDLE_TIMEOUT.toNanos() / 2;
+        SessionHistoryManager.bindSession("second");
+        historyManager.add(secondTask);
+        now[0] += SESSION_IDLE_TIMEOUT.toNanos() / 2;
+
+        assertEquals(1, historyManager.getSessionsCount(), "The count of sessions does not match.");
+        assertIterableEquals(List.of(secondTask), historyManager.getHistory(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void removeTaskFromSessionsHistoryAfterEvictions() {
+        SessionHistoryManager.bindSession("first");
+        historyManager.add(firstTask);
+        for (int id = 3; id <= 12; id++) {
+            historyManager.add(new Task(id, "Задача " + id, "Описание задачи " + id, TASK_DURATION, TASK_START_DATE));
+        }
+        SessionHistoryManager.bindSession("second");
+        historyManager.add(firstTask);
+        historyManager.add(secondTask);
+
+        historyManager.remove(firstTask.getId());
+        historyManager.remove(3);
+
+        assertIterableEquals(List.of(secondTask), historyManager.getHistory(), "The returned tasks do not match.");
+        SessionHistoryManager.bindSession("first");
+        assertEquals(9, historyManager.getHistory().size(), "The count of history tasks does not match.");
+    }
+}
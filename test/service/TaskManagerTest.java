@@ -1,14 +1,21 @@
 package service;
 
+import exceptions.TaskOverlappingException;
+import model.DayLoad;
 import model.Epic;
+import model.RecurringTask;
 import model.Subtask;
 import model.Task;
+import model.TimeSlot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import utils.SchedulingStrategy;
 import utils.Status;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -337,6 +344,82 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertNull(savedSubtask, "Subtask is returned.");
     }
 
+    @Test
+    void peekExistingTaskByIdNotRecordHistory() {
+        final int taskId = taskManager.getNextTaskId();
+        final Task task = new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+
+        taskManager.addTask(task);
+        final Task savedTask = taskManager.peekTaskById(taskId);
+
+        assertEquals(task, savedTask, "The returned task do not match.");
+        assertTrue(taskManager.containsTask(taskId), "Task is not found.");
+        assertFalse(taskManager.containsEpic(taskId), "Epic is found.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getHistory(), "History is recorded.");
+    }
+
+    @Test
+    void peekExistingEpicAndSubtaskByIdNotRecordHistory() {
+        final int epicId = taskManager.getNextTaskId();
+        final int subtaskId = taskManager.getNextTaskId();
+        final Epic epic = new Epic(epicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME);
+        final Subtask subtask = new Subtask(subtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId);
+
+        taskManager.addEpic(epic);
+        taskManager.addSubtask(subtask);
+
+        assertEquals(epic, taskManager.peekEpicById(epicId), "The returned epic do not match.");
+        assertEquals(subtask, taskManager.peekSubtaskById(subtaskId), "The returned subtask do not match.");
+        assertTrue(taskManager.containsEpic(epicId), "Epic is not found.");
+        assertTrue(taskManager.containsSubtask(subtaskId), "Subtask is not found.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getHistory(), "History is recorded.");
+    }
+
+    @Test
+    void getTopViewedTasksOrderedByViewsCount() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final int epicId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Epic epic = new Epic(epicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME);
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        taskManager.addEpic(epic);
+
+        taskManager.getTaskById(firstTaskId);
+        taskManager.getEpicById(epicId);
+        taskManager.getEpicById(epicId);
+        taskManager.getTaskById(secondTaskId);
+        taskManager.getEpicById(epicId);
+        taskManager.getTaskById(secondTaskId);
+        taskManager.peekTaskById(firstTaskId);
+
+        assertIterableEquals(List.of(epic, secondTask), taskManager.getTopViewedTasks(2),
+                "The returned tasks do not match.");
+        assertIterableEquals(List.of(epic, secondTask, firstTask), taskManager.getTopViewedTasks(10),
+                "The returned tasks do not match.");
+
+        taskManager.deleteEpicById(epicId);
+
+        assertIterableEquals(List.of(secondTask, firstTask), taskManager.getTopViewedTasks(10),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void peekNotExistingTaskById() {
+        final int notExistingTaskId = 1;
+
+        assertNull(taskManager.peekTaskById(notExistingTaskId), "Task is returned.");
+        assertFalse(taskManager.containsTask(notExistingTaskId), "Task is found.");
+    }
+
     @Test
     void addTaskAddTaskWhenAddNotExistingTask() {
         final int taskId = taskManager.getNextTaskId();
@@ -861,4 +944,695 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(expectedPrioritizedTasksCount, prioritizedTasksCount, "The count of prioritized tasks does not match.");
         assertIterableEquals(expectedPrioritizedTasks, prioritizedTasks , "The returned prioritized tasks do not match.");
     }
+
+    @Test
+    void getOverlappingTasksWhenTaskOverlapsExistingTasks() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final int thirdTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Task thirdTask = new Task(thirdTaskId, "Приготовить ужин.", "Запечь овощи.",
+                2 * TASK_DURATION, FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION / 2));
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+
+        final List<Task> expectedOverlappingTasks = List.of(firstTask, secondTask);
+        final List<Task> overlappingTasks = taskManager.getOverlappingTasks(thirdTask);
+
+        assertNotNull(overlappingTasks, "Overlapping tasks are not returned.");
+        assertIterableEquals(expectedOverlappingTasks, overlappingTasks, "The returned overlapping tasks do not match.");
+    }
+
+    @Test
+    void getOverlappingTasksWhenTaskDoesNotOverlapExistingTasks() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+
+        final List<Task> overlappingTasks = taskManager.getOverlappingTasks(secondTask);
+
+        assertNotNull(overlappingTasks, "Overlapping tasks are not returned.");
+        assertIterableEquals(Collections.emptyList(), overlappingTasks, "The returned overlapping tasks do not match.");
+    }
+
+    @Test
+    void addTaskThrowExceptionWithOverlappingTasksWhenAddTaskWithOverlappingExistingTasks() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION));
+
+        taskManager.addTask(firstTask);
+
+        final TaskOverlappingException exception = assertThrows(
+                TaskOverlappingException.class,
+                () -> taskManager.addTask(secondTask),
+                "Expected addTask() to throw TaskOverlappingException"
+        );
+
+        assertIterableEquals(List.of(firstTask), exception.getOverlappingTasks(),
+                "The overlapping tasks of exception do not match.");
+    }
+
+    @Test
+    void updateTaskReleaseOldTimeIntervalWhenUpdateTaskStartTime() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+
+        final Task updatedFirstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        taskManager.updateTask(updatedFirstTask);
+
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final boolean success = taskManager.addTask(secondTask);
+
+        assertTrue(success, "Success add task return false flag.");
+        assertIterableEquals(List.of(secondTask, updatedFirstTask), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void updateTaskReleaseOldTimeIntervalWhenStoredTaskIsMutated() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+
+        final Task storedTask = taskManager.peekTaskById(firstTaskId);
+        storedTask.setStartTime(SECOND_TASK_START_TIME);
+        taskManager.updateTask(storedTask);
+
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final boolean success = taskManager.addTask(secondTask);
+
+        assertTrue(success, "Success add task return false flag.");
+        assertIterableEquals(List.of(secondTask, storedTask), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+        assertIterableEquals(List.of(secondTask), taskManager.getPrioritizedTasks(FIRST_TASK_START_TIME,
+                FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION)), "The returned tasks do not match.");
+    }
+
+    @Test
+    void updateSubtaskReleaseOldTimeIntervalWhenStoredSubtaskIsMutated() {
+        final int epicId = taskManager.getNextTaskId();
+        final int subtaskId = taskManager.getNextTaskId();
+        final int taskId = taskManager.getNextTaskId();
+        taskManager.addEpic(new Epic(epicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME));
+        taskManager.addSubtask(new Subtask(subtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId));
+
+        final Subtask storedSubtask = taskManager.peekSubtaskById(subtaskId);
+        storedSubtask.setStartTime(SECOND_EPIC_START_TIME);
+        storedSubtask.setStatus(Status.DONE);
+        taskManager.updateSubtask(storedSubtask);
+
+        final Task task = new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME);
+
+        assertTrue(taskManager.addTask(task), "Success add task return false flag.");
+        assertEquals(Status.DONE, taskManager.peekEpicById(epicId).getStatus(), "The epic status is incorrect.");
+        assertEquals(SECOND_EPIC_START_TIME, taskManager.peekEpicById(epicId).getStartTime(),
+                "The epic start time does not match.");
+    }
+
+    @Test
+    void getPrioritizedTasksWhenTasksIntersectTimeWindow() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final int epicId = taskManager.getNextTaskId();
+        final int firstSubtaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Subtask firstSubtask = new Subtask(firstSubtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId);
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        taskManager.addSubtask(firstSubtask);
+
+        final LocalDateTime from = FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION / 2);
+        final LocalDateTime to = SECOND_TASK_START_TIME;
+        final List<Task> expectedPrioritizedTasks = List.of(firstTask, secondTask);
+        final List<Task> prioritizedTasks = taskManager.getPrioritizedTasks(from, to);
+
+        assertNotNull(prioritizedTasks, "Prioritized tasks are not returned.");
+        assertIterableEquals(expectedPrioritizedTasks, prioritizedTasks, "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void getPrioritizedTasksWhenNoTaskIntersectsTimeWindow() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+
+        final LocalDateTime from = FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION + 1);
+        final LocalDateTime to = SECOND_TASK_START_TIME;
+        final List<Task> prioritizedTasks = taskManager.getPrioritizedTasks(from, to);
+
+        assertNotNull(prioritizedTasks, "Prioritized tasks are not returned.");
+        assertIterableEquals(Collections.emptyList(), prioritizedTasks, "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void findFreeSlotsWhenGapsFitDuration() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+
+        final LocalDateTime from = FIRST_TASK_START_TIME.minusMinutes(TASK_DURATION);
+        final LocalDateTime to = SECOND_TASK_START_TIME.plusMinutes(3 * TASK_DURATION);
+        final List<TimeSlot> expectedFreeSlots = List.of(
+                new TimeSlot(from, FIRST_TASK_START_TIME.minusMinutes(1)),
+                new TimeSlot(SECOND_TASK_START_TIME.plusMinutes(TASK_DURATION + 1), to));
+        final List<TimeSlot> freeSlots = taskManager.findFreeSlots(TASK_DURATION / 2, from, to, 10);
+
+        assertNotNull(freeSlots, "Free slots are not returned.");
+        assertIterableEquals(expectedFreeSlots, freeSlots, "The returned free slots do not match.");
+    }
+
+    @Test
+    void findFreeSlotsWhenLimitIsReached() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+
+        final LocalDateTime from = FIRST_TASK_START_TIME.minusMinutes(TASK_DURATION);
+        final LocalDateTime to = SECOND_TASK_START_TIME.plusMinutes(TASK_DURATION);
+        final List<TimeSlot> expectedFreeSlots = List.of(new TimeSlot(from, FIRST_TASK_START_TIME.minusMinutes(1)));
+        final List<TimeSlot> freeSlots = taskManager.findFreeSlots(TASK_DURATION / 2, from, to, 1);
+
+        assertIterableEquals(expectedFreeSlots, freeSlots, "The returned free slots do not match.");
+    }
+
+    @Test
+    void findFreeSlotsWhenNoGapFitsDuration() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+
+        final List<TimeSlot> freeSlots = taskManager.findFreeSlots(TASK_DURATION,
+                FIRST_TASK_START_TIME, SECOND_TASK_START_TIME.plusMinutes(TASK_DURATION), 10);
+
+        assertIterableEquals(Collections.emptyList(), freeSlots, "The returned free slots do not match.");
+    }
+
+    @Test
+    void addTasksAddAllTasksWhenBatchDoesNotOverlap() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+
+        final boolean success = taskManager.addTasks(List.of(secondTask, firstTask));
+
+        assertTrue(success, "Success add tasks return false flag.");
+        assertIterableEquals(List.of(firstTask, secondTask), taskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstTask, secondTask), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void addTasksAddNothingWhenBatchContainsStoredId() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Task taskWithStoredId = new Task(firstTaskId, "Помыть посуду.", "Загрузить посудомойку.",
+                TASK_DURATION, FIRST_TASK_START_TIME.minusHours(2));
+        taskManager.addTask(firstTask);
+
+        final boolean success = taskManager.addTasks(List.of(taskWithStoredId, secondTask));
+
+        assertFalse(success, "Failed add tasks return true flag.");
+        assertIterableEquals(List.of(firstTask), taskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstTask), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void addTasksAddNothingWhenBatchContainsNullValue() {
+        final Task task = new Task(taskManager.getNextTaskId(), "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+
+        final boolean success = taskManager.addTasks(Arrays.asList(task, null));
+
+        assertFalse(success, "Failed add tasks return true flag.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+    }
+
+    @Test
+    void addSubtasksAddNothingWhenBatchContainsNullValue() {
+        final int epicId = taskManager.getNextTaskId();
+        final Epic epic = new Epic(epicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME);
+        final Subtask subtask = new Subtask(taskManager.getNextTaskId(), "Выбрать место тренировок.",
+                "Выбрать спортзал.", TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId);
+        taskManager.addEpic(epic);
+
+        final boolean success = taskManager.addSubtasks(Arrays.asList(null, subtask));
+
+        assertFalse(success, "Failed add subtasks return true flag.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getSubtasks(), "The returned subtasks do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getEpicSubtasksById(epicId),
+                "The returned epic subtasks do not match.");
+    }
+
+    @Test
+    void addTasksThrowExceptionWhenBatchTasksOverlapEachOther() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION / 2));
+
+        final TaskOverlappingException exception = assertThrows(
+                TaskOverlappingException.class,
+                () -> taskManager.addTasks(List.of(firstTask, secondTask)),
+                "Expected addTasks() to throw TaskOverlappingException"
+        );
+
+        assertIterableEquals(List.of(firstTask, secondTask), exception.getOverlappingTasks(),
+                "The overlapping tasks of exception do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getTasks(), "The returned tasks do not match.");
+    }
+
+    @Test
+    void addSubtasksThrowExceptionWhenBatchSubtasksOverlapExistingTasks() {
+        final int taskId = taskManager.getNextTaskId();
+        final int epicId = taskManager.getNextTaskId();
+        final int firstSubtaskId = taskManager.getNextTaskId();
+        final int secondSubtaskId = taskManager.getNextTaskId();
+        final Task task = new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME);
+        final Subtask firstSubtask = new Subtask(firstSubtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId);
+        final Subtask secondSubtask = new Subtask(secondSubtaskId, "Записаться в зал.", "Оплатить абонемент.",
+                TASK_DURATION, SECOND_SUBTASK_START_TIME, epicId);
+        taskManager.addTask(task);
+
+        final TaskOverlappingException exception = assertThrows(
+                TaskOverlappingException.class,
+                () -> taskManager.addSubtasks(List.of(firstSubtask, secondSubtask)),
+                "Expected addSubtasks() to throw TaskOverlappingException"
+        );
+
+        assertIterableEquals(List.of(task), exception.getOverlappingTasks(),
+                "The overlapping tasks of exception do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getSubtasks(), "The returned subtasks do not match.");
+    }
+
+    @Test
+    void scheduleTasksPlaceTasksIntoFirstFittingGapWhenFirstFitStrategy() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final int firstUnscheduledTaskId = taskManager.getNextTaskId();
+        final int secondUnscheduledTaskId = taskManager.getNextTaskId();
+        taskManager.addTask(new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME));
+        taskManager.addTask(new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME));
+        final Task firstUnscheduledTask = new Task(firstUnscheduledTaskId, "Помыть посуду.", "Загрузить посудомойку.",
+                TASK_DURATION, null);
+        final Task secondUnscheduledTask = new Task(secondUnscheduledTaskId, "Полить цветы.", "Полить цветы на кухне.",
+                5, null);
+
+        final List<Task> scheduledTasks = taskManager.scheduleTasks(
+                List.of(firstUnscheduledTask, secondUnscheduledTask), FIRST_TASK_START_TIME.minusHours(1),
+                FIRST_EPIC_START_TIME, SchedulingStrategy.FIRST_FIT);
+
+        assertIterableEquals(List.of(firstUnscheduledTask, secondUnscheduledTask), scheduledTasks,
+                "The returned scheduled tasks do not match.");
+        assertEquals(FIRST_TASK_START_TIME.minusHours(1), firstUnscheduledTask.getStartTime(),
+                "The start time of first scheduled task is incorrect.");
+        assertEquals(FIRST_TASK_START_TIME.minusHours(1).plusMinutes(TASK_DURATION + 1),
+                secondUnscheduledTask.getStartTime(), "The start time of second scheduled task is incorrect.");
+        assertEquals(4, taskManager.getPrioritizedTasks().size(), "Scheduled tasks are not added.");
+    }
+
+    @Test
+    void scheduleTasksPlaceTasksIntoSmallestFittingGapWhenBestFitStrategy() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final int firstUnscheduledTaskId = taskManager.getNextTaskId();
+        final int secondUnscheduledTaskId = taskManager.getNextTaskId();
+        taskManager.addTask(new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME));
+        taskManager.addTask(new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME));
+        final Task firstUnscheduledTask = new Task(firstUnscheduledTaskId, "Помыть посуду.", "Загрузить посудомойку.",
+                TASK_DURATION, null);
+        final Task secondUnscheduledTask = new Task(secondUnscheduledTaskId, "Полить цветы.", "Полить цветы на кухне.",
+                5, null);
+
+        final List<Task> scheduledTasks = taskManager.scheduleTasks(
+                List.of(firstUnscheduledTask, secondUnscheduledTask), FIRST_TASK_START_TIME.minusHours(1),
+                FIRST_EPIC_START_TIME, SchedulingStrategy.BEST_FIT);
+
+        assertIterableEquals(List.of(firstUnscheduledTask, secondUnscheduledTask), scheduledTasks,
+                "The returned scheduled tasks do not match.");
+        assertEquals(SECOND_TASK_START_TIME.plusMinutes(TASK_DURATION + 1), firstUnscheduledTask.getStartTime(),
+                "The start time of first scheduled task is incorrect.");
+        assertEquals(FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION + 1), secondUnscheduledTask.getStartTime(),
+                "The start time of second scheduled task is incorrect.");
+    }
+
+    @Test
+    void scheduleTasksPlaceSubtaskInsideEpicWindow() {
+        final int taskId = taskManager.getNextTaskId();
+        final int epicId = taskManager.getNextTaskId();
+        final int firstStoredSubtaskId = taskManager.getNextTaskId();
+        final int secondStoredSubtaskId = taskManager.getNextTaskId();
+        final int firstSubtaskId = taskManager.getNextTaskId();
+        final int secondSubtaskId = taskManager.getNextTaskId();
+        taskManager.addTask(new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME));
+        taskManager.addEpic(new Epic(epicId, "Сходить в спортзал.", "Начать заниматься спортом.",
+                FIRST_EPIC_START_TIME));
+        taskManager.addSubtasks(List.of(
+                new Subtask(firstStoredSubtaskId, "Купить форму.", "Купить кроссовки.",
+                        TASK_DURATION, FIRST_EPIC_START_TIME, epicId),
+                new Subtask(secondStoredSubtaskId, "Сходить на тренировку.", "Позаниматься с тренером.",
+                        TASK_DURATION, FIRST_EPIC_START_TIME.plusMinutes(3 * TASK_DURATION), epicId)));
+        final Subtask firstSubtask = new Subtask(firstSubtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, null, epicId);
+        final Subtask secondSubtask = new Subtask(secondSubtaskId, "Записаться в зал.", "Оплатить абонемент.",
+                TASK_DURATION, null, epicId);
+
+        final List<Task> scheduledTasks = taskManager.scheduleTasks(List.of(firstSubtask),
+                FIRST_TASK_START_TIME.minusHours(1), SECOND_EPIC_START_TIME.plusHours(3),
+                SchedulingStrategy.FIRST_FIT);
+        final List<Task> notScheduledTasks = taskManager.scheduleTasks(List.of(secondSubtask),
+                FIRST_TASK_START_TIME.minusHours(1), FIRST_EPIC_START_TIME.minusMinutes(1),
+                SchedulingStrategy.FIRST_FIT);
+
+        assertIterableEquals(List.of(firstSubtask), scheduledTasks, "The returned scheduled tasks do not match.");
+        assertEquals(FIRST_EPIC_START_TIME.plusMinutes(TASK_DURATION + 1), firstSubtask.getStartTime(),
+                "The start time of subtask is incorrect.");
+        assertIterableEquals(Collections.emptyList(), notScheduledTasks, "The returned scheduled tasks do not match.");
+        assertNull(secondSubtask.getStartTime(), "Not scheduled subtask start time is changed.");
+        assertEquals(3, taskManager.getEpicSubtasksById(epicId).size(), "The epic subtasks count is incorrect.");
+    }
+
+    @Test
+    void scheduleTasksNotPlaceSubtaskOfEpicWithoutDuration() {
+        final int epicId = taskManager.getNextTaskId();
+        final int subtaskId = taskManager.getNextTaskId();
+        taskManager.addEpic(new Epic(epicId, "Сходить в спортзал.", "Начать заниматься спортом.",
+                FIRST_EPIC_START_TIME));
+        final Subtask subtask = new Subtask(subtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, null, epicId);
+
+        final List<Task> scheduledTasks = taskManager.scheduleTasks(List.of(subtask),
+                FIRST_TASK_START_TIME.minusHours(1), SECOND_EPIC_START_TIME, SchedulingStrategy.FIRST_FIT);
+
+        assertIterableEquals(Collections.emptyList(), scheduledTasks, "The returned scheduled tasks do not match.");
+        assertNull(subtask.getStartTime(), "Not scheduled subtask start time is changed.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getSubtasks(), "The returned subtasks do not match.");
+    }
+
+    @Test
+    void scheduleTasksSkipTasksWithStoredId() {
+        final int taskId = taskManager.getNextTaskId();
+        final int unscheduledTaskId = taskManager.getNextTaskId();
+        taskManager.addTask(new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME));
+        final Task taskWithStoredId = new Task(taskId, "Помыть посуду.", "Загрузить посудомойку.",
+                TASK_DURATION, null);
+        final Task unscheduledTask = new Task(unscheduledTaskId, "Полить цветы.", "Полить цветы на кухне.",
+                TASK_DURATION, null);
+
+        final List<Task> scheduledTasks = taskManager.scheduleTasks(List.of(taskWithStoredId, unscheduledTask),
+                FIRST_TASK_START_TIME.minusHours(1), FIRST_EPIC_START_TIME, SchedulingStrategy.FIRST_FIT);
+
+        assertIterableEquals(List.of(unscheduledTask), scheduledTasks, "The returned scheduled tasks do not match.");
+        assertNull(taskWithStoredId.getStartTime(), "Not scheduled task start time is changed.");
+        assertEquals(FIRST_TASK_START_TIME.minusHours(1), unscheduledTask.getStartTime(),
+                "The start time of scheduled task is incorrect.");
+        assertEquals("Сходить в магазин.", taskManager.peekTaskById(taskId).getName(), "Stored task is replaced.");
+    }
+
+    @Test
+    void getDailyLoadWhenTaskSpansMidnight() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final LocalDate firstDay = FIRST_TASK_START_TIME.toLocalDate();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                2 * TASK_DURATION, firstDay.atTime(23, 30));
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+
+        final List<DayLoad> expectedDailyLoad = List.of(
+                new DayLoad(firstDay, 2, 2 * TASK_DURATION),
+                new DayLoad(firstDay.plusDays(1), 1, TASK_DURATION),
+                new DayLoad(firstDay.plusDays(2), 0, 0));
+        final List<DayLoad> dailyLoad = taskManager.getDailyLoad(firstDay, firstDay.plusDays(2));
+
+        assertIterableEquals(expectedDailyLoad, dailyLoad, "The returned daily load does not match.");
+        assertIterableEquals(List.of(firstTask, secondTask), taskManager.getTasksByDate(firstDay),
+                "The returned tasks of day do not match.");
+    }
+
+    @Test
+    void getDailyLoadWhenTasksAreUpdatedAndDeleted() {
+        final int firstTaskId = taskManager.getNextTaskId();
+        final int secondTaskId = taskManager.getNextTaskId();
+        final LocalDate firstDay = FIRST_TASK_START_TIME.toLocalDate();
+        final Task firstTask = new Task(firstTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME);
+        final Task secondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME);
+        final Task updatedSecondTask = new Task(secondTaskId, "Убраться в квартире.", "Пропылесосить полы.",
+                TASK_DURATION, SECOND_TASK_START_TIME.plusDays(1));
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        taskManager.updateTask(updatedSecondTask);
+        taskManager.deleteTaskById(firstTaskId);
+
+        final List<DayLoad> expectedDailyLoad = List.of(
+                new DayLoad(firstDay, 0, 0),
+                new DayLoad(firstDay.plusDays(1), 1, TASK_DURATION));
+        final List<DayLoad> dailyLoad = taskManager.getDailyLoad(firstDay, firstDay.plusDays(1));
+
+        assertIterableEquals(expectedDailyLoad, dailyLoad, "The returned daily load does not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getTasksByDate(firstDay),
+                "The returned tasks of day do not match.");
+    }
+
+    @Test
+    void addTaskThrowExceptionWhenTaskOverlapsRecurringTaskOccurrence() {
+        final int recurringTaskId = taskManager.getNextTaskId();
+        final int taskId = taskManager.getNextTaskId();
+        final RecurringTask recurringTask = new RecurringTask(recurringTaskId, "Провести планёрку.",
+                "Обсудить задачи на день.", TASK_DURATION / 2, FIRST_TASK_START_TIME, RecurringTask.DAILY_PERIOD);
+        final Task task = new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME.plusDays(30).minusMinutes(TASK_DURATION / 2));
+        taskManager.addTask(recurringTask);
+
+        final TaskOverlappingException exception = assertThrows(
+                TaskOverlappingException.class,
+                () -> taskManager.addTask(task),
+                "Expected addTask() to throw TaskOverlappingException"
+        );
+
+        assertIterableEquals(List.of(recurringTask), exception.getOverlappingTasks(),
+                "The overlapping tasks of exception do not match.");
+        assertTrue(taskManager.addTask(new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, SECOND_TASK_START_TIME.plusDays(30))), "Not overlapping task is not added.");
+    }
+
+    @Test
+    void getOverlappingTasksWhenRecurringTaskOccurrencesOverlapExistingTasks() {
+        final int recurringTaskId = taskManager.getNextTaskId();
+        final int earlierTaskId = taskManager.getNextTaskId();
+        final int betweenOccurrencesTaskId = taskManager.getNextTaskId();
+        final int longTaskId = taskManager.getNextTaskId();
+        final int distantTaskId = taskManager.getNextTaskId();
+        final RecurringTask recurringTask = new RecurringTask(recurringTaskId, "Провести планёрку.",
+                "Обсудить задачи на день.", TASK_DURATION / 2, FIRST_TASK_START_TIME, RecurringTask.DAILY_PERIOD);
+        final Task earlierTask = new Task(earlierTaskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME.minusDays(1));
+        final Task betweenOccurrencesTask = new Task(betweenOccurrencesTaskId, "Убраться в квартире.",
+                "Пропылесосить полы.", TASK_DURATION, FIRST_TASK_START_TIME.plusDays(2).plusHours(3));
+        final Task longTask = new Task(longTaskId, "Съездить на дачу.", "Покрасить забор.",
+                2 * RecurringTask.DAILY_PERIOD, FIRST_TASK_START_TIME.plusDays(10).minusHours(1));
+        final Task distantTask = new Task(distantTaskId, "Приготовить ужин.", "Запечь овощи.",
+                TASK_DURATION, FIRST_TASK_START_TIME.plusDays(365).plusMinutes(10));
+        taskManager.addTasks(List.of(earlierTask, betweenOccurrencesTask, longTask, distantTask));
+
+        final List<Task> overlappingTasks = taskManager.getOverlappingTasks(recurringTask);
+
+        assertIterableEquals(List.of(longTask, distantTask), overlappingTasks,
+                "The returned overlapping tasks do not match.");
+    }
+
+    @Test
+    void addTaskCheckRecurringTasksOverlappingByPeriods() {
+        final int dailyTaskId = taskManager.getNextTaskId();
+        final int weeklyTaskId = taskManager.getNextTaskId();
+        final int everyHourTaskId = taskManager.getNextTaskId();
+        final RecurringTask dailyTask = new RecurringTask(dailyTaskId, "Провести планёрку.",
+                "Обсудить задачи на день.", TASK_DURATION / 2, FIRST_TASK_START_TIME, RecurringTask.DAILY_PERIOD);
+        final RecurringTask weeklyTask = new RecurringTask(weeklyTaskId, "Провести ретроспективу.",
+                "Обсудить итоги недели.", TASK_DURATION, FIRST_TASK_START_TIME.plusDays(2).plusMinutes(TASK_DURATION),
+                RecurringTask.WEEKLY_PERIOD);
+        final RecurringTask everyHourTask = new RecurringTask(everyHourTaskId, "Проверить почту.",
+                "Ответить на письма.", 5, FIRST_TASK_START_TIME.plusMinutes(TASK_DURATION), 60);
+
+        assertTrue(taskManager.addTask(dailyTask), "Recurring task is not added.");
+        assertTrue(taskManager.addTask(weeklyTask), "Not overlapping recurring task is not added.");
+        final TaskOverlappingException exception = assertThrows(
+                TaskOverlappingException.class,
+                () -> taskManager.addTask(everyHourTask),
+                "Expected addTask() to throw TaskOverlappingException"
+        );
+
+        assertIterableEquals(List.of(weeklyTask), exception.getOverlappingTasks(),
+                "The overlapping tasks of exception do not match.");
+    }
+
+    @Test
+    void addTaskThrowExceptionWhenRecurrencePeriodIsNotLongerThanDuration() {
+        final int recurringTaskId = taskManager.getNextTaskId();
+        final RecurringTask recurringTask = new RecurringTask(recurringTaskId, "Провести планёрку.",
+                "Обсудить задачи на день.", TASK_DURATION, FIRST_TASK_START_TIME, TASK_DURATION);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> taskManager.addTask(recurringTask),
+                "Expected addTask() to throw IllegalArgumentException"
+        );
+    }
+
+    @Test
+    void getPrioritizedTasksAndFreeSlotsWhenRecurringTaskOccursInTimeWindow() {
+        final int recurringTaskId = taskManager.getNextTaskId();
+        final int taskId = taskManager.getNextTaskId();
+        final RecurringTask recurringTask = new RecurringTask(recurringTaskId, "Провести планёрку.",
+                "Обсудить задачи на день.", TASK_DURATION, FIRST_TASK_START_TIME, RecurringTask.DAILY_PERIOD);
+        final Task task = new Task(taskId, "Сходить в магазин.", "Купить продукты.",
+                TASK_DURATION, FIRST_TASK_START_TIME.plusDays(10).minusMinutes(50));
+        taskManager.addTask(recurringTask);
+        taskManager.addTask(task);
+
+        final LocalDateTime from = FIRST_TASK_START_TIME.plusDays(10).minusHours(1);
+        final LocalDateTime to = FIRST_TASK_START_TIME.plusDays(10).plusHours(1);
+        final List<TimeSlot> expectedFreeSlots = List.of(
+                new TimeSlot(from, task.getStartTime().minusMinutes(1)),
+                new TimeSlot(task.getEndTime().plusMinutes(1), FIRST_TASK_START_TIME.plusDays(10).minusMinutes(1)),
+                new TimeSlot(FIRST_TASK_START_TIME.plusDays(10).plusMinutes(TASK_DURATION + 1), to));
+
+        assertIterableEquals(List.of(task, recurringTask), taskManager.getPrioritizedTasks(from, to),
+                "The returned prioritized tasks do not match.");
+        assertIterableEquals(expectedFreeSlots, taskManager.findFreeSlots(5, from, to, 10),
+                "The returned free slots do not match.");
+        assertIterableEquals(List.of(
+                        new TimeSlot(FIRST_TASK_START_TIME.plusDays(10),
+                                FIRST_TASK_START_TIME.plusDays(10).plusMinutes(TASK_DURATION)),
+                        new TimeSlot(FIRST_TASK_START_TIME.plusDays(11),
+                                FIRST_TASK_START_TIME.plusDays(11).plusMinutes(TASK_DURATION))),
+                recurringTask.getOccurrences(from, to.plusDays(1)), "The returned occurrences do not match.");
+        assertEquals(new DayLoad(from.toLocalDate(), 2, 2 * TASK_DURATION),
+                taskManager.getDailyLoad(from.toLocalDate(), from.toLocalDate()).get(0),
+                "The returned daily load does not match.");
+    }
+
+    @Test
+    void getEpicSubtasksByIdWhenSubtasksAreAddedMovedAndDeleted() {
+        final int firstEpicId = taskManager.getNextTaskId();
+        final int secondEpicId = taskManager.getNextTaskId();
+        final int firstSubtaskId = taskManager.getNextTaskId();
+        final int secondSubtaskId = taskManager.getNextTaskId();
+        final Epic firstEpic = new Epic(firstEpicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME);
+        final Epic secondEpic = new Epic(secondEpicId, "Купить лежак для кошки.", "Купить лежак на подоконник.",
+                SECOND_EPIC_START_TIME);
+        final Subtask firstSubtask = new Subtask(firstSubtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, firstEpicId);
+        final Subtask secondSubtask = new Subtask(secondSubtaskId, "Записаться в зал.", "Оплатить абонемент.",
+                TASK_DURATION, SECOND_SUBTASK_START_TIME, firstEpicId);
+        final Subtask movedSecondSubtask = new Subtask(secondSubtaskId, "Заказать лежак.", "Выбрать лежак.",
+                TASK_DURATION, SECOND_SUBTASK_START_TIME, secondEpicId);
+        taskManager.addSubtask(firstSubtask);
+        taskManager.addEpic(firstEpic);
+        taskManager.addEpic(secondEpic);
+        taskManager.addSubtask(secondSubtask);
+
+        assertIterableEquals(List.of(firstSubtask, secondSubtask), taskManager.getEpicSubtasksById(firstEpicId),
+                "The returned subtasks of first epic do not match.");
+
+        taskManager.updateSubtask(movedSecondSubtask);
+
+        assertIterableEquals(List.of(firstSubtask), taskManager.getEpicSubtasksById(firstEpicId),
+                "The returned subtasks of first epic do not match.");
+        assertIterableEquals(List.of(movedSecondSubtask), taskManager.getEpicSubtasksById(secondEpicId),
+                "The returned subtasks of second epic do not match.");
+
+        taskManager.deleteSubtaskById(firstSubtaskId);
+
+        assertIterableEquals(Collections.emptyList(), taskManager.getEpicSubtasksById(firstEpicId),
+                "The returned subtasks of first epic do not match.");
+        assertEquals(FIRST_EPIC_START_TIME, firstEpic.getStartTime(), "The epic start time does not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getHistory(), "The history is changed.");
+    }
+
+    @Test
+    void deleteEpicByIdDeleteEpicSubtasks() {
+        final int epicId = taskManager.getNextTaskId();
+        final int firstSubtaskId = taskManager.getNextTaskId();
+        final int secondSubtaskId = taskManager.getNextTaskId();
+        final Epic epic = new Epic(epicId, "Начать заниматься спортом.", "Пойти в спортзал.",
+                FIRST_EPIC_START_TIME);
+        final Subtask firstSubtask = new Subtask(firstSubtaskId, "Выбрать место тренировок.", "Выбрать спортзал.",
+                TASK_DURATION, FIRST_SUBTASK_START_TIME, epicId);
+        final Subtask secondSubtask = new Subtask(secondSubtaskId, "Записаться в зал.", "Оплатить абонемент.",
+                TASK_DURATION, SECOND_SUBTASK_START_TIME, epicId);
+        taskManager.addEpic(epic);
+        taskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+        taskManager.getSubtaskById(firstSubtaskId);
+
+        taskManager.deleteEpicById(epicId);
+
+        assertIterableEquals(Collections.emptyList(), taskManager.getSubtasks(), "The returned subtasks do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getPrioritizedTasks(),
+                "The returned prioritized tasks do not match.");
+        assertIterableEquals(Collections.emptyList(), taskManager.getHistory(), "The history is not cleared.");
+    }
 }
@@ -0,0 +1,387 @@
+package service;
+
+import exceptions.ManagerSaveException;
+import model.RecurringTask;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.Test;
+import utils.DurabilityLevel;
+import utils.GenerationFiles;
+import utils.HydrationMode;
+import utils.PersistenceMode;
+import utils.SnapshotFormat;
+import utils.Status;
+import utils.TaskParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteAheadLogTaskManagerTest extends PersistentTaskManagerTest<FileBackendTaskManager> {
+    private static final String FILE_PATH = "data/TestWriteAheadLogTasksData.csv";
+
+    private File file;
+    private Path writeAheadLogPath;
+
+    @Override
+    public FileBackendTaskManager getTaskManager() {
+        file = new File(FILE_PATH);
+        writeAheadLogPath = FileBackendTaskManager.getWriteAheadLogPath(file);
+        deleteFiles(file);
+
+        return createTaskManagerInstance();
+    }
+
+    private FileBackendTaskManager createTaskManagerInstance() {
+        return FileBackendTaskManager.loadFromFile(file, PersistenceMode.WRITE_AHEAD_LOG);
+    }
+
+    @Override
+    FileBackendTaskManager reloadTaskManager() {
+        taskManager = createTaskManagerInstance();
+        return taskManager;
+    }
+
+    private String getWriteAheadLog() {
+        return readFile(GenerationFiles.getPath(writeAheadLogPath, 0));
+    }
+
+    @Test
+    void saveOperationsAsLogRecords() {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        final Task updatedTask = new Task(FIRST_TASK_ID, "Сходить в магазин.", "Купить продукты.", Status.DONE, 60,
+                LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter));
+        taskManager.updateTask(updatedTask);
+        taskManager.deleteTaskById(SECOND_TASK_ID);
+        taskManager.deleteTaskById(SECOND_TASK_ID);
+
+        final String expectedLog = String.format("ADD,1,TASK,Сходить в магазин.,NEW,Купить продукты.,60,%s,\r\n", FIRST_TASK_START_TIME_STRING) +
+                String.format("ADD,2,TASK,Убраться в квартире.,NEW,Пропылесосить полы.,70,%s,\r\n", SECOND_TASK_START_TIME_STRING) +
+                String.format("UPDATE,1,TASK,Сходить в магазин.,DONE,Купить продукты.,60,%s,\r\n", FIRST_TASK_START_TIME_STRING) +
+                "DELETE_TASK,2\r\n";
+
+        assertEquals(expectedLog, getWriteAheadLog(), "Saved log does not match.");
+        assertFalse(file.exists(), "Data file is rewritten.");
+        assertIterableEquals(List.of(updatedTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void loadStateByReplayingLog() {
+        taskManager.addEpic(epic);
+        taskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+        taskManager.addTask(firstTask);
+        taskManager.getSubtaskById(SECOND_SUBTASK_ID);
+        taskManager.getTaskById(FIRST_TASK_ID);
+        taskManager.deleteSubtaskById(FIRST_SUBTASK_ID);
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(epic), newTaskManagerInstance.getEpics(), "The returned epics do not match.");
+        assertIterableEquals(List.of(secondSubtask), newTaskManagerInstance.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+        assertIterableEquals(List.of(secondSubtask, firstTask), newTaskManagerInstance.getHistory(),
+                "The returned history tasks do not match.");
+        assertEquals(SECOND_SUBTASK_ID + 1, newTaskManagerInstance.getNextTaskId(), "The id sequence value is incorrect.");
+
+        newTaskManagerInstance.deleteEpicById(EPIC_ID);
+
+        final TaskManager reloadedTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(), reloadedTaskManagerInstance.getEpics(), "Epic is returned.");
+        assertIterableEquals(List.of(), reloadedTaskManagerInstance.getSubtasks(), "Subtasks are returned.");
+    }
+
+    @Test
+    void loadStateIgnoreTornLastRecord() throws IOException {
+        taskManager.addTask(firstTask);
+        taskManager.addTask(secondTask);
+        Files.writeString(GenerationFiles.getPath(writeAheadLogPath, 0), "ADD,7,TASK,Незаве",
+                StandardOpenOption.APPEND);
+
+        assertIterableEquals(List.of(firstTask, secondTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void keepRecordsAppendedAfterTornRecord() throws IOException {
+        taskManager.addTask(firstTask);
+        Files.writeString(GenerationFiles.getPath(writeAheadLogPath, 0), "ADD,7,TASK,Незаве",
+                StandardOpenOption.APPEND);
+        createTaskManagerInstance().addTask(secondTask);
+
+        assertIterableEquals(List.of(firstTask, secondTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void failLoadWhenCompleteRecordIsCorrupt() throws IOException {
+        taskManager.addTask(firstTask);
+        final Path writeAheadLogSegmentPath = GenerationFiles.getPath(writeAheadLogPath, 0);
+        Files.writeString(writeAheadLogSegmentPath, "ADD,7,TASK,Незаве" + System.lineSeparator() +
+                "ADD," + TaskParser.toEscapedString(secondTask) + System.lineSeparator(), StandardOpenOption.APPEND);
+        final String writeAheadLog = getWriteAheadLog();
+
+        assertThrows(ManagerSaveException.class, this::createTaskManagerInstance, "Corrupt log record is skipped.");
+        assertEquals(writeAheadLog, getWriteAheadLog(), "Log is truncated.");
+    }
+
+    @Test
+    void loadStateWithSeparatorsInTaskFields() {
+        final Task taskWithSeparators = new Task(FIRST_TASK_ID, "Сходить в магазин, аптеку.",
+                "Купить:\r\nхлеб, молоко\\сыр.", 60, LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter));
+        taskManager.addTask(taskWithSeparators);
+        taskManager.addTask(secondTask);
+
+        assertIterableEquals(List.of(taskWithSeparators, secondTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void failLoadWhenReplayedRecordIsRejected() throws IOException {
+        taskManager.addTask(firstTask);
+        final Task overlappingTask = new Task(SECOND_TASK_ID, "Убраться в квартире.", "Пропылесосить полы.", 30,
+                firstTask.getStartTime().plusMinutes(30));
+        Files.writeString(GenerationFiles.getPath(writeAheadLogPath, 0),
+                "ADD," + TaskParser.toString(overlappingTask) + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        assertThrows(ManagerSaveException.class, this::createTaskManagerInstance,
+                "Rejected log record is skipped.");
+    }
+
+    @Test
+    void snapshotTruncateLogBehindIt() throws ExecutionException, InterruptedException {
+        final Path snapshotPath = FileBackendTaskManager.getSnapshotPath(file);
+        taskManager.addTask(firstTask);
+        taskManager.addEpic(epic);
+        taskManager.addSubtask(firstSubtask);
+
+        taskManager.snapshot().get();
+        taskManager.addSubtask(secondSubtask);
+        taskManager.deleteTaskById(FIRST_TASK_ID);
+
+        assertTrue(Files.exists(GenerationFiles.getPath(snapshotPath, 1)), "Snapshot is not saved.");
+        assertFalse(Files.exists(GenerationFiles.getPath(writeAheadLogPath, 0)), "Log is not truncated.");
+        assertEquals("ADD," + String.format("5,SUBTASK,Записаться в зал.,NEW,Оплатить абонемент.,15,%s,3\r\n", SECOND_SUBTASK_START_TIME_STRING) +
+                        "DELETE_TASK,1\r\n", readFile(GenerationFiles.getPath(writeAheadLogPath, 1)),
+                "Log tail does not match.");
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertIterableEquals(List.of(), newTaskManagerInstance.getTasks(), "Task is returned.");
+        assertIterableEquals(List.of(firstSubtask, secondSubtask), newTaskManagerInstance.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+    }
+
+    @Test
+    void loadPreviousSnapshotWhenLatestIsDamaged() throws ExecutionException, InterruptedException, IOException {
+        final Path snapshotPath = FileBackendTaskManager.getSnapshotPath(file);
+        taskManager.addTask(firstTask);
+        taskManager.snapshot().get();
+        taskManager.addTask(secondTask);
+        taskManager.snapshot().get();
+        taskManager.addEpic(epic);
+        Files.writeString(GenerationFiles.getPath(snapshotPath, 2), "1,TASK,Сходить");
+
+        final TaskManager newTaskManagerInstance = createTaskManagerInstance();
+
+        assertEquals(2, newTaskManagerInstance.getTasks().size(), "The count of tasks does not match.");
+        assertIterableEquals(List.of(epic), newTaskManagerInstance.getEpics(), "The returned epics do not match.");
+    }
+
+    @Test
+    void loadStateFromBinarySnapshot() throws ExecutionException, InterruptedException, IOException {
+        final Path snapshotPath = FileBackendTaskManager.getSnapshotPath(file);
+        final FileBackendTaskManager binaryTaskManager = createBinarySnapshotTaskManager();
+        final RecurringTask recurringTask = new RecurringTask(SECOND_TASK_ID, "Провести планёрку.",
+                "Обсудить задачи на день.", 15, LocalDateTime.parse(SECOND_TASK_START_TIME_STRING, formatter),
+                RecurringTask.DAILY_PERIOD);
+        binaryTaskManager.addTask(firstTask);
+        binaryTaskManager.addTask(recurringTask);
+        binaryTaskManager.addEpic(epic);
+        binaryTaskManager.addSubtasks(List.of(firstSubtask, secondSubtask));
+
+        binaryTaskManager.snapshot().get();
+        final byte[] snapshot = Files.readAllBytes(GenerationFiles.getPath(snapshotPath, 1));
+
+        assertFalse(new String(snapshot, StandardCharsets.UTF_8).contains(FIRST_TASK_START_TIME_STRING),
+                "Snapshot is not binary.");
+
+        final TaskManager newTaskManagerInstance = createBinarySnapshotTaskManager();
+
+        assertIterableEquals(List.of(firstTask, recurringTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+        assertIterableEquals(List.of(epic), newTaskManagerInstance.getEpics(), "The returned epics do not match.");
+        assertIterableEquals(List.of(firstSubtask, secondSubtask), newTaskManagerInstance.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+    }
+
+    @Test
+    void loadPreviousSnapshotWhenBinaryIsDamaged() throws ExecutionException, InterruptedException, IOException {
+        final Path snapshotPath = FileBackendTaskManager.getSnapshotPath(file);
+        final FileBackendTaskManager binaryTaskManager = createBinarySnapshotTaskManager();
+        binaryTaskManager.addTask(firstTask);
+        binaryTaskManager.snapshot().get();
+        binaryTaskManager.addTask(secondTask);
+        binaryTaskManager.snapshot().get();
+        final Path latestSnapshotPath = GenerationFiles.getPath(snapshotPath, 2);
+        final byte[] snapshot = Files.readAllBytes(latestSnapshotPath);
+        snapshot[snapshot.length / 2] ^= 1;
+        Files.write(latestSnapshotPath, snapshot);
+
+        final TaskManager newTaskManagerInstance = createBinarySnapshotTaskManager();
+
+        assertIterableEquals(List.of(firstTask, secondTask), newTaskManagerInstance.getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    private FileBackendTaskManager createBinarySnapshotTaskManager() {
+        return FileBackendTaskManager.loadFromFile(file, new InMemoryHistoryManager(), PersistenceMode.WRITE_AHEAD_LOG,
+                DurabilityLevel.SYNC, SnapshotFormat.BINARY);
+    }
+
+    @Test
+    void loadTaskDetailsOnDemand() throws IOException {
+        Files.writeString(file.toPath(), String.format("1,TASK,Сходить в магазин.,NEW,Купить продукты.,60,%s,\r\n", FIRST_TASK_START_TIME_STRING) +
+                String.format("3,EPIC,Начать заниматься спортом.,NEW,Пойти в спортзал.,0,%s,\r\n", EPIC_START_TIME_STRING) +
+                String.format("4,SUBTASK,Выбрать место тренировок.,NEW,Выбрать спортзал.,10,%s,3\r\n", FIRST_SUBTASK_START_TIME_STRING) +
+                "\r\n");
+
+        final FileBackendTaskManager lazyTaskManager = createLazyTaskManager();
+
+        assertFalse(lazyTaskManager.peekTaskById(FIRST_TASK_ID).isDetailsLoaded(), "Task details are loaded.");
+        assertFalse(lazyTaskManager.peekSubtaskById(FIRST_SUBTASK_ID).isDetailsLoaded(), "Subtask details are loaded.");
+        assertIterableEquals(List.of(firstTask), lazyTaskManager.getTasks(), "The returned tasks do not match.");
+        assertIterableEquals(List.of(firstSubtask), lazyTaskManager.getEpicSubtasksById(EPIC_ID),
+                "The returned subtasks do not match.");
+
+        lazyTaskManager.addTask(secondTask);
+
+        assertIterableEquals(List.of(firstTask, secondTask), createLazyTaskManager().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    @Test
+    void keepSnapshotReferencedByLazyTasks() throws ExecutionException, InterruptedException {
+        final Path snapshotPath = FileBackendTaskManager.getSnapshotPath(file);
+        taskManager.addTask(firstTask);
+        taskManager.snapshot().get();
+
+        final FileBackendTaskManager lazyTaskManager = createLazyTaskManager();
+        lazyTaskManager.addTask(secondTask);
+        lazyTaskManager.snapshot().get();
+        lazyTaskManager.snapshot().get();
+        lazyTaskManager.snapshot().get();
+
+        assertTrue(Files.exists(GenerationFiles.getPath(snapshotPath, 1)), "Snapshot is deleted.");
+        assertFalse(lazyTaskManager.peekTaskById(FIRST_TASK_ID).isDetailsLoaded(), "Task details are loaded.");
+        assertEquals(firstTask, lazyTaskManager.getTaskById(FIRST_TASK_ID), "The returned task does not match.");
+    }
+
+    private FileBackendTaskManager createLazyTaskManager() {
+        return FileBackendTaskManager.loadFromFile(file, new InMemoryHistoryManager(), PersistenceMode.WRITE_AHEAD_LOG,
+                DurabilityLevel.SYNC, SnapshotFormat.CSV, HydrationMode.LAZY);
+    }
+
+    @Test
+    void groupCommitWaitForDurableBatch() throws InterruptedException {
+        final FileBackendTaskManager groupCommitTaskManager = FileBackendTaskManager.loadFromFile(file,
+                new InMemoryHistoryManager(), PersistenceMode.WRITE_AHEAD_LOG, DurabilityLevel.GROUP_COMMIT);
+        final int threadsCount = 4;
+        final int tasksPerThreadCount = 25;
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < threadsCount; i++) {
+            final int threadIndex = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < tasksPerThreadCount; j++) {
+                    int id = threadIndex * tasksPerThreadCount + j + 1;
+                    groupCommitTaskManager.addTask(new Task(id, "Задача.", "Описание задачи.", 10,
+                            LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter).plusHours(id)));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final long recordsCount = getWriteAheadLog().lines().count();
+
+        assertEquals(threadsCount * tasksPerThreadCount, recordsCount, "The count of log records does not match.");
+        assertEquals(threadsCount * tasksPerThreadCount, createTaskManagerInstance().getTasks().size(),
+                "The count of tasks does not match.");
+    }
+
+    @Test
+    void groupCommitKeepViewsOfConcurrentReaders() throws InterruptedException {
+        final FileBackendTaskManager groupCommitTaskManager = FileBackendTaskManager.loadFromFile(file,
+                new InMemoryHistoryManager(), PersistenceMode.WRITE_AHEAD_LOG, DurabilityLevel.GROUP_COMMIT);
+        final int threadsCount = 4;
+        final int tasksPerThreadCount = 25;
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < threadsCount; i++) {
+            final int threadIndex = i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < tasksPerThreadCount; j++) {
+                    int id = threadIndex * tasksPerThreadCount + j + 1;
+                    groupCommitTaskManager.addTask(new Task(id, "Задача.", "Описание задачи.", 10,
+                            LocalDateTime.parse(FIRST_TASK_START_TIME_STRING, formatter).plusHours(id)));
+                    groupCommitTaskManager.getTaskById(id);
+                    groupCommitTaskManager.getTopViewedTasks(threadsCount);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final int tasksCount = threadsCount * tasksPerThreadCount;
+
+        assertEquals(tasksCount, groupCommitTaskManager.getTopViewedTasks(tasksCount).size(),
+                "The count of viewed tasks does not match.");
+        assertIterableEquals(groupCommitTaskManager.getHistory(), createTaskManagerInstance().getHistory(),
+                "The returned history tasks do not match.");
+    }
+
+    @Test
+    void asyncCommitCompleteFlushHandle() {
+        final FileBackendTaskManager asyncTaskManager = FileBackendTaskManager.loadFromFile(file,
+                new InMemoryHistoryManager(), PersistenceMode.WRITE_AHEAD_LOG, DurabilityLevel.ASYNC);
+
+        asyncTaskManager.addTask(firstTask);
+        asyncTaskManager.addTask(secondTask);
+        asyncTaskManager.flush().join();
+
+        assertIterableEquals(List.of(firstTask, secondTask), createTaskManagerInstance().getTasks(),
+                "The returned tasks do not match.");
+    }
+
+    private static String readFile(Path path) {
+        try {
+            return Files.readString(path);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Ошибка чтения файла: '%s'.\n", path), ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package utils;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BinaryTaskParserTest {
+    private static final LocalDateTime TASK_START_TIME = LocalDateTime.parse("08.11.2022 15:00",
+            DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
+
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("tasks", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void readTasksWithoutStartTimeAndDetails() throws IOException {
+        final Task task = new Task(1, "Сходить в магазин.", null, 60, TASK_START_TIME);
+        final Task taskWithoutStartTime = new Task(2, null, "Купить продукты.", 60, null);
+        final Epic epic = new Epic(3, null, null, null);
+        final Subtask subtask = new Subtask(4, "Выбрать место тренировок.", "Выбрать спортзал.", 10,
+                TASK_START_TIME.plusHours(1), 3);
+
+        BinaryTaskParser.write(path, List.of(task, taskWithoutStartTime, epic, subtask));
+        final List<Task> tasks = BinaryTaskParser.read(path);
+
+        assertIterableEquals(List.of(task, taskWithoutStartTime, epic, subtask), tasks,
+                "The returned tasks do not match.");
+        assertNull(tasks.get(1).getStartTime(), "The task start time is defined.");
+        assertFalse(tasks.get(2).hasStartTime(), "The epic start time is defined.");
+    }
+}